@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate, useLocation } from 'react-router-dom';
-import { addBooking, getBuses, getUsers, getSeats, getSeatCounts } from '../services/api';
+import { addBooking, getBusesPage, getBusById, getUsersPage, getSeats, getSeatCounts, holdSeats, watchSeats } from '../services/api';
 import { useAuth } from '../context/AuthContext';
 import busImages from '../assets/busImages';
 import SeatLayout from './SeatLayout';
@@ -30,16 +30,21 @@ const AddBooking = () => {
   useEffect(() => {
     const fetchData = async () => {
       try {
+        // Pickers show the first page of each list; a bus picked on the bus list may lie beyond it
         const [busesResponse, usersResponse] = await Promise.all([
-          getBuses(),
-          getUsers()
+          getBusesPage(),
+          getUsersPage()
         ]);
-        setBuses(busesResponse.data);
-        setUsers(usersResponse.data);
+        let busOptions = busesResponse.data.items;
+        setUsers(usersResponse.data.items);
         
         // If busId was provided, find the selected bus to display info
         if (busIdFromUrl) {
-          const bus = busesResponse.data.find(b => b.id === parseInt(busIdFromUrl));
+          let bus = busOptions.find(b => b.id === parseInt(busIdFromUrl));
+          if (!bus) {
+            bus = (await getBusById(busIdFromUrl)).data;
+            busOptions = [bus, ...busOptions];
+          }
           if (bus) {
             setSelectedBus(bus);
             // Pre-fill amount based on bus price
@@ -52,6 +57,7 @@ const AddBooking = () => {
             fetchSeatsForBus(parseInt(busIdFromUrl));
           }
         }
+        setBuses(busOptions);
       } catch (err) {
         console.error('Error fetching data:', err);
         setError('Failed to load buses and users');
@@ -60,6 +66,21 @@ const AddBooking = () => {
     fetchData();
   }, [busIdFromUrl]);
 
+  // Keep the seat map live while a bus is selected
+  useEffect(() => {
+    if (!selectedBus) {
+      return undefined;
+    }
+    const stream = watchSeats(selectedBus.id, {
+      onChange: (change) => {
+        const changed = new Map(change.seats.map(seat => [seat.id, seat]));
+        setAvailableSeats(prev => prev.map(seat => changed.get(seat.id) || seat));
+      },
+      onReset: () => fetchSeatsForBus(selectedBus.id)
+    });
+    return () => stream.close();
+  }, [selectedBus]);
+
   const fetchSeatsForBus = async (busId) => {
     try {
       // Fetch all seats and seat counts for the selected bus
@@ -126,6 +147,13 @@ const AddBooking = () => {
         return;
       }
 
+      // Hold the seats while the user pays so nobody else can take them
+      const holdResponse = await holdSeats({
+        busId: parseInt(formData.busId),
+        userId: parseInt(formData.userId),
+        seatNumbers: formData.seatNumbers
+      });
+
       // Prepare booking data for each selected seat
       const bookingData = {
         userId: parseInt(formData.userId),
@@ -134,7 +162,8 @@ const AddBooking = () => {
         amount: formData.amount,
         status: 'PENDING',
         bus: selectedBus,
-        seatNumbers: formData.seatNumbers
+        seatNumbers: formData.seatNumbers,
+        holdToken: holdResponse.data.holdToken
       };
 
       // Navigate directly to payment page
@@ -142,7 +171,7 @@ const AddBooking = () => {
 
     } catch (err) {
       console.error('Error preparing booking:', err);
-      setError('Failed to prepare booking');
+      setError(err.response?.data || 'Failed to prepare booking');
       setLoading(false);
     }
   };
@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { getBookings, cancelBooking, getUserBookings, getBusById } from '../services/api';
+import { getBookingsPage, cancelBooking } from '../services/api';
 import { useAuth } from '../context/AuthContext';
 import busImages from '../assets/busImages';
 
@@ -9,6 +9,9 @@ const BookingList = () => {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [statusFilter, setStatusFilter] = useState('');
+  const [tripFilter, setTripFilter] = useState({ from: '', to: '', date: '' });
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const { currentUser } = useAuth();
   const navigate = useNavigate();
 
@@ -23,63 +26,63 @@ const BookingList = () => {
     });
   };
 
+  // Refetch when a filter changes, waiting for typing to pause
   useEffect(() => {
-    fetchBookings();
-  }, [currentUser]);
+    const timer = setTimeout(() => fetchBookings(), 300);
+    return () => clearTimeout(timer);
+  }, [currentUser, statusFilter, tripFilter.from, tripFilter.to, tripFilter.date]);
 
-  const fetchBusData = async (busId) => {
+  // Loads the first page, or the page after `cursor` when appending
+  const fetchBookings = async (cursor) => {
     try {
-      const response = await getBusById(busId);
-      console.log(`Fetched bus data for ID ${busId}:`, response.data);
-      return response.data;
-    } catch (err) {
-      console.error(`Error fetching bus data for ID ${busId}:`, err);
-      return null;
-    }
-  };
-
-  const fetchBookings = async () => {
-    try {
-      setLoading(true);
-      // If user is not admin, only fetch their own bookings
-      const response = currentUser?.role === 'ADMIN' 
-        ? await getBookings() 
-        : await getUserBookings(currentUser.id);
+      if (cursor) {
+        setLoadingMore(true);
+      } else {
+        setLoading(true);
+      }
+      // If user is not admin, only fetch their own bookings; the status filter is applied by the server
+      const response = await getBookingsPage({
+        userId: currentUser?.role === 'ADMIN' ? undefined : currentUser.id,
+        status: statusFilter && statusFilter !== 'all' ? statusFilter : undefined,
+        from: tripFilter.from.trim() || undefined,
+        to: tripFilter.to.trim() || undefined,
+        date: tripFilter.date || undefined,
+        cursor: cursor || undefined,
+      });
       
       console.log('Raw response from API:', response);
       console.log('Received bookings data:', response.data);
       
-      // Fetch bus data for each booking
-      const bookingsWithBusData = await Promise.all(response.data.map(async (booking) => {
-        if (booking.busId) {
-          const busData = await fetchBusData(booking.busId);
-          if (busData) {
-            booking.bus = busData;
-            console.log(`Added bus data to booking ${booking.id}:`, busData);
-          } else {
-            console.warn(`No bus data found for booking ${booking.id} with busId ${booking.busId}`);
-            booking.bus = {
-              id: booking.busId,
-              name: `Bus #${booking.busId}`,
-              route: 'Route information not available',
-              departureTime: 'N/A',
-              arrivalTime: 'N/A'
-            };
-          }
+      // Each booking comes with its bus details from the same query
+      const bookingsWithBusData = response.data.items.map((booking) => ({
+        ...booking,
+        bus: {
+          id: booking.busId,
+          name: booking.busName,
+          route: booking.route,
+          departureDate: booking.departureDate,
+          departureTime: booking.departureTime,
+          arrivalTime: booking.arrivalTime
         }
-        return booking;
       }));
       
-      setBookings(bookingsWithBusData);
+      setBookings(cursor ? (previous) => [...previous, ...bookingsWithBusData] : bookingsWithBusData);
+      setNextCursor(response.data.nextCursor);
       setError(null);
     } catch (err) {
       setError('Failed to fetch bookings. Please try again later.');
       console.error('Error fetching bookings:', err);
     } finally {
       setLoading(false);
+      setLoadingMore(false);
     }
   };
 
+  const handleTripFilterChange = (e) => {
+    const { name, value } = e.target;
+    setTripFilter(prev => ({ ...prev, [name]: value }));
+  };
+
   const handleCancelBooking = async (id) => {
     if (window.confirm('Are you sure you want to cancel this booking?')) {
       try {
@@ -95,10 +98,8 @@ const BookingList = () => {
     }
   };
 
-  // Filter bookings based on the selected status
-  const filteredBookings = statusFilter
-    ? bookings.filter(booking => booking.status === statusFilter)
-    : bookings;
+  // Filtering happens on the server, see fetchBookings
+  const filteredBookings = bookings;
 
   const getStatusClassName = (status) => {
     switch (status) {
@@ -160,6 +161,41 @@ const BookingList = () => {
               </button>
             ))}
           </div>
+          <h3 className="filter-title">Filter by Trip</h3>
+          <div className="filters-grid">
+            <div className="premium-form-group">
+              <label className="premium-label">From</label>
+              <input
+                type="text"
+                name="from"
+                placeholder="Starting stop"
+                value={tripFilter.from}
+                onChange={handleTripFilterChange}
+                className="premium-input"
+              />
+            </div>
+            <div className="premium-form-group">
+              <label className="premium-label">To</label>
+              <input
+                type="text"
+                name="to"
+                placeholder="Last stop"
+                value={tripFilter.to}
+                onChange={handleTripFilterChange}
+                className="premium-input"
+              />
+            </div>
+            <div className="premium-form-group">
+              <label className="premium-label">Departure Date</label>
+              <input
+                type="date"
+                name="date"
+                value={tripFilter.date}
+                onChange={handleTripFilterChange}
+                className="premium-input"
+              />
+            </div>
+          </div>
         </div>
       </div>
 
@@ -291,6 +327,17 @@ const BookingList = () => {
               </div>
             );
           })}
+          {nextCursor && (
+            <div className="booking-card-actions">
+              <button
+                className="premium-btn premium-btn-primary"
+                disabled={loadingMore}
+                onClick={() => fetchBookings(nextCursor)}
+              >
+                {loadingMore ? 'Loading...' : 'Load more'}
+              </button>
+            </div>
+          )}
         </div>
       ) : (
         <div className="no-results">
@@ -298,7 +345,7 @@ const BookingList = () => {
             <path strokeLinecap="round" strokeLinejoin="round" strokeWidth="2" d="M20 13V6a2 2 0 00-2-2H6a2 2 0 00-2 2v7m16 0v5a2 2 0 01-2 2H6a2 2 0 01-2-2v-5m16 0h-2.586a1 1 0 00-.707.293l-2.414 2.414a1 1 0 01-.707.293h-3.172a1 1 0 01-.707-.293l-2.414-2.414A1 1 0 006.586 13H4" />
           </svg>
           <p className="no-results-text">
-            {statusFilter 
+            {statusFilter && statusFilter !== 'all'
               ? `No ${statusFilter.toLowerCase()} bookings found.` 
               : 'No bookings found.'}
           </p>
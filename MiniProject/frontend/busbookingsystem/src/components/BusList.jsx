@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { Link, useNavigate, useLocation } from 'react-router-dom';
-import { getBuses, deleteBus } from '../services/api';
+import { getBusesPage, deleteBus, suggestBuses } from '../services/api';
 import { useAuth } from '../context/AuthContext';
 import busImages from '../assets/busImages';
 
@@ -9,10 +9,12 @@ const BusList = () => {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [searchTerm, setSearchTerm] = useState('');
+  const [suggestions, setSuggestions] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [filterCriteria, setFilterCriteria] = useState({
-    route: '',
-    minPrice: '',
-    maxPrice: '',
+    from: '',
+    to: '',
     departureDate: ''
   });
   const { currentUser } = useAuth();
@@ -76,29 +78,43 @@ const BusList = () => {
     }
   };
 
-  const fetchBuses = async () => {
+  // Loads the first page, or the page after `cursor` when appending; every filter runs on the server
+  const fetchBuses = async (cursor) => {
     try {
-      setLoading(true);
-      const response = await getBuses();
+      if (cursor) {
+        setLoadingMore(true);
+      } else {
+        setLoading(true);
+      }
+      const response = await getBusesPage({
+        from: filterCriteria.from.trim() || undefined,
+        to: filterCriteria.to.trim() || undefined,
+        date: filterCriteria.departureDate || undefined,
+        cursor: cursor || undefined,
+      });
       console.log('Fetched buses:', response.data); // Debug log
       // Format the departure date for each bus
-      const formattedBuses = response.data.map(bus => ({
+      const formattedBuses = response.data.items.map(bus => ({
         ...bus,
         departureDate: formatDate(bus.departureDate)
       }));
-      setBuses(formattedBuses);
+      setBuses(cursor ? (previous) => [...previous, ...formattedBuses] : formattedBuses);
+      setNextCursor(response.data.nextCursor);
       setError(null);
     } catch (err) {
       setError('Failed to fetch buses. Please try again.');
       console.error('Error fetching buses:', err);
     } finally {
       setLoading(false);
+      setLoadingMore(false);
     }
   };
 
+  // Refetch when navigation occurs or a filter changes, waiting for typing to pause
   useEffect(() => {
-    fetchBuses();
-  }, [location.key]); // Refetch when navigation occurs
+    const timer = setTimeout(() => fetchBuses(), 300);
+    return () => clearTimeout(timer);
+  }, [location.key, filterCriteria.from, filterCriteria.to, filterCriteria.departureDate]);
 
   const handleDelete = async (id) => {
     if (window.confirm('Are you sure you want to delete this bus?')) {
@@ -112,10 +128,33 @@ const BusList = () => {
     }
   };
 
+  // Picking a route or stop completion fills the server-side stop filters
   const handleSearchChange = (e) => {
-    setSearchTerm(e.target.value);
+    const { value } = e.target;
+    setSearchTerm(value);
+    const picked = suggestions.find(suggestion => suggestion.text === value);
+    if (picked?.type === 'ROUTE') {
+      const stops = value.split(/\s+-\s+|\s*→\s*|\s+to\s+/i);
+      setFilterCriteria(prev => ({ ...prev, from: stops[0], to: stops[stops.length - 1] }));
+    } else if (picked?.type === 'STOP') {
+      setFilterCriteria(prev => ({ ...prev, from: value }));
+    }
   };
 
+  // Completions come from the server's in-memory index; typing never refetches the bus list
+  useEffect(() => {
+    if (!searchTerm.trim()) {
+      setSuggestions([]);
+      return undefined;
+    }
+    const timer = setTimeout(() => {
+      suggestBuses(searchTerm)
+        .then(response => setSuggestions(response.data))
+        .catch(err => console.error('Error fetching suggestions:', err));
+    }, 150);
+    return () => clearTimeout(timer);
+  }, [searchTerm]);
+
   const handleFilterChange = (e) => {
     const { name, value } = e.target;
     if (name === 'departureDate') {
@@ -148,37 +187,15 @@ const BusList = () => {
   const resetFilters = () => {
     setSearchTerm('');
     setFilterCriteria({
-      route: '',
-      minPrice: '',
-      maxPrice: '',
+      from: '',
+      to: '',
       departureDate: ''
     });
   };
 
-  // Filter buses based on search and filter criteria
-  const filteredBuses = buses.filter(bus => {
-    // Search filter (case insensitive)
-    const matchesSearch = 
-      bus.name.toLowerCase().includes(searchTerm.toLowerCase()) ||
-      bus.route.toLowerCase().includes(searchTerm.toLowerCase());
-    
-    // Route filter
-    const matchesRoute = !filterCriteria.route || 
-      bus.route.toLowerCase().includes(filterCriteria.route.toLowerCase());
-    
-    // Price range filter
-    const matchesMinPrice = !filterCriteria.minPrice || 
-      bus.price >= Number(filterCriteria.minPrice);
-    
-    const matchesMaxPrice = !filterCriteria.maxPrice || 
-      bus.price <= Number(filterCriteria.maxPrice);
-    
-    // Departure date filter
-    const matchesDepartureDate = !filterCriteria.departureDate || 
-      bus.departureDate === filterCriteria.departureDate;
-    
-    return matchesSearch && matchesRoute && matchesMinPrice && matchesMaxPrice && matchesDepartureDate;
-  });
+  // Filtering happens on the server, see fetchBuses; filtering a page here would hide
+  // matches that are on pages not loaded yet
+  const filteredBuses = buses;
 
   return (
     <div className="container">
@@ -205,55 +222,52 @@ const BusList = () => {
           <label className="premium-label">Search Buses</label>
           <input
             type="text"
-            placeholder="Search by bus name or route"
+            placeholder="Search routes, stops or bus names"
             value={searchTerm}
             onChange={handleSearchChange}
             className="premium-input"
+            list="bus-suggestions"
           />
+          <datalist id="bus-suggestions">
+            {suggestions.map(suggestion => (
+              <option key={`${suggestion.type}-${suggestion.text}`} value={suggestion.text}>
+                {suggestion.upcomingDepartures} upcoming
+              </option>
+            ))}
+          </datalist>
         </div>
         
         <div className="filters-section">
           <h3 className="filter-title">Filters</h3>
           <div className="filters-grid">
             <div className="premium-form-group">
-              <label className="premium-label">Route</label>
+              <label className="premium-label">From</label>
               <input
                 type="text"
-                name="route"
-                placeholder="Filter by route"
-                value={filterCriteria.route}
-                onChange={handleFilterChange}
-                className="premium-input"
-              />
-            </div>
-            <div className="premium-form-group">
-              <label className="premium-label">Departure Date</label>
-              <input
-                type="date"
-                name="departureDate"
-                value={filterCriteria.departureDate ? formatDateForInput(filterCriteria.departureDate) : ''}
+                name="from"
+                placeholder="Starting stop"
+                value={filterCriteria.from}
                 onChange={handleFilterChange}
                 className="premium-input"
               />
             </div>
             <div className="premium-form-group">
-              <label className="premium-label">Min Price (₹)</label>
+              <label className="premium-label">To</label>
               <input
-                type="number"
-                name="minPrice"
-                placeholder="Min price"
-                value={filterCriteria.minPrice}
+                type="text"
+                name="to"
+                placeholder="Last stop"
+                value={filterCriteria.to}
                 onChange={handleFilterChange}
                 className="premium-input"
               />
             </div>
             <div className="premium-form-group">
-              <label className="premium-label">Max Price (₹)</label>
+              <label className="premium-label">Departure Date</label>
               <input
-                type="number"
-                name="maxPrice"
-                placeholder="Max price"
-                value={filterCriteria.maxPrice}
+                type="date"
+                name="departureDate"
+                value={filterCriteria.departureDate ? formatDateForInput(filterCriteria.departureDate) : ''}
                 onChange={handleFilterChange}
                 className="premium-input"
               />
@@ -336,6 +350,17 @@ const BusList = () => {
               </div>
             );
           })}
+          {nextCursor && (
+            <div className="bus-card-actions">
+              <button
+                className="premium-btn premium-btn-primary"
+                disabled={loadingMore}
+                onClick={() => fetchBuses(nextCursor)}
+              >
+                {loadingMore ? 'Loading...' : 'Load more'}
+              </button>
+            </div>
+          )}
         </div>
       ) : (
         <div className="no-results">
@@ -1,7 +1,7 @@
 import React, { useState } from 'react';
 import { useNavigate, useLocation } from 'react-router-dom';
 import { useAuth } from '../context/AuthContext';
-import { addBooking } from '../services/api';
+import { addBookings, releaseHold } from '../services/api';
 import busImages from '../assets/busImages';
 import generateBookingPDF from './BookingPDF';
 
@@ -68,53 +68,37 @@ const PaymentPage = () => {
         return;
       }
 
-      const createdBookings = [];
-
-      // Create bookings for each selected seat
-      for (let i = 0; i < bookingData.seatNumbers.length; i++) {
-        const seatNumber = bookingData.seatNumbers[i];
-        const bookingPayload = {
+      // Book every selected seat in one all-or-nothing request
+      let response;
+      try {
+        response = await addBookings({
           userId: bookingData.userId,
           busId: bookingData.busId,
           bookingDate: bookingData.bookingDate,
-          seatNumber: seatNumber,
+          seatNumbers: bookingData.seatNumbers,
+          holdToken: bookingData.holdToken,
           amount: bookingData.bus.price,
-          status: 'CONFIRMED',
-          // Include user and bus details for PDF generation
-          user: {
-            name: currentUser.name || currentUser.email
-          },
+          status: 'CONFIRMED'
+        }, bookingData.holdToken);
+      } catch (err) {
+        console.error('Error creating bookings:', err);
+        throw new Error(`Failed to book seats ${bookingData.seatNumbers.join(', ')}. Please try again.`);
+      }
+
+      // Merge the response data with bus and user details for PDF
+      const createdBookings = response.data.map(booking => {
+        const passengerIndex = bookingData.seatNumbers.indexOf(booking.seatNumber);
+        return {
+          ...booking,
+          user: passengerIndex > 0
+            ? { name: passengerDetails[passengerIndex - 1].name }
+            : { name: currentUser.name || currentUser.email },
           bus: {
             name: bookingData.bus.name,
             route: bookingData.bus.route
           }
         };
-
-        // Add passenger details if it's not the first seat
-        if (i > 0) {
-          const passengerDetail = passengerDetails[i - 1];
-          bookingPayload.user = {
-            name: passengerDetail.name
-          };
-        }
-        
-        try {
-          const response = await addBooking(bookingPayload);
-          // Merge the response data with bus and user details for PDF
-          const bookingWithDetails = {
-            ...response.data,
-            user: i > 0 ? { name: passengerDetails[i - 1].name } : { name: currentUser.name || currentUser.email },
-            bus: {
-              name: bookingData.bus.name,
-              route: bookingData.bus.route
-            }
-          };
-          createdBookings.push(bookingWithDetails);
-        } catch (err) {
-          console.error(`Error creating booking for seat ${seatNumber}:`, err);
-          throw new Error(`Failed to book seat ${seatNumber}. Please try again.`);
-        }
-      }
+      });
       
       // Generate and download PDFs for each booking
       createdBookings.forEach(booking => {
@@ -136,6 +120,18 @@ const PaymentPage = () => {
     }
   };
 
+  const handleCancel = async () => {
+    if (bookingData.holdToken) {
+      try {
+        await releaseHold(bookingData.holdToken);
+      } catch (err) {
+        // The hold expires on its own if this fails
+        console.error('Error releasing seat hold:', err);
+      }
+    }
+    navigate('/buses');
+  };
+
   const busImage = bookingData.bus ? busImages.getBusImage(bookingData.bus) : busImages.default;
 
   return (
@@ -273,7 +269,7 @@ const PaymentPage = () => {
           <div className="payment-actions">
             <button
               className="premium-btn premium-btn-secondary"
-              onClick={() => navigate('/buses')}
+              onClick={handleCancel}
               disabled={loading}
             >
               Cancel
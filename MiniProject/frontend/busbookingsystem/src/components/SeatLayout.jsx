@@ -113,7 +113,7 @@ const SeatLayout = ({
                 key={seat.number}
                 className={`seat ${
                   seat.isSelected ? 'selected' :
-                  seat.status === 'BOOKED' ? 'occupied' :
+                  seat.status === 'BOOKED' || seat.status === 'HELD' ? 'occupied' :
                   seat.type !== 'REGULAR' ? 'priority' :
                   'available'
                 } ${seat.isAvailable ? 'selectable' : ''}`}
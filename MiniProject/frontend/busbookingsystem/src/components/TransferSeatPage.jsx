@@ -1,6 +1,7 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { getUserBookings, getAvailableBuses, getAvailableSeats, transferSeat, getBusById } from '../services/api';
+import { getUserTrips, getBusesPage, getSeats, getSeatBitmap, transferSeat } from '../services/api';
+import { applySeatBitmap } from '../services/seatBitmap';
 import { useAuth } from '../context/AuthContext';
 import generateBookingPDF from './BookingPDF';
 import '../styles/forms.css';
@@ -20,6 +21,7 @@ const TransferSeatPage = () => {
   const [showPriorityPopup, setShowPriorityPopup] = useState(false);
   const [prioritySeatInfo, setPrioritySeatInfo] = useState(null);
   const [transferConfirmed, setTransferConfirmed] = useState(false);
+  const seatsRef = useRef([]);
 
   const formatDate = (dateString) => {
     if (!dateString) return 'N/A';
@@ -52,16 +54,36 @@ const TransferSeatPage = () => {
     fetchData();
   }, [currentUser]);
 
-  const fetchBusData = async (busId) => {
-    try {
-      const response = await getBusById(busId);
-      console.log(`Fetched bus data for ID ${busId}:`, response.data);
-      return response.data;
-    } catch (err) {
-      console.error(`Error fetching bus data for ID ${busId}:`, err);
-      return null;
+  useEffect(() => {
+    seatsRef.current = availableSeats;
+  }, [availableSeats]);
+
+  // Keep the seat grid current from the packed bitmap; an unchanged map is a bodiless 304
+  useEffect(() => {
+    if (!selectedBus) {
+      return undefined;
     }
-  };
+    let etag = null;
+    const timer = setInterval(async () => {
+      try {
+        const response = await getSeatBitmap(selectedBus.id, etag);
+        if (response.status === 304) {
+          return;
+        }
+        etag = response.headers.etag || null;
+        let seats = applySeatBitmap(seatsRef.current, response.data);
+        if (!seats) {
+          seats = (await getSeats(selectedBus.id)).data;
+          etag = null;
+        }
+        setAvailableSeats(seats);
+        setSelectedSeat(prev => (prev && seats.find(seat => seat.id === prev.id)?.status !== 'AVAILABLE' ? null : prev));
+      } catch (err) {
+        console.error('Error refreshing seats:', err);
+      }
+    }, 5000);
+    return () => clearInterval(timer);
+  }, [selectedBus]);
 
   const fetchData = async () => {
     try {
@@ -70,31 +92,23 @@ const TransferSeatPage = () => {
         navigate('/login');
         return;
       }
-      const response = await getUserBookings(currentUser.id);
-      console.log('Fetched bookings:', response.data);
+      const response = await getUserTrips(currentUser.id, 'CONFIRMED');
+      console.log('Fetched trips:', response.data);
       
-      // Fetch bus data for each booking
-      const bookingsWithBusData = await Promise.all(response.data.map(async (booking) => {
-        if (booking.busId) {
-          const busData = await fetchBusData(booking.busId);
-          if (busData) {
-            booking.bus = busData;
-            console.log(`Added bus data to booking ${booking.id}:`, busData);
-          } else {
-            console.warn(`No bus data found for booking ${booking.id} with busId ${booking.busId}`);
-            booking.bus = {
-              id: booking.busId,
-              name: `Bus #${booking.busId}`,
-              route: 'Route information not available',
-              departureTime: 'N/A',
-              arrivalTime: 'N/A'
-            };
-          }
+      // Each trip already carries its bus details and only confirmed, upcoming ones are returned
+      const confirmedBookings = response.data.map(trip => ({
+        ...trip,
+        id: trip.bookingId,
+        bus: {
+          id: trip.busId,
+          name: trip.busName || `Bus #${trip.busId}`,
+          route: trip.route || 'Route information not available',
+          departureDate: trip.departureDate,
+          departureTime: trip.departureTime || 'N/A',
+          arrivalTime: trip.arrivalTime || 'N/A',
+          price: trip.price
         }
-        return booking;
       }));
-
-      const confirmedBookings = bookingsWithBusData.filter(booking => booking.status === 'CONFIRMED');
       console.log('Confirmed bookings with bus data:', confirmedBookings);
       setConfirmedBookings(confirmedBookings);
     } catch (err) {
@@ -115,12 +129,14 @@ const TransferSeatPage = () => {
         setError('Invalid booking data: Booking ID is missing');
         return;
       }
-      const response = await getAvailableBuses();
-      console.log('All Buses:', response.data);
+      // Only buses between the booking's first and last stops are candidates
+      const stops = (booking.bus?.route || '').split(/\s+-\s+|\s*→\s*|\s+to\s+/i);
+      const response = await getBusesPage({ from: stops[0], to: stops[stops.length - 1], limit: 500 });
+      console.log('All Buses:', response.data.items);
       console.log('Selected Booking:', booking);
       
       // Filter buses based on route and exclude the current bus
-      const filteredBuses = response.data.filter(bus => {
+      const filteredBuses = response.data.items.filter(bus => {
         console.log('Checking bus:', bus);
         console.log('Bus route:', bus.route);
         console.log('Booking route:', booking.bus?.route);
@@ -143,7 +159,8 @@ const TransferSeatPage = () => {
         setError('Invalid bus data');
         return;
       }
-      const response = await getAvailableSeats(bus.id);
+      // The whole seat list once, in bitmap order; the poll above only refreshes statuses
+      const response = await getSeats(bus.id);
       setAvailableSeats(response.data);
     } catch (err) {
       console.error('Error fetching available seats:', err);
@@ -152,7 +169,7 @@ const TransferSeatPage = () => {
   };
 
   const handleSeatSelect = (seat) => {
-    if (seat.status === 'BOOKED') return;
+    if (seat.status !== 'AVAILABLE') return;
 
     if (seat.seatType !== 'REGULAR') {
       setPrioritySeatInfo({
@@ -442,11 +459,11 @@ const TransferSeatPage = () => {
                         key={seat.id}
                         className={`seat-card ${
                           selectedSeat?.id === seat.id ? 'selected' : 
-                          seat.status === 'BOOKED' ? 'booked' :
+                          seat.status !== 'AVAILABLE' ? 'booked' :
                           seat.seatType !== 'REGULAR' ? 'priority' :
                           'available'
                         }`}
-                        onClick={() => seat.status !== 'BOOKED' && handleSeatSelect(seat)}
+                        onClick={() => seat.status === 'AVAILABLE' && handleSeatSelect(seat)}
                       >
                         {seat.seatNumber}
                       </div>
@@ -1,27 +1,35 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
-import { getUsers, deleteUser } from '../services/api';
+import { getUsersPage, deleteUser } from '../services/api';
 
 const UserList = () => {
   const [users, setUsers] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const navigate = useNavigate();
 
   useEffect(() => {
     fetchUsers();
   }, []);
 
-  const fetchUsers = async () => {
+  // Loads the first page, or the page after `cursor` when appending
+  const fetchUsers = async (cursor) => {
     try {
-      const response = await getUsers();
+      if (cursor) {
+        setLoadingMore(true);
+      }
+      const response = await getUsersPage({ cursor: cursor || undefined });
       console.log('Users data:', response.data); // Log the response to see the actual structure
-      setUsers(response.data);
-      setLoading(false);
+      setUsers(cursor ? (previous) => [...previous, ...response.data.items] : response.data.items);
+      setNextCursor(response.data.nextCursor);
     } catch (err) {
       console.error('Error fetching users:', err);
       setError('Failed to fetch users');
+    } finally {
       setLoading(false);
+      setLoadingMore(false);
     }
   };
 
@@ -112,6 +120,17 @@ const UserList = () => {
           </tbody>
         </table>
       </div>
+      {nextCursor && (
+        <div className="flex gap-2">
+          <button
+            className="btn btn-primary"
+            disabled={loadingMore}
+            onClick={() => fetchUsers(nextCursor)}
+          >
+            {loadingMore ? 'Loading...' : 'Load more'}
+          </button>
+        </div>
+      )}
     </div>
   );
 };
@@ -11,27 +11,40 @@ const api = axios.create({
 });
 
 // Bus endpoints
-export const getBuses = () => api.get('/bus');
+// One page of buses ({ items, nextCursor, hasMore }); filters: from, to, date
+export const getBusesPage = (params) => api.get('/bus', { params: { limit: 50, ...params } });
 export const getBusById = (busId) => api.get(`/bus/${busId}`);
 export const searchBuses = (params) => api.get('/bus/search', { params });
+// Route, stop and bus name completions for a typed prefix, busiest first
+export const suggestBuses = (prefix, limit = 10) => api.get('/bus/suggest', { params: { prefix, limit } });
+// Trips between two stops, on a date (dd-mm-yyyy or yyyy-mm-dd) or from today on
+export const findTrips = (from, to, date) => api.get('/bus/trips', { params: { from, to, date } });
 export const addBus = (busData) => api.post('/bus', busData);
 export const updateBus = (busId, busData) => api.put(`/bus/${busId}`, busData);
 export const deleteBus = (busId) => api.delete(`/bus/${busId}`);
-export const getAvailableBuses = () => api.get('/bus', {
-  params: {
-    include: 'route,seats' // Include related data
-  }
-});
+
+// Retries that send the same key get the original response instead of booking twice
+const idempotent = (idempotencyKey) => (idempotencyKey ? { headers: { 'Idempotency-Key': idempotencyKey } } : undefined);
+
+// Journey endpoints: direct buses and connections ({ from, to, date, time, seats, limit, minTransfer })
+export const planJourney = (params) => api.get('/journey', { params });
 
 // Booking endpoints
-export const getBookings = () => api.get('/booking');
+// One page of bookings, newest first; filters: userId, status, busId, and the trip's from, to, date
+export const getBookingsPage = (params) => api.get('/booking', { params: { limit: 50, ...params } });
+// Download link for every booking matching { format: 'ndjson' | 'csv', from, to, status }, streamed by the server
+export const bookingExportUrl = (params) => `${API_BASE_URL}/booking/export?${new URLSearchParams(params)}`;
 export const getUserBookings = (userId) => api.get(`/booking/user/${userId}`);
-export const addBooking = (bookingData) => api.post('/booking', bookingData);
+// Trips that have not left yet, with bus details and seat, in one server-side read
+export const getUserTrips = (userId, status) => api.get(`/booking/user/${userId}/trips`, { params: { status } });
+export const addBooking = (bookingData, idempotencyKey) => api.post('/booking', bookingData, idempotent(idempotencyKey));
+export const addBookings = (bookingData, idempotencyKey) => api.post('/booking/batch', bookingData, idempotent(idempotencyKey));
 export const cancelBooking = (bookingId) => api.put(`/booking/${bookingId}/cancel`);
 export const getAvailableSeats = (busId) => api.get(`/seat/bus/${busId}/available`);
 
 // User endpoints
-export const getUsers = () => api.get('/users');
+// One page of users; filter: role
+export const getUsersPage = (params) => api.get('/users', { params: { limit: 50, ...params } });
 export const addUser = (userData) => api.post('/users', userData);
 export const deleteUser = (id) => api.delete(`/users/${id}`);
 export const getUserPriorityInfo = (userId) => api.get(`/users/${userId}/priority`);
@@ -41,12 +54,29 @@ export const login = (credentials) => api.post('/users/login', credentials);
 
 // Seat endpoints
 export const getSeats = (busId) => api.get(`/seat/bus/${busId}`);
+// Packed seat statuses; resolves with status 304 and no body while the ETag still matches
+export const getSeatBitmap = (busId, etag) => api.get(`/seat/bus/${busId}/bitmap`, {
+    responseType: 'arraybuffer',
+    headers: etag ? { 'If-None-Match': etag } : {},
+    validateStatus: (status) => status === 200 || status === 304,
+});
+// Live seat changes ('version', 'seats' and 'reset' events); call close() on the result when done
+export const watchSeats = (busId, { onChange, onReset } = {}) => {
+    const source = new EventSource(`${API_BASE_URL}/seat/bus/${busId}/stream`, { withCredentials: true });
+    source.addEventListener('seats', (event) => onChange && onChange(JSON.parse(event.data)));
+    source.addEventListener('reset', () => onReset && onReset());
+    // The server drops streams that fall behind; the browser reconnects and we re-fetch
+    source.addEventListener('open', () => onReset && onReset());
+    return source;
+};
 export const getAvailableSeatsByType = (busId, seatType) => api.get(`/seat/bus/${busId}/available/${seatType}`);
 export const getSeatCounts = (busId) => api.get(`/seat/bus/${busId}/count`);
 export const updateSeatStatus = (seatId, status) => api.put(`/seat/${seatId}/status?status=${status}`);
+export const holdSeats = (holdData) => api.post('/seat/hold', holdData);
+export const releaseHold = (holdToken) => api.delete(`/seat/hold/${holdToken}`);
 
 // Transfer Seat API functions
-export const transferSeat = (bookingId, newBusId, newSeatId) => {
+export const transferSeat = (bookingId, newBusId, newSeatId, idempotencyKey) => {
     console.log('Making transfer request to:', '/booking/transfer');
     const transferData = {
         bookingId,
@@ -54,7 +84,7 @@ export const transferSeat = (bookingId, newBusId, newSeatId) => {
         newSeatId
     };
     console.log('Transfer data:', transferData);
-    return api.post('/booking/transfer', transferData)
+    return api.post('/booking/transfer', transferData, idempotent(idempotencyKey))
         .then(response => {
             console.log('Transfer response:', response);
             return response;
@@ -0,0 +1,30 @@
+// Decoder for GET /seat/bus/{busId}/bitmap
+//
+// byte 0: format (1), byte 1: number of type runs
+// per run: type ordinal (1 byte), seat count (2 bytes, big-endian)
+// per run: ceil(count / 4) bytes, four 2-bit statuses per byte, lowest bits first
+const STATUSES = ['AVAILABLE', 'BOOKED', 'HELD'];
+
+export const decodeSeatBitmap = (buffer) => {
+  const bytes = new Uint8Array(buffer);
+  const runs = bytes[1];
+  const statuses = [];
+  let body = 2 + 3 * runs;
+  for (let run = 0; run < runs; run++) {
+    const count = (bytes[2 + 3 * run + 1] << 8) | bytes[2 + 3 * run + 2];
+    for (let i = 0; i < count; i++) {
+      statuses.push(STATUSES[(bytes[body + (i >> 2)] >> ((i & 3) * 2)) & 3]);
+    }
+    body += Math.ceil(count / 4);
+  }
+  return statuses;
+};
+
+// Seats come from GET /seat/bus/{busId} in the same order as the bitmap
+export const applySeatBitmap = (seats, buffer) => {
+  const statuses = decodeSeatBitmap(buffer);
+  if (statuses.length !== seats.length) {
+    return null; // layout changed, refetch the seat list
+  }
+  return seats.map((seat, i) => (seat.status === statuses[i] ? seat : { ...seat, status: statuses[i] }));
+};
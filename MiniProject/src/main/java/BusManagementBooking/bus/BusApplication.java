@@ -22,6 +22,8 @@ public class BusApplication {
 						.allowedOrigins("http://localhost:5173")
 						.allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
 						.allowedHeaders("*")
+						// The seat bitmap is revalidated with If-None-Match, so the client must see its ETag
+						.exposedHeaders("ETag")
 						.allowCredentials(true);
 			}
 		};
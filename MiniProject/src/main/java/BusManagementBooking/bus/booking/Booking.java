@@ -7,7 +7,13 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    // Keyset pages filter on these and then range over the primary key
+    @Index(name = "idx_bookings_user_status", columnList = "user_id, status, id"),
+    @Index(name = "idx_bookings_status", columnList = "status, id"),
+    // /booking/export reads in booking date order, optionally within a date range
+    @Index(name = "idx_bookings_date", columnList = "booking_date, id")
+})
 public class Booking {
 
     @Id
@@ -10,6 +10,7 @@ public class BookingAddRequestDTO {
     private String seatNumber;
     private BigDecimal amount;
     private String status;
+    private String holdToken;
 
     // Constructors
     public BookingAddRequestDTO() {}
@@ -71,4 +72,12 @@ public class BookingAddRequestDTO {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    public String getHoldToken() {
+        return holdToken;
+    }
+
+    public void setHoldToken(String holdToken) {
+        this.holdToken = holdToken;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,84 @@
+package BusManagementBooking.bus.booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BookingBatchRequestDTO {
+    private Long userId;
+    private Long busId;
+    private LocalDateTime bookingDate;
+    private List<String> seatNumbers;
+    private BigDecimal amount;
+    private String status;
+    private String holdToken;
+
+    // Constructors
+    public BookingBatchRequestDTO() {}
+
+    public BookingBatchRequestDTO(Long userId, Long busId, LocalDateTime bookingDate, List<String> seatNumbers, BigDecimal amount, String status) {
+        this.userId = userId;
+        this.busId = busId;
+        this.bookingDate = bookingDate;
+        this.seatNumbers = seatNumbers;
+        this.amount = amount;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getBusId() {
+        return busId;
+    }
+
+    public void setBusId(Long busId) {
+        this.busId = busId;
+    }
+
+    public LocalDateTime getBookingDate() {
+        return bookingDate;
+    }
+
+    public void setBookingDate(LocalDateTime bookingDate) {
+        this.bookingDate = bookingDate;
+    }
+
+    public List<String> getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(List<String> seatNumbers) {
+        this.seatNumbers = seatNumbers;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getHoldToken() {
+        return holdToken;
+    }
+
+    public void setHoldToken(String holdToken) {
+        this.holdToken = holdToken;
+    }
+}
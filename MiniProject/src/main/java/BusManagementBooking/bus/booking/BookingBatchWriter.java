@@ -0,0 +1,53 @@
+package BusManagementBooking.bus.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Inserts bookings as one JDBC batch. Booking ids come from IDENTITY columns, which
+ * stops Hibernate from batching inserts, so group bookings go through here instead.
+ * Runs on the connection of the surrounding transaction.
+ */
+@Component
+public class BookingBatchWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO bookings (user_id, bus_id, booking_date, seat_number, amount, status) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Inserts the bookings and fills in their generated ids. */
+    public List<Booking> insertAll(List<Booking> bookings) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Booking booking : bookings) {
+                    ps.setLong(1, booking.getUserId());
+                    ps.setLong(2, booking.getBusId());
+                    ps.setTimestamp(3, Timestamp.valueOf(booking.getBookingDate()));
+                    ps.setString(4, booking.getSeatNumber());
+                    ps.setBigDecimal(5, booking.getAmount());
+                    ps.setString(6, booking.getStatus());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next() && i < bookings.size()) {
+                        bookings.get(i++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+        return bookings;
+    }
+}
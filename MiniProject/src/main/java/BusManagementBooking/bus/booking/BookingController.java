@@ -1,12 +1,21 @@
 package BusManagementBooking.bus.booking;
 
-import BusManagementBooking.bus.buses.BusRepository;
+import BusManagementBooking.bus.buses.BusCache;
+import BusManagementBooking.bus.buses.TripKeys;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/booking")
@@ -17,7 +26,17 @@ public class BookingController {
     private BookingServiceImpl bookingServiceImpl;
     
     @Autowired
-    private BusRepository busRepository;
+    private BusCache busCache;
+    
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    
+    @Autowired
+    private BookingExporter bookingExporter;
+    
+    // Exports may run far longer than the default async timeout other requests keep
+    @Value("${bus.export.timeout-seconds:3600}")
+    private long exportTimeoutSeconds;
 
     @GetMapping("/health")
     public String checkAlive() {
@@ -25,7 +44,15 @@ public class BookingController {
     }
 
     @PostMapping
-    public ResponseEntity<?> addBooking(@RequestBody BookingAddRequestDTO bookingAddRequestDTO) {
+    public ResponseEntity<?> addBooking(@RequestBody BookingAddRequestDTO bookingAddRequestDTO,
+                                        @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        String fingerprint = bookingAddRequestDTO.getUserId() + "|" + bookingAddRequestDTO.getBusId() + "|"
+                + bookingAddRequestDTO.getSeatNumber() + "|" + bookingAddRequestDTO.getHoldToken();
+        return idempotencyStore.execute(idempotencyKey, "POST /booking", fingerprint,
+                () -> createBooking(bookingAddRequestDTO));
+    }
+    
+    private ResponseEntity<?> createBooking(BookingAddRequestDTO bookingAddRequestDTO) {
         try {
             System.out.println("Received booking request: " + bookingAddRequestDTO);
             
@@ -43,7 +70,7 @@ public class BookingController {
             }
             
             // Validate if bus exists
-            if (!busRepository.existsById(bookingAddRequestDTO.getBusId())) {
+            if (!busCache.exists(bookingAddRequestDTO.getBusId())) {
                 return ResponseEntity.badRequest().body("Bus with ID " + bookingAddRequestDTO.getBusId() + " does not exist");
             }
             
@@ -57,16 +84,127 @@ public class BookingController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> addBookings(@RequestBody BookingBatchRequestDTO bookingBatchRequestDTO,
+                                         @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        String fingerprint = bookingBatchRequestDTO.getUserId() + "|" + bookingBatchRequestDTO.getBusId() + "|"
+                + bookingBatchRequestDTO.getSeatNumbers() + "|" + bookingBatchRequestDTO.getHoldToken();
+        return idempotencyStore.execute(idempotencyKey, "POST /booking/batch", fingerprint,
+                () -> createBookings(bookingBatchRequestDTO));
+    }
+    
+    private ResponseEntity<?> createBookings(BookingBatchRequestDTO bookingBatchRequestDTO) {
+        try {
+            if (bookingBatchRequestDTO.getBusId() == null) {
+                return ResponseEntity.badRequest().body("Bus ID is required");
+            }
+            
+            if (bookingBatchRequestDTO.getUserId() == null) {
+                return ResponseEntity.badRequest().body("User ID is required");
+            }
+            
+            if (bookingBatchRequestDTO.getSeatNumbers() == null || bookingBatchRequestDTO.getSeatNumbers().isEmpty()) {
+                return ResponseEntity.badRequest().body("At least one seat number is required");
+            }
+
+            if (!busCache.exists(bookingBatchRequestDTO.getBusId())) {
+                return ResponseEntity.badRequest().body("Bus with ID " + bookingBatchRequestDTO.getBusId() + " does not exist");
+            }
+
+            List<Booking> bookings = bookingServiceImpl.addBookings(bookingBatchRequestDTO);
+            return ResponseEntity.ok(bookings);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("An error occurred while processing your booking: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One keyset page of bookings, newest first, {@code KeysetPage.DEFAULT_LIMIT} unless
+     * {@code limit} says otherwise. Filters: {@code userId}, {@code status}, {@code busId},
+     * and the trip's {@code from}, {@code to} and {@code date}. Without parameters this
+     * is the first page, never the whole table.
+     */
     @GetMapping
-    public ResponseEntity<List<Booking>> getBookings() {
-        return ResponseEntity.ok(bookingServiceImpl.getBookings());
+    public ResponseEntity<?> getBookings(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long busId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String date) {
+        try {
+            return ResponseEntity.ok(bookingServiceImpl.getBookingPage(userId, status, busId, from, to, date, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    /**
+     * Every booking matching the filters, streamed as NDJSON (default) or CSV while it
+     * is read. {@code from} and {@code to} are booking days, both inclusive, as
+     * dd-mm-yyyy or yyyy-mm-dd.
+     *
+     * Returns a 400 {@link ResponseEntity} for bad parameters, otherwise a
+     * {@link WebAsyncTask} that writes the export under {@code bus.export.timeout-seconds}.
+     */
+    @GetMapping("/export")
+    public Object exportBookings(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String status,
+            HttpServletResponse response) {
+        BookingExporter.Format exportFormat;
+        LocalDate fromDay;
+        LocalDate toDay;
+        try {
+            exportFormat = BookingExporter.Format.of(format);
+            fromDay = exportDay(from);
+            toDay = exportDay(to);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+        }
+        LocalDateTime since = fromDay != null ? fromDay.atStartOfDay() : null;
+        LocalDateTime until = toDay != null ? toDay.plusDays(1).atStartOfDay() : null;
+        String exportStatus = status == null || status.isBlank() ? null : status.trim().toUpperCase();
+
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings." + exportFormat.getExtension() + "\"");
+        return new WebAsyncTask<Void>(TimeUnit.SECONDS.toMillis(exportTimeoutSeconds), () -> {
+            bookingExporter.export(since, until, exportStatus, exportFormat, response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
+    private static LocalDate exportDay(String day) {
+        if (day == null || day.isBlank()) {
+            return null;
+        }
+        LocalDate parsed = TripKeys.date(day);
+        if (parsed == null) {
+            throw new IllegalArgumentException("Invalid date: " + day + ". Use dd-mm-yyyy or yyyy-mm-dd");
+        }
+        return parsed;
     }
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Booking>> getBookingsByUserId(@PathVariable Long userId) {
+    public ResponseEntity<List<BookingViewDTO>> getBookingsByUserId(@PathVariable Long userId) {
         return ResponseEntity.ok(bookingServiceImpl.getBookingsByUserId(userId));
     }
     
+    /** The user's trips that have not left yet, soonest first, optionally with one status. */
+    @GetMapping("/user/{userId}/trips")
+    public ResponseEntity<List<UserTrip>> getUpcomingTrips(@PathVariable Long userId,
+                                                           @RequestParam(required = false) String status) {
+        return ResponseEntity.ok(bookingServiceImpl.getUpcomingTrips(userId, status));
+    }
+    
     @PutMapping("/{bookingId}/cancel")
     public ResponseEntity<?> cancelBooking(@PathVariable Long bookingId) {
         try {
@@ -84,7 +222,15 @@ public class BookingController {
     }
 
     @PostMapping("/transfer")
-    public ResponseEntity<?> transferSeat(@RequestBody TransferRequest transferRequest) {
+    public ResponseEntity<?> transferSeat(@RequestBody TransferRequest transferRequest,
+                                          @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        String fingerprint = transferRequest.getBookingId() + "|" + transferRequest.getNewBusId() + "|"
+                + transferRequest.getNewSeatId();
+        return idempotencyStore.execute(idempotencyKey, "POST /booking/transfer", fingerprint,
+                () -> moveBooking(transferRequest));
+    }
+    
+    private ResponseEntity<?> moveBooking(TransferRequest transferRequest) {
         try {
             System.out.println("=== Transfer Seat Request ===");
             System.out.println("Endpoint: /booking/transfer");
@@ -0,0 +1,248 @@
+package BusManagementBooking.bus.booking;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes bookings straight from a forward-only JDBC cursor to an output stream,
+ * one row at a time, for {@code /booking/export}. Nothing is collected in memory,
+ * so an export of any size runs in the same heap.
+ *
+ * The statement asks for {@code bus.export.fetch-size} rows per round trip; on
+ * MySQL that needs {@code useCursorFetch=true} on the connection, without which the
+ * driver reads the whole result before returning the first row. That setting also
+ * turns every statement into a server-side prepared statement, so it is not put on
+ * the shared datasource: on MySQL exports run on their own small pool, opened lazily
+ * from the same {@code spring.datasource.*} settings with the flag added to the URL.
+ */
+@Component
+public class BookingExporter {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format of(String name) {
+            if (name == null || name.isBlank()) {
+                return NDJSON;
+            }
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown export format: " + name + ". Use ndjson or csv");
+            }
+        }
+    }
+
+    private static final String[] COLUMNS = {
+            "id", "userId", "busId", "busName", "route", "seatNumber", "bookingDate", "amount", "status"
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Value("${bus.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${bus.export.max-connections:2}")
+    private int maxConnections;
+
+    private HikariDataSource cursorDataSource;
+    private JdbcTemplate exportJdbcTemplate;
+
+    @PostConstruct
+    void start() {
+        String url = dataSourceProperties.determineUrl();
+        if (url == null || !url.startsWith("jdbc:mysql:")) {
+            // Other drivers honour the fetch size as they are
+            exportJdbcTemplate = jdbcTemplate;
+            return;
+        }
+        cursorDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url + (url.contains("?") ? "&" : "?") + "useCursorFetch=true")
+                .build();
+        cursorDataSource.setPoolName("booking-export");
+        cursorDataSource.setMaximumPoolSize(Math.max(1, maxConnections));
+        cursorDataSource.setMinimumIdle(0);
+        exportJdbcTemplate = new JdbcTemplate(cursorDataSource);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (cursorDataSource != null) {
+            cursorDataSource.close();
+        }
+    }
+
+    /**
+     * Streams the bookings made in [{@code from}, {@code until}) with the given status,
+     * each bound optional, in booking date order.
+     */
+    public void export(LocalDateTime from, LocalDateTime until, String status, Format format, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT b.id, b.user_id, b.bus_id, bus.name, bus.route, b.seat_number, b.booking_date, b.amount, b.status " +
+                "FROM bookings b JOIN buses bus ON bus.id = b.bus_id WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND b.booking_date >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (until != null) {
+            sql.append(" AND b.booking_date < ?");
+            args.add(Timestamp.valueOf(until));
+        }
+        if (status != null) {
+            sql.append(" AND b.status = ?");
+            args.add(status);
+        }
+        // Walks idx_bookings_date in order, so the database streams rows without sorting them first
+        sql.append(" ORDER BY b.booking_date, b.id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowCallbackHandler rows = format == Format.CSV ? csv(writer) : ndjson(writer);
+        try {
+            exportJdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < args.size(); i++) {
+                    ps.setObject(i + 1, args.get(i));
+                }
+                return ps;
+            }, rows);
+        } catch (UncheckedIOException e) {
+            // The client went away; the query has been abandoned
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private RowCallbackHandler ndjson(Writer writer) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+        json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        // The writer is flushed once at the end, not after every row
+        json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        return rs -> {
+            try {
+                json.writeStartObject();
+                json.writeNumberField(COLUMNS[0], rs.getLong(1));
+                json.writeNumberField(COLUMNS[1], rs.getLong(2));
+                json.writeNumberField(COLUMNS[2], rs.getLong(3));
+                json.writeStringField(COLUMNS[3], rs.getString(4));
+                json.writeStringField(COLUMNS[4], rs.getString(5));
+                json.writeStringField(COLUMNS[5], rs.getString(6));
+                json.writeStringField(COLUMNS[6], dateOf(rs));
+                BigDecimal amount = rs.getBigDecimal(8);
+                if (amount != null) {
+                    json.writeNumberField(COLUMNS[7], amount);
+                } else {
+                    json.writeNullField(COLUMNS[7]);
+                }
+                json.writeStringField(COLUMNS[8], rs.getString(9));
+                json.writeEndObject();
+                json.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private RowCallbackHandler csv(Writer writer) throws IOException {
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+        return rs -> {
+            try {
+                writer.write(Long.toString(rs.getLong(1)));
+                writer.write(',');
+                writer.write(Long.toString(rs.getLong(2)));
+                writer.write(',');
+                writer.write(Long.toString(rs.getLong(3)));
+                writer.write(',');
+                writeCsv(writer, rs.getString(4));
+                writer.write(',');
+                writeCsv(writer, rs.getString(5));
+                writer.write(',');
+                writeCsv(writer, rs.getString(6));
+                writer.write(',');
+                writeCsv(writer, dateOf(rs));
+                writer.write(',');
+                BigDecimal amount = rs.getBigDecimal(8);
+                writeCsv(writer, amount != null ? amount.toPlainString() : null);
+                writer.write(',');
+                writeCsv(writer, rs.getString(9));
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /** Quotes a field when it holds a separator, quote or line break (RFC 4180). */
+    private static void writeCsv(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String dateOf(ResultSet rs) throws SQLException {
+        Timestamp date = rs.getTimestamp(7);
+        return date != null ? date.toLocalDateTime().toString() : null;
+    }
+}
@@ -0,0 +1,505 @@
+package BusManagementBooking.bus.booking;
+
+import BusManagementBooking.bus.buses.BusRepository;
+import BusManagementBooking.bus.seats.Seat;
+import BusManagementBooking.bus.seats.SeatDTO;
+import BusManagementBooking.bus.seats.SeatInventory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Append-only journal of every committed seat transition, plus the bookings,
+ * cancellations and transfers behind them, used as an audit trail and to warm
+ * {@link SeatInventory} on startup.
+ *
+ * Seat records come from the inventory's commit-time listener, so admin status
+ * changes and holds are journaled like bookings; booking records are kept for the
+ * audit trail and do not drive replay. Records go to memory-mapped segment files
+ * once the transaction commits, so the hot path pays for a buffer copy and nothing
+ * else. A background thread forces
+ * the current segment to disk every {@code bus.journal.flush-millis}, which commits
+ * every record appended since the previous flush in one go. Every
+ * {@code bus.journal.snapshot-interval-seconds} the seat state of all buses in memory
+ * is written to a snapshot (committed state only, see {@link SeatInventory#snapshot()}).
+ * Replay no longer needs the segments before it, so they are moved to {@code archive/}
+ * under the journal directory, where they are kept for {@code bus.journal.retention-days}
+ * as the audit trail (0 deletes them right away, leaving only a warm-start cache).
+ * Older snapshots are deleted; they hold nothing the segments do not.
+ *
+ * On startup the latest snapshot and the segments after it are replayed. A replayed
+ * bus is only handed to the inventory if its seat count matches the bus and the
+ * checksum of its taken seats matches the one the database keeps for it (see
+ * {@link SeatInventory#checksum}); anything else (seat re-initialization, a change
+ * made outside the application, a lost tail) leaves the bus to be loaded from the
+ * database as before.
+ */
+@Component
+public class BookingJournal implements SeatInventory.Listener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingJournal.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String ARCHIVE_DIR = "archive";
+    private static final int SNAPSHOT_MAGIC = 0x424A5331;
+    private static final int VERIFY_BATCH = 1000;
+
+    private static final byte BOOKED = 1;
+    private static final byte CANCELLED = 2;
+    private static final byte TRANSFERRED_OUT = 3;
+    private static final byte TRANSFERRED_IN = 4;
+    private static final byte RESET = 5;
+    // Followed by the seat's new status ordinal: SEAT_STATUS + ordinal
+    private static final byte SEAT_STATUS = 16;
+
+    private static final Seat.SeatType[] TYPES = Seat.SeatType.values();
+    private static final Seat.SeatStatus[] STATUSES = Seat.SeatStatus.values();
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Value("${bus.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${bus.journal.dir:data/journal}")
+    private String directory;
+
+    @Value("${bus.journal.segment-bytes:16777216}")
+    private int segmentBytes;
+
+    @Value("${bus.journal.flush-millis:10}")
+    private long flushMillis;
+
+    @Value("${bus.journal.snapshot-interval-seconds:300}")
+    private long snapshotIntervalSeconds;
+
+    @Value("${bus.journal.retention-days:30}")
+    private long retentionDays;
+
+    private final Object appendLock = new Object();
+    private Path dir;
+    private volatile JournalSegment current;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        dir = Paths.get(directory);
+        Files.createDirectories(dir);
+
+        long started = System.nanoTime();
+        Map<Long, Map<String, Seat>> state = replay();
+        int restored = restore(state);
+        logger.info("Replayed booking journal in {} ms, restored {} of {} buses",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), restored, state.size());
+
+        // Always append to a fresh segment; the tail of the last one may be torn
+        current = JournalSegment.create(segmentPath(lastSequence() + 1), lastSequence() + 1, segmentBytes);
+        seatInventory.addListener(this);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly,
+                snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        snapshotQuietly();
+        synchronized (appendLock) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close journal segment: {}", e.getMessage());
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Journals a new booking once the current transaction commits. */
+    public void recordBooked(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> append(encode(BOOKED, booking)));
+    }
+
+    public void recordCancelled(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> append(encode(CANCELLED, booking)));
+    }
+
+    /** Journals both halves of a transfer as adjacent records. */
+    public void recordTransferred(Booking from, Booking to) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> append(encode(TRANSFERRED_OUT, from), encode(TRANSFERRED_IN, to)));
+    }
+
+    /** Journals committed seat transitions, whichever path made them. */
+    @Override
+    public void onChange(Long busId, long version, List<SeatDTO> seats) {
+        if (current == null) {
+            return;
+        }
+        ByteBuffer[] records = new ByteBuffer[seats.size()];
+        for (int i = 0; i < records.length; i++) {
+            SeatDTO seat = seats.get(i);
+            byte type = (byte) (SEAT_STATUS + Seat.SeatStatus.valueOf(seat.getStatus()).ordinal());
+            records[i] = encode(type, 0L, 0L, busId, seat.getSeatNumber());
+        }
+        append(records);
+    }
+
+    @Override
+    public void onEvict(Long busId) {
+        if (current != null) {
+            append(encode(RESET, 0L, 0L, busId, ""));
+        }
+    }
+
+    /**
+     * Writes the seat state of every bus in memory and archives the segments it covers.
+     * The segment is rolled first, so every change missing from the snapshot is in a
+     * segment that is kept; replaying one twice is harmless since records set a status.
+     */
+    public void snapshot() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        long sequence;
+        synchronized (appendLock) {
+            roll();
+            sequence = current.getSequence();
+        }
+
+        Map<Long, List<SeatDTO>> buses = seatInventory.snapshot();
+        Path tmp = dir.resolve(SNAPSHOT_PREFIX + sequence + SNAPSHOT_SUFFIX + ".tmp");
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp)), crc))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(buses.size());
+            for (Map.Entry<Long, List<SeatDTO>> bus : buses.entrySet()) {
+                out.writeLong(bus.getKey());
+                out.writeInt(bus.getValue().size());
+                for (SeatDTO seat : bus.getValue()) {
+                    out.writeLong(seat.getId());
+                    out.writeUTF(seat.getSeatNumber());
+                    out.writeByte(Seat.SeatType.valueOf(seat.getSeatType()).ordinal());
+                    out.writeByte(Seat.SeatStatus.valueOf(seat.getStatus()).ordinal());
+                }
+            }
+            out.flush();
+            out.writeLong(crc.getValue());
+        }
+        Files.move(tmp, snapshotPath(sequence), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        Path archive = dir.resolve(ARCHIVE_DIR);
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (sequenceOf(file, SEGMENT_PREFIX, SEGMENT_SUFFIX).filter(s -> s < sequence).isPresent()) {
+                    if (retentionDays > 0) {
+                        Files.createDirectories(archive);
+                        Files.move(file, archive.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                    } else {
+                        Files.deleteIfExists(file);
+                    }
+                } else if (sequenceOf(file, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).filter(s -> s < sequence).isPresent()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        pruneArchive(archive);
+        logger.info("Wrote booking journal snapshot {} with {} buses", sequence, buses.size());
+    }
+
+    /** Deletes archived segments last written more than {@code bus.journal.retention-days} ago. */
+    private void pruneArchive(Path archive) throws IOException {
+        if (!Files.isDirectory(archive)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays);
+        try (Stream<Path> files = Files.list(archive)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (sequenceOf(file, SEGMENT_PREFIX, SEGMENT_SUFFIX).isPresent()
+                        && Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds seat state from the latest snapshot and the segments written after it.
+     * Buses that are not in the snapshot (or were reset since) are left out.
+     */
+    Map<Long, Map<String, Seat>> replay() throws IOException {
+        Map<Long, Map<String, Seat>> state = new HashMap<>();
+        List<Long> snapshots = sequences(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long from = 0;
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            if (readSnapshot(snapshotPath(snapshots.get(i)), state)) {
+                from = snapshots.get(i);
+                break;
+            }
+            state.clear();
+        }
+
+        for (long sequence : sequences(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (sequence >= from) {
+                JournalSegment.read(segmentPath(sequence), record -> apply(record, state));
+            }
+        }
+        return state;
+    }
+
+    private int restore(Map<Long, Map<String, Seat>> state) {
+        Set<Long> verified = verified(state);
+        verified.forEach(busId -> seatInventory.restore(busId, new ArrayList<>(state.get(busId).values())));
+        return verified.size();
+    }
+
+    /**
+     * The replayed buses whose seat count matches the bus and whose seat checksum
+     * matches the one kept with the bus. Only the bus rows and their counter slots are
+     * read, a batch of buses at a time; the seat rows are not.
+     */
+    Set<Long> verified(Map<Long, Map<String, Seat>> state) {
+        Set<Long> verified = new HashSet<>();
+        List<Long> busIds = new ArrayList<>(state.keySet());
+        for (int from = 0; from < busIds.size(); from += VERIFY_BATCH) {
+            List<Long> batch = busIds.subList(from, Math.min(from + VERIFY_BATCH, busIds.size()));
+            for (Object[] row : busRepository.findSeatChecksums(batch)) {
+                Long busId = (Long) row[0];
+                Integer totalSeats = (Integer) row[1];
+                Map<String, Seat> seats = state.get(busId);
+                long replayed = seats.values().stream()
+                        .mapToLong(seat -> SeatInventory.checksum(seat.getSeatNumber(), seat.getStatus()))
+                        .sum();
+                if (totalSeats != null && totalSeats == seats.size() && replayed == ((Number) row[2]).longValue()) {
+                    verified.add(busId);
+                } else {
+                    logger.info("Journal state of bus {} does not match the database, it will be loaded from there", busId);
+                }
+            }
+        }
+        return verified;
+    }
+
+    private boolean readSnapshot(Path file, Map<Long, Map<String, Seat>> state) {
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file)), crc))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                return false;
+            }
+            int busCount = in.readInt();
+            for (int b = 0; b < busCount; b++) {
+                long busId = in.readLong();
+                int seatCount = in.readInt();
+                Map<String, Seat> seats = new LinkedHashMap<>(seatCount * 2);
+                for (int s = 0; s < seatCount; s++) {
+                    long id = in.readLong();
+                    String seatNumber = in.readUTF();
+                    Seat seat = new Seat(seatNumber, TYPES[in.readByte()], STATUSES[in.readByte()], null);
+                    seat.setId(id);
+                    seats.put(seatNumber, seat);
+                }
+                state.put(busId, seats);
+            }
+            long expected = crc.getValue();
+            return in.readLong() == expected;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable journal snapshot {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    private static void apply(ByteBuffer record, Map<Long, Map<String, Seat>> state) {
+        byte type = record.get();
+        record.getLong(); // timestamp
+        record.getLong(); // booking id
+        record.getLong(); // user id
+        long busId = record.getLong();
+        byte[] seatNumber = new byte[record.getShort()];
+        record.get(seatNumber);
+
+        if (type == RESET) {
+            state.remove(busId);
+            return;
+        }
+        if (type < SEAT_STATUS) {
+            // Booking records are the audit trail; the seat records next to them carry the state
+            return;
+        }
+        Map<String, Seat> seats = state.get(busId);
+        Seat seat = seats != null ? seats.get(new String(seatNumber, StandardCharsets.UTF_8)) : null;
+        if (seat == null) {
+            return;
+        }
+        seat.setStatus(STATUSES[type - SEAT_STATUS]);
+    }
+
+    private static ByteBuffer encode(byte type, Booking booking) {
+        return encode(type, booking.getId(), booking.getUserId(), booking.getBusId(), booking.getSeatNumber());
+    }
+
+    private static ByteBuffer encode(byte type, Long bookingId, Long userId, Long busId, String seatNumber) {
+        byte[] seat = seatNumber.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(1 + 4 * Long.BYTES + Short.BYTES + seat.length);
+        record.put(type)
+                .putLong(System.currentTimeMillis())
+                .putLong(bookingId != null ? bookingId : 0L)
+                .putLong(userId != null ? userId : 0L)
+                .putLong(busId)
+                .putShort((short) seat.length)
+                .put(seat);
+        return record.flip();
+    }
+
+    private void append(ByteBuffer... records) {
+        if (current == null) {
+            return;
+        }
+        synchronized (appendLock) {
+            try {
+                for (ByteBuffer record : records) {
+                    if (!current.append(record)) {
+                        roll();
+                        current.append(record);
+                    }
+                }
+            } catch (IOException e) {
+                // The database already committed; losing journal records only costs a slower restart
+                logger.error("Failed to append to booking journal: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void roll() throws IOException {
+        JournalSegment previous = current;
+        current = JournalSegment.create(segmentPath(previous.getSequence() + 1), previous.getSequence() + 1, segmentBytes);
+        previous.close();
+    }
+
+    private void flush() {
+        JournalSegment segment = current;
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Failed to write booking journal snapshot: {}", e.getMessage());
+        }
+    }
+
+    private long lastSequence() throws IOException {
+        List<Long> segments = sequences(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+        List<Long> snapshots = sequences(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        long last = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+        return Math.max(last, snapshots.isEmpty() ? 0 : snapshots.get(snapshots.size() - 1));
+    }
+
+    private List<Long> sequences(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> sequenceOf(file, prefix, suffix))
+                    .flatMap(Optional::stream)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Optional<Long> sequenceOf(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(prefix) || !name.endsWith(suffix)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Path segmentPath(long sequence) {
+        return dir.resolve(SEGMENT_PREFIX + sequence + SEGMENT_SUFFIX);
+    }
+
+    private Path snapshotPath(long sequence) {
+        return dir.resolve(SNAPSHOT_PREFIX + sequence + SNAPSHOT_SUFFIX);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
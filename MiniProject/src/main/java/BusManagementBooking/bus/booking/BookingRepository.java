@@ -1,10 +1,25 @@
 package BusManagementBooking.bus.booking;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
     List<Booking> findByUserId(Long userId);
+
+    String VIEW = "select new BusManagementBooking.bus.booking.BookingViewDTO(" +
+            "b.id, b.userId, bus.id, bus.name, bus.route, bus.departureDate, bus.departureTime, bus.arrivalTime, " +
+            "b.seatNumber, b.bookingDate, b.amount, b.status) " +
+            "from Booking b join b.bus bus ";
+
+    /** A user's bookings with their bus details, in one statement on the user index. */
+    @Query(VIEW + "where b.userId = :userId order by b.id")
+    List<BookingViewDTO> findViewsByUserId(@Param("userId") Long userId);
+
+    @Query("select b.bus.id from Booking b where b.id = :bookingId")
+    Optional<Long> findBusIdById(@Param("bookingId") Long bookingId);
 }
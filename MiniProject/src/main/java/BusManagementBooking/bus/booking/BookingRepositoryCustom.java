@@ -0,0 +1,19 @@
+package BusManagementBooking.bus.booking;
+
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** Queries of {@link BookingRepository} whose where clause depends on the filters given. */
+public interface BookingRepositoryCustom {
+
+    /**
+     * One page of bookings with their bus details, newest first, starting below
+     * {@code cursor}. Null filters are left out of the statement; {@code originKey},
+     * {@code destinationKey} and {@code travelDate} match the booked bus's trip columns.
+     */
+    List<BookingViewDTO> findPage(Long userId, String status, Long busId,
+                                  String originKey, String destinationKey, LocalDate travelDate,
+                                  Long cursor, Pageable window);
+}
@@ -0,0 +1,30 @@
+package BusManagementBooking.bus.booking;
+
+import BusManagementBooking.bus.common.KeysetQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingViewDTO> findPage(Long userId, String status, Long busId,
+                                         String originKey, String destinationKey, LocalDate travelDate,
+                                         Long cursor, Pageable window) {
+        return new KeysetQuery(BookingRepository.VIEW)
+                .where("b.userId = :userId", "userId", userId)
+                .where("b.status = :status", "status", status)
+                .where("bus.id = :busId", "busId", busId)
+                .where("bus.originKey = :originKey", "originKey", originKey)
+                .where("bus.destinationKey = :destinationKey", "destinationKey", destinationKey)
+                .where("bus.travelDate = :travelDate", "travelDate", travelDate)
+                .where("b.id < :cursor", "cursor", cursor)
+                .list(entityManager, BookingViewDTO.class, "b.id desc", window);
+    }
+}
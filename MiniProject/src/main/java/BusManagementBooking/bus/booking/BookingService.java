@@ -1,11 +1,16 @@
 package BusManagementBooking.bus.booking;
 
+import BusManagementBooking.bus.common.KeysetPage;
+
 import java.util.List;
 
 public interface BookingService {
     Booking addBooking(BookingAddRequestDTO bookingAddRequestDTO);
-    List<Booking> getBookings();
-    List<Booking> getBookingsByUserId(Long userId);
+    List<Booking> addBookings(BookingBatchRequestDTO bookingBatchRequestDTO);
+    KeysetPage<BookingViewDTO> getBookingPage(Long userId, String status, Long busId,
+                                              String from, String to, String date, Long cursor, Integer limit);
+    List<BookingViewDTO> getBookingsByUserId(Long userId);
+    List<UserTrip> getUpcomingTrips(Long userId, String status);
     boolean cancelBooking(Long bookingId);
     void transferSeat(Long bookingId, Long newBusId, Long newSeatId) throws Exception;
 }
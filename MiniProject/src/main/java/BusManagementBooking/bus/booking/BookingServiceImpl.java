@@ -1,17 +1,26 @@
 package BusManagementBooking.bus.booking;
 
 import BusManagementBooking.bus.buses.Bus;
-import BusManagementBooking.bus.buses.BusRepository;
-import BusManagementBooking.bus.seats.Seat;
-import BusManagementBooking.bus.seats.SeatRepository;
+import BusManagementBooking.bus.buses.BusCache;
+import BusManagementBooking.bus.common.KeysetPage;
+import BusManagementBooking.bus.buses.BusLockManager;
+import BusManagementBooking.bus.buses.TripKeys;
+import BusManagementBooking.bus.seats.SeatDTO;
+import BusManagementBooking.bus.seats.SeatHoldService;
+import BusManagementBooking.bus.seats.SeatInventory;
+import BusManagementBooking.bus.seats.SeatService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,13 +33,33 @@ public class BookingServiceImpl implements BookingService {
     private BookingRepository bookingRepository;
     
     @Autowired
-    private SeatRepository seatRepository;
+    private BusCache busCache;
     
     @Autowired
-    private BusRepository busRepository;
+    private SeatService seatService;
+    
+    @Autowired
+    private SeatInventory seatInventory;
+    
+    @Autowired
+    private SeatHoldService seatHoldService;
+    
+    @Autowired
+    private BookingBatchWriter bookingBatchWriter;
+    
+    @Autowired
+    private BusLockManager busLockManager;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private BookingJournal bookingJournal;
+    
+    @Autowired
+    private UserTripStore userTripStore;
 
     @Override
-    @Transactional
     public Booking addBooking(BookingAddRequestDTO bookingAddRequestDTO) {
         // Validate required fields
         if (bookingAddRequestDTO.getBusId() == null) {
@@ -45,38 +74,24 @@ public class BookingServiceImpl implements BookingService {
             throw new IllegalArgumentException("Seat number cannot be null or empty");
         }
         
-        // Check if seat exists and is available
+        return busLockManager.withSharedBusLock(bookingAddRequestDTO.getBusId(),
+                () -> transactionTemplate.execute(status -> createBooking(bookingAddRequestDTO)));
+    }
+    
+    private Booking createBooking(BookingAddRequestDTO bookingAddRequestDTO) {
         Long busId = bookingAddRequestDTO.getBusId();
         String seatNumber = bookingAddRequestDTO.getSeatNumber();
         
-        // Find the seat by bus ID and seat number
-        List<Seat> matchingSeats = seatRepository.findByBusId(busId);
-        Optional<Seat> seatOpt = matchingSeats.stream()
-                .filter(s -> s.getSeatNumber().equals(seatNumber))
-                .findFirst();
-                
-        if (seatOpt.isEmpty()) {
-            throw new IllegalArgumentException("Seat " + seatNumber + " not found for bus ID " + busId);
-        }
-        
-        Seat seat = seatOpt.get();
-        if (seat.getStatus() == Seat.SeatStatus.BOOKED) {
-            throw new IllegalArgumentException("Seat " + seatNumber + " is already booked");
-        }
-        
-        // Update seat status to BOOKED
-        seat.setStatus(Seat.SeatStatus.BOOKED);
-        seatRepository.save(seat);
-        
-        // Update bus available seats
-        Optional<Bus> busOpt = busRepository.findById(busId);
-        if (busOpt.isPresent()) {
-            Bus bus = busOpt.get();
-            Integer availableSeats = bus.getAvailableSeats();
-            if (availableSeats != null && availableSeats > 0) {
-                bus.setAvailableSeats(availableSeats - 1);
-                busRepository.save(bus);
+        String holdToken = bookingAddRequestDTO.getHoldToken();
+        if (holdToken != null && !holdToken.isEmpty()) {
+            // Seat was held for the payment step; turn the hold into a booking
+            seatHoldService.confirmHold(holdToken, bookingAddRequestDTO.getUserId(), busId, seatNumber);
+        } else if (!seatService.claimSeat(busId, seatNumber)) {
+            // Claim the seat with a single conditional update; only one request can win it
+            if (!seatInventory.hasSeat(busId, seatNumber)) {
+                throw new IllegalArgumentException("Seat " + seatNumber + " not found for bus ID " + busId);
             }
+            throw new IllegalArgumentException("Seat " + seatNumber + " is already booked");
         }
         
         // Set current date time if bookingDate is null
@@ -95,11 +110,9 @@ public class BookingServiceImpl implements BookingService {
         BigDecimal amount = bookingAddRequestDTO.getAmount();
         if (amount == null) {
             // Get amount from bus if available
-            if (busOpt.isPresent()) {
-                amount = busOpt.get().getPrice();
-            } else {
-                amount = BigDecimal.ZERO;
-            }
+            amount = busCache.get(busId)
+                    .map(Bus::getPrice)
+                    .orElse(BigDecimal.ZERO);
         }
         
         Booking booking = new Booking(
@@ -110,171 +123,206 @@ public class BookingServiceImpl implements BookingService {
                 amount,
                 status
         );
-        return bookingRepository.save(booking);
+        booking = bookingRepository.save(booking);
+        bookingJournal.recordBooked(booking);
+        userTripStore.recordBooked(List.of(booking));
+        return booking;
     }
 
+    /**
+     * Books several seats of one bus in a single transaction: one UPDATE claims every
+     * seat (or the whole request fails), the bus counter is adjusted once and the
+     * bookings are inserted as one JDBC batch.
+     */
     @Override
-    @Transactional(readOnly = true)
-    public List<Booking> getBookings() {
-        List<Booking> bookings = bookingRepository.findAll();
-        logger.info("Found {} total bookings", bookings.size());
+    public List<Booking> addBookings(BookingBatchRequestDTO bookingBatchRequestDTO) {
+        if (bookingBatchRequestDTO.getBusId() == null) {
+            throw new IllegalArgumentException("Bus ID cannot be null");
+        }
+        
+        if (bookingBatchRequestDTO.getUserId() == null) {
+            throw new IllegalArgumentException("User ID cannot be null");
+        }
         
-        for (Booking booking : bookings) {
-            Optional<Bus> busOpt = busRepository.findById(booking.getBusId());
-            if (busOpt.isPresent()) {
-                Bus bus = busOpt.get();
-                booking.setBus(bus);
-                logger.info("Added bus details for booking {}: name={}, route={}, departure={}, arrival={}", 
-                    booking.getId(), bus.getName(), bus.getRoute(), bus.getDepartureTime(), bus.getArrivalTime());
-            } else {
-                logger.warn("Bus not found for booking ID: {}", booking.getId());
+        if (bookingBatchRequestDTO.getSeatNumbers() == null || bookingBatchRequestDTO.getSeatNumbers().isEmpty()) {
+            throw new IllegalArgumentException("At least one seat number is required");
+        }
+        
+        return busLockManager.withSharedBusLock(bookingBatchRequestDTO.getBusId(),
+                () -> transactionTemplate.execute(status -> createBookings(bookingBatchRequestDTO)));
+    }
+    
+    private List<Booking> createBookings(BookingBatchRequestDTO bookingBatchRequestDTO) {
+        Long busId = bookingBatchRequestDTO.getBusId();
+        List<String> seatNumbers = new ArrayList<>(new LinkedHashSet<>(bookingBatchRequestDTO.getSeatNumbers()));
+        
+        String holdToken = bookingBatchRequestDTO.getHoldToken();
+        if (holdToken != null && !holdToken.isEmpty()) {
+            for (String seatNumber : seatNumbers) {
+                seatHoldService.confirmHold(holdToken, bookingBatchRequestDTO.getUserId(), busId, seatNumber);
             }
+        } else if (!seatService.claimSeats(busId, seatNumbers)) {
+            throw new IllegalArgumentException("Seats not available for bus ID " + busId + ": "
+                    + seatInventory.unavailableSeats(busId, seatNumbers));
+        }
+        
+        LocalDateTime bookingDate = bookingBatchRequestDTO.getBookingDate();
+        if (bookingDate == null) {
+            bookingDate = LocalDateTime.now();
         }
+        
+        String status = bookingBatchRequestDTO.getStatus();
+        if (status == null || status.isEmpty()) {
+            status = "CONFIRMED";
+        }
+        
+        BigDecimal amount = bookingBatchRequestDTO.getAmount();
+        if (amount == null) {
+            amount = busCache.get(busId)
+                    .map(Bus::getPrice)
+                    .orElse(BigDecimal.ZERO);
+        }
+        
+        List<Booking> bookings = new ArrayList<>(seatNumbers.size());
+        for (String seatNumber : seatNumbers) {
+            bookings.add(new Booking(bookingBatchRequestDTO.getUserId(), busId, bookingDate, seatNumber, amount, status));
+        }
+        bookings = bookingBatchWriter.insertAll(bookings);
+        bookings.forEach(bookingJournal::recordBooked);
+        userTripStore.recordBooked(bookings);
         return bookings;
     }
-    
+
+    /**
+     * Bookings newest first, one keyset page at a time, with their bus details read in
+     * the same query. {@code from}, {@code to} and {@code date} match the booked bus's
+     * trip, as on {@code GET /bus}.
+     */
     @Override
     @Transactional(readOnly = true)
-    public List<Booking> getBookingsByUserId(Long userId) {
-        List<Booking> bookings = bookingRepository.findByUserId(userId);
-        logger.info("Found {} bookings for user ID: {}", bookings.size(), userId);
-        
-        for (Booking booking : bookings) {
-            try {
-                // Get bus ID from the booking
-                Long busId = booking.getBusId();
-                logger.info("Fetching bus data for booking {} with bus ID: {}", booking.getId(), busId);
-                
-                if (busId != null) {
-                    // Fetch the complete bus object with all fields
-                    Optional<Bus> busOpt = busRepository.findById(busId);
-                    if (busOpt.isPresent()) {
-                        Bus bus = busOpt.get();
-                        // Set all bus fields explicitly
-                        Bus completeBus = new Bus();
-                        completeBus.setId(bus.getId());
-                        completeBus.setName(bus.getName());
-                        completeBus.setRoute(bus.getRoute());
-                        completeBus.setDepartureTime(bus.getDepartureTime());
-                        completeBus.setArrivalTime(bus.getArrivalTime());
-                        completeBus.setAvailableSeats(bus.getAvailableSeats());
-                        completeBus.setTotalSeats(bus.getTotalSeats());
-                        completeBus.setPrice(bus.getPrice());
-                        
-                        booking.setBus(completeBus);
-                        logger.info("Successfully added bus data for booking {}: name={}, route={}, departure={}, arrival={}", 
-                            booking.getId(), bus.getName(), bus.getRoute(), bus.getDepartureTime(), bus.getArrivalTime());
-                    } else {
-                        logger.error("Bus not found for ID: {}", busId);
-                    }
-                } else {
-                    logger.error("Booking {} has no bus ID", booking.getId());
-                }
-            } catch (Exception e) {
-                logger.error("Error fetching bus data for booking {}: {}", booking.getId(), e.getMessage());
+    public KeysetPage<BookingViewDTO> getBookingPage(Long userId, String status, Long busId,
+                                                     String from, String to, String date, Long cursor, Integer limit) {
+        String normalizedStatus = status == null || status.isBlank() ? null : status.trim().toUpperCase();
+        LocalDate travelDate = null;
+        if (date != null && !date.isBlank()) {
+            travelDate = TripKeys.date(date);
+            if (travelDate == null) {
+                throw new IllegalArgumentException("Invalid date: " + date + ". Use dd-mm-yyyy or yyyy-mm-dd");
             }
         }
+        int size = KeysetPage.limit(limit);
+        List<BookingViewDTO> rows = bookingRepository.findPage(userId, normalizedStatus, busId,
+                TripKeys.key(from), TripKeys.key(to), travelDate, cursor, KeysetPage.window(size));
+        return KeysetPage.of(rows, size, BookingViewDTO::getId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingViewDTO> getBookingsByUserId(Long userId) {
+        List<BookingViewDTO> bookings = bookingRepository.findViewsByUserId(userId);
+        logger.debug("Found {} bookings for user ID: {}", bookings.size(), userId);
         return bookings;
     }
     
+    /** Upcoming trips from the user_trips read model, in one indexed query. */
+    @Override
+    public List<UserTrip> getUpcomingTrips(Long userId, String status) {
+        return userTripStore.upcoming(userId, status);
+    }
+    
     @Override
-    @Transactional
     public boolean cancelBooking(Long bookingId) {
+        Optional<Long> busId = bookingRepository.findBusIdById(bookingId);
+        if (busId.isEmpty()) {
+            return false;
+        }
+        
+        return busLockManager.withSharedBusLock(busId.get(),
+                () -> transactionTemplate.execute(status -> releaseBooking(bookingId)));
+    }
+    
+    private boolean releaseBooking(Long bookingId) {
         Optional<Booking> bookingOpt = bookingRepository.findById(bookingId);
         if (bookingOpt.isEmpty()) {
             return false;
         }
         
         Booking booking = bookingOpt.get();
+        if ("CANCELLED".equals(booking.getStatus())) {
+            // Already released, don't hand the seat back twice
+            return true;
+        }
         
         // Update booking status
         booking.setStatus("CANCELLED");
         bookingRepository.save(booking);
         
-        // Find the seat and mark it as available again
-        String seatNumber = booking.getSeatNumber();
-        Long busId = booking.getBusId();
-        
-        List<Seat> matchingSeats = seatRepository.findByBusId(busId);
-        Optional<Seat> seatOpt = matchingSeats.stream()
-                .filter(s -> s.getSeatNumber().equals(seatNumber))
-                .findFirst();
-                
-        if (seatOpt.isPresent()) {
-            Seat seat = seatOpt.get();
-            seat.setStatus(Seat.SeatStatus.AVAILABLE);
-            seatRepository.save(seat);
-            
-            // Update bus available seats
-            Optional<Bus> busOpt = busRepository.findById(busId);
-            if (busOpt.isPresent()) {
-                Bus bus = busOpt.get();
-                Integer availableSeats = bus.getAvailableSeats();
-                if (availableSeats != null) {
-                    bus.setAvailableSeats(availableSeats + 1);
-                    busRepository.save(bus);
-                }
-            }
-        }
+        // Mark the seat as available again and return it to the bus counter
+        seatService.releaseSeat(booking.getBusId(), booking.getSeatNumber());
+        bookingJournal.recordCancelled(booking);
+        userTripStore.recordCancelled(booking);
         
         return true;
     }
 
+    /**
+     * Moves a booking to a seat on another (or the same) bus. Both buses are locked
+     * through {@link BusLockManager} in canonical order, so opposite transfers between
+     * the same two buses serialize instead of deadlocking.
+     */
     @Override
-    @Transactional
     public void transferSeat(Long bookingId, Long newBusId, Long newSeatId) throws Exception {
         logger.info("Starting seat transfer process for booking ID: {}, new bus ID: {}, new seat ID: {}", 
             bookingId, newBusId, newSeatId);
 
+        if (newBusId == null) {
+            throw new IllegalArgumentException("New bus ID cannot be null");
+        }
+        Long oldBusId = bookingRepository.findBusIdById(bookingId)
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found with ID: " + bookingId));
+
+        busLockManager.withBusLocks(List.of(oldBusId, newBusId), () -> transactionTemplate.execute(status -> {
+            moveBooking(bookingId, newBusId, newSeatId);
+            return null;
+        }));
+    }
+    
+    private void moveBooking(Long bookingId, Long newBusId, Long newSeatId) {
         // 1. Fetch existing booking
         Booking oldBooking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new Exception("Booking not found with ID: " + bookingId));
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found with ID: " + bookingId));
 
         // Validate booking status
         if (!"CONFIRMED".equals(oldBooking.getStatus())) {
-            throw new Exception("Only confirmed bookings can be transferred");
+            throw new IllegalStateException("Only confirmed bookings can be transferred");
         }
 
-        // 2. Validate new seat availability
-        Seat newSeat = seatRepository.findById(newSeatId)
-                .orElseThrow(() -> new Exception("New seat not found with ID: " + newSeatId));
+        // 2. Validate new seat and bus
+        SeatDTO newSeat = seatInventory.findSeat(newSeatId)
+                .orElseThrow(() -> new IllegalArgumentException("New seat not found with ID: " + newSeatId));
 
-        if (newSeat.getStatus() != Seat.SeatStatus.AVAILABLE) {
-            throw new Exception("Selected seat is not available");
+        if (!newBusId.equals(newSeat.getBusId())) {
+            throw new IllegalStateException("Seat " + newSeatId + " does not belong to bus " + newBusId);
         }
 
-        // 3. Validate new bus
-        Bus newBus = busRepository.findById(newBusId)
-                .orElseThrow(() -> new Exception("New bus not found with ID: " + newBusId));
+        // 3. Claim the new seat first; bail out before touching the old booking if it's taken
+        if (!seatService.claimSeatById(newBusId, newSeatId)) {
+            throw new IllegalStateException("Selected seat is not available");
+        }
+        logger.info("New seat marked as booked");
 
         // 4. Mark old booking as cancelled
         oldBooking.setStatus("CANCELLED");
         bookingRepository.save(oldBooking);
         logger.info("Old booking marked as cancelled");
 
-        // 5. Update old seat availability
-        List<Seat> oldSeats = seatRepository.findByBusId(oldBooking.getBusId());
-        Optional<Seat> oldSeatOpt = oldSeats.stream()
-                .filter(s -> s.getSeatNumber().equals(oldBooking.getSeatNumber()))
-                .findFirst();
-                
-        if (oldSeatOpt.isEmpty()) {
-            throw new Exception("Old seat not found");
+        // 5. Release the old seat back to its bus
+        if (!seatService.releaseSeat(oldBooking.getBusId(), oldBooking.getSeatNumber())) {
+            throw new IllegalStateException("Old seat not found");
         }
-        
-        Seat oldSeat = oldSeatOpt.get();
-        oldSeat.setStatus(Seat.SeatStatus.AVAILABLE);
-        seatRepository.save(oldSeat);
         logger.info("Old seat marked as available");
 
-        // 6. Update old bus available seats
-        Bus oldBus = busRepository.findById(oldBooking.getBusId())
-                .orElseThrow(() -> new Exception("Old bus not found"));
-        oldBus.setAvailableSeats(oldBus.getAvailableSeats() + 1);
-        busRepository.save(oldBus);
-        logger.info("Old bus available seats updated");
-
-        // 7. Create new booking
+        // 6. Create new booking
         Booking newBooking = new Booking();
         newBooking.setUserId(oldBooking.getUserId());
         newBooking.setBusId(newBusId);
@@ -284,16 +332,8 @@ public class BookingServiceImpl implements BookingService {
         newBooking.setAmount(oldBooking.getAmount());
         newBooking = bookingRepository.save(newBooking);
         logger.info("New booking created with ID: {}", newBooking.getId());
-
-        // 8. Update new seat availability
-        newSeat.setStatus(Seat.SeatStatus.BOOKED);
-        seatRepository.save(newSeat);
-        logger.info("New seat marked as booked");
-
-        // 9. Update new bus available seats
-        newBus.setAvailableSeats(newBus.getAvailableSeats() - 1);
-        busRepository.save(newBus);
-        logger.info("New bus available seats updated");
+        bookingJournal.recordTransferred(oldBooking, newBooking);
+        userTripStore.recordTransferred(oldBooking, newBooking);
 
         logger.info("Seat transfer completed successfully");
     }
@@ -0,0 +1,139 @@
+package BusManagementBooking.bus.booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A booking with the bus details a listing shows, read as one row of a join.
+ * Built by the constructor expressions in {@link BookingRepository}.
+ */
+public class BookingViewDTO {
+    private Long id;
+    private Long userId;
+    private Long busId;
+    private String busName;
+    private String route;
+    private String departureDate;
+    private String departureTime;
+    private String arrivalTime;
+    private String seatNumber;
+    private LocalDateTime bookingDate;
+    private BigDecimal amount;
+    private String status;
+
+    public BookingViewDTO() {}
+
+    public BookingViewDTO(Long id, Long userId, Long busId, String busName, String route, String departureDate,
+                          String departureTime, String arrivalTime, String seatNumber, LocalDateTime bookingDate,
+                          BigDecimal amount, String status) {
+        this.id = id;
+        this.userId = userId;
+        this.busId = busId;
+        this.busName = busName;
+        this.route = route;
+        this.departureDate = departureDate;
+        this.departureTime = departureTime;
+        this.arrivalTime = arrivalTime;
+        this.seatNumber = seatNumber;
+        this.bookingDate = bookingDate;
+        this.amount = amount;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getBusId() {
+        return busId;
+    }
+
+    public void setBusId(Long busId) {
+        this.busId = busId;
+    }
+
+    public String getBusName() {
+        return busName;
+    }
+
+    public void setBusName(String busName) {
+        this.busName = busName;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public void setRoute(String route) {
+        this.route = route;
+    }
+
+    public String getDepartureDate() {
+        return departureDate;
+    }
+
+    public void setDepartureDate(String departureDate) {
+        this.departureDate = departureDate;
+    }
+
+    public String getDepartureTime() {
+        return departureTime;
+    }
+
+    public void setDepartureTime(String departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    public String getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public void setArrivalTime(String arrivalTime) {
+        this.arrivalTime = arrivalTime;
+    }
+
+    public String getSeatNumber() {
+        return seatNumber;
+    }
+
+    public void setSeatNumber(String seatNumber) {
+        this.seatNumber = seatNumber;
+    }
+
+    public LocalDateTime getBookingDate() {
+        return bookingDate;
+    }
+
+    public void setBookingDate(LocalDateTime bookingDate) {
+        this.bookingDate = bookingDate;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
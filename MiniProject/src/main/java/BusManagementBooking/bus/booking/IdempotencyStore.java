@@ -0,0 +1,183 @@
+package BusManagementBooking.bus.booking;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the response to each request sent with an {@code Idempotency-Key}
+ * header, so a client retry gets the original response instead of running the
+ * booking transaction again.
+ *
+ * Entries are kept for {@code bus.idempotency.ttl-seconds} and at most
+ * {@code bus.idempotency.max-entries} of them, least recently used first out; an
+ * entry whose request is still running is never dropped, or a retry would run it
+ * again. A retry that arrives while the first request is still running waits up to
+ * {@code bus.idempotency.wait-seconds} for its result and then gets 409. 5xx
+ * responses are not kept, so the client can retry those for real.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long waitMillis;
+
+    // Access-ordered, so the eldest entry is the least recently used one
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Autowired
+    public IdempotencyStore(@Value("${bus.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${bus.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                            @Value("${bus.idempotency.wait-seconds:30}") long waitSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.waitMillis = waitSeconds * 1000;
+    }
+
+    IdempotencyStore(int maxEntries, long ttlSeconds) {
+        this(maxEntries, ttlSeconds, 30);
+    }
+
+    /**
+     * Runs {@code action} once per key and scope. {@code fingerprint} identifies the
+     * request payload; reusing a key for a different payload is rejected with 422.
+     * Without a key the action simply runs.
+     */
+    public ResponseEntity<?> execute(String key, String scope, String fingerprint, Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+
+        String storeKey = scope + ":" + key;
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            long now = System.currentTimeMillis();
+            entry = entries.get(storeKey);
+            if (entry != null && entry.isDone() && entry.expiresAt <= now) {
+                entries.remove(storeKey);
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry(fingerprint, now + ttlMillis);
+                entries.put(storeKey, entry);
+                owner = true;
+                trim(now);
+            }
+        }
+
+        if (!owner) {
+            if (!Objects.equals(entry.fingerprint, fingerprint)) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                        .body("Idempotency-Key " + key + " was already used for a different request");
+            }
+            logger.info("Replaying response for idempotency key {} ({})", key, scope);
+            ResponseEntity<?> original = await(entry, waitMillis);
+            if (original == null) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body("The request with Idempotency-Key " + key + " is still being processed, retry later");
+            }
+            return replay(original);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            forget(storeKey, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            forget(storeKey, entry);
+        }
+        entry.response.complete(response);
+        return response;
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void forget(String storeKey, Entry entry) {
+        synchronized (entries) {
+            entries.remove(storeKey, entry);
+        }
+    }
+
+    /**
+     * Drops expired entries from the LRU end and then whatever is over the limit,
+     * skipping entries whose request is still running.
+     */
+    private void trim(long now) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            if (entries.size() <= maxEntries && eldest.getValue().expiresAt > now) {
+                break;
+            }
+            if (eldest.getValue().isDone()) {
+                it.remove();
+            }
+        }
+    }
+
+    /** The original response, or null if it did not arrive within {@code waitMillis}. */
+    private static ResponseEntity<?> await(Entry entry, long waitMillis) {
+        try {
+            return entry.response.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Interrupted while waiting for the original request");
+        } catch (ExecutionException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("The original request failed: " + e.getCause().getMessage());
+        }
+    }
+
+    private static ResponseEntity<?> replay(ResponseEntity<?> original) {
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(original.getBody());
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        private Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isDone() {
+            return response.isDone();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package BusManagementBooking.bus.booking;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * One fixed-size, memory-mapped file of the booking journal.
+ *
+ * Records are laid out as {@code [int length][int crc32][payload]}. The file is
+ * pre-sized and zero-filled, so a length of 0 marks the end of the written part;
+ * a record whose checksum does not match (a torn write before a crash) ends it too.
+ * Not thread-safe; {@link BookingJournal} serializes access.
+ */
+final class JournalSegment implements AutoCloseable {
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final long sequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private volatile boolean dirty;
+
+    private JournalSegment(long sequence, FileChannel channel, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment create(Path file, long sequence, int sizeBytes) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new JournalSegment(sequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes));
+    }
+
+    /** Calls {@code reader} with each intact record payload, in write order. */
+    static void read(Path file, Consumer<ByteBuffer> reader) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32 crc = new CRC32();
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    return;
+                }
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    return;
+                }
+                reader.accept(payload);
+                buffer.position(buffer.position() + length);
+            }
+        }
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    /** Appends one record; false if it does not fit and a new segment is needed. */
+    boolean append(ByteBuffer payload) {
+        int length = payload.remaining();
+        if (buffer.remaining() < HEADER_BYTES + length) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        int start = buffer.position();
+        // Write the payload before its length so a reader never sees a half-written record
+        buffer.position(start + HEADER_BYTES);
+        buffer.put(payload);
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(start, length);
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Forces written records to disk; one call covers every append since the last one.
+     * Safe to call while another thread appends.
+     */
+    void force() {
+        if (dirty) {
+            dirty = false;
+            buffer.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+}
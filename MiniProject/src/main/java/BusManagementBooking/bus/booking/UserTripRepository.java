@@ -0,0 +1,60 @@
+package BusManagementBooking.bus.booking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserTripRepository extends JpaRepository<UserTrip, Long> {
+
+    /** Copies active bookings and their bus into trip rows in one INSERT ... SELECT; callers add the filter. */
+    String COPY = "insert into UserTrip (bookingId, userId, busId, busName, route, origin, destination, " +
+            "departureDate, departureTime, arrivalTime, travelDate, departureClock, price, " +
+            "seatNumber, bookingDate, amount, status) " +
+            "select b.id, b.userId, bus.id, bus.name, bus.route, bus.origin, bus.destination, " +
+            "bus.departureDate, bus.departureTime, bus.arrivalTime, bus.travelDate, bus.departureClock, bus.price, " +
+            "b.seatNumber, b.bookingDate, b.amount, b.status " +
+            "from Booking b join b.bus bus where b.status <> 'CANCELLED' ";
+
+    @Modifying
+    @Query(COPY + "and b.id in :bookingIds")
+    int copyBookings(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Modifying
+    @Query(COPY + "and bus.id = :busId")
+    int copyBus(@Param("busId") Long busId);
+
+    /** Copies every active booking that has no trip row yet. */
+    @Modifying
+    @Query(COPY + "and not exists (select t.bookingId from UserTrip t where t.bookingId = b.id)")
+    int copyMissing();
+
+    @Modifying
+    @Query("delete from UserTrip t where t.bookingId = :bookingId")
+    int deleteByBookingId(@Param("bookingId") Long bookingId);
+
+    @Modifying
+    @Query("delete from UserTrip t where t.busId = :busId")
+    int deleteByBusId(@Param("busId") Long busId);
+
+    /**
+     * A user's trips leaving at or after {@code today} {@code now}, soonest first, read
+     * from idx_user_trips_user_departure. Trips without a parseable date come last.
+     */
+    @Query("select t from UserTrip t where t.userId = :userId " +
+           "and (:status is null or t.status = :status) " +
+           "and (t.travelDate is null or t.travelDate > :today " +
+           "or (t.travelDate = :today and (t.departureClock is null or t.departureClock >= :now))) " +
+           "order by t.travelDate nulls last, t.departureClock nulls last, t.bookingId")
+    List<UserTrip> findUpcoming(@Param("userId") Long userId,
+                                @Param("status") String status,
+                                @Param("today") LocalDate today,
+                                @Param("now") LocalTime now);
+}
@@ -0,0 +1,75 @@
+package BusManagementBooking.bus.booking;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The "my trips" read model: one {@code user_trips} row per active booking with the
+ * bus details and seat a trips page shows, so a user's upcoming trips are one indexed
+ * read instead of their bookings plus a bus lookup each.
+ *
+ * Rows are copied from bookings joined to their bus with a single INSERT ... SELECT,
+ * in the same transaction as the booking change, and rebuilt for a bus when it is
+ * edited. Bookings made before the table existed are copied in at startup.
+ */
+@Component
+public class UserTripStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserTripStore.class);
+
+    @Autowired
+    private UserTripRepository userTripRepository;
+
+    @Transactional
+    public void recordBooked(List<Booking> bookings) {
+        userTripRepository.copyBookings(bookings.stream().map(Booking::getId).toList());
+    }
+
+    @Transactional
+    public void recordCancelled(Booking booking) {
+        userTripRepository.deleteByBookingId(booking.getId());
+    }
+
+    @Transactional
+    public void recordTransferred(Booking cancelled, Booking created) {
+        userTripRepository.deleteByBookingId(cancelled.getId());
+        userTripRepository.copyBookings(List.of(created.getId()));
+    }
+
+    /** Picks up a bus's new name, route or times in every trip on it. */
+    @Transactional
+    public void busChanged(Long busId) {
+        userTripRepository.deleteByBusId(busId);
+        userTripRepository.copyBus(busId);
+    }
+
+    @Transactional
+    public void busRemoved(Long busId) {
+        userTripRepository.deleteByBusId(busId);
+    }
+
+    /** A user's trips that have not left yet, soonest first; {@code status} is optional. */
+    @Transactional(readOnly = true)
+    public List<UserTrip> upcoming(Long userId, String status) {
+        String normalizedStatus = status == null || status.isBlank() ? null : status.trim().toUpperCase();
+        LocalDateTime now = LocalDateTime.now();
+        return userTripRepository.findUpcoming(userId, normalizedStatus, now.toLocalDate(), now.toLocalTime());
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Transactional
+    public void backfill() {
+        int copied = userTripRepository.copyMissing();
+        if (copied > 0) {
+            logger.info("Copied {} existing bookings into user_trips", copied);
+        }
+    }
+}
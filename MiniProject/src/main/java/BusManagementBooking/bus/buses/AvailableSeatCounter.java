@@ -0,0 +1,189 @@
+package BusManagementBooking.bus.buses;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Striped counter behind the available seats that bus summaries report.
+ *
+ * Adding to {@code buses.available_seats} directly makes the bus row a lock every
+ * booking on that bus queues for. Instead each change is added to one of
+ * {@code bus.counter.slots} rows of {@code bus_seat_counter_slots}, picked at
+ * random, so concurrent bookings mostly lock different rows. The summary queries
+ * of {@link BusRepository} add a bus's slots to the column; loading the {@link Bus}
+ * entity does not, so only the reads that return availability pay for the sum.
+ * A background job folds the slots back into the column every
+ * {@code bus.counter.compact-seconds}.
+ *
+ * The slots carry the bus's seat checksum the same way (see
+ * {@link BusManagementBooking.bus.seats.SeatInventory#checksum}), folded into
+ * {@code buses.seat_checksum}, so the checksum of a bus's taken seats can be read
+ * without reading the seats.
+ */
+@Component
+public class AvailableSeatCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailableSeatCounter.class);
+
+    private static final String ADD_SQL =
+            "UPDATE bus_seat_counter_slots SET delta = delta + ?, checksum = checksum + ? WHERE bus_id = ? AND slot_no = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO bus_seat_counter_slots (bus_id, slot_no, delta, checksum) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BusCache busCache;
+
+    @Value("${bus.counter.slots:16}")
+    private int slots;
+
+    @Value("${bus.counter.compact-seconds:60}")
+    private long compactSeconds;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-counter-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::compactQuietly, compactSeconds, compactSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Adds {@code delta} to the bus's available seats and {@code checksum} to its seat
+     * checksum as part of the current transaction.
+     */
+    public void add(Long busId, int delta, long checksum) {
+        if (delta == 0 && checksum == 0) {
+            return;
+        }
+        int slot = ThreadLocalRandom.current().nextInt(Math.max(slots, 1));
+        // The slot row usually exists; create it on first use, and if another booking
+        // created it at the same moment, add to that one
+        if (jdbcTemplate.update(ADD_SQL, delta, checksum, busId, slot) == 0) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, busId, slot, delta, checksum);
+            } catch (DuplicateKeyException e) {
+                jdbcTemplate.update(ADD_SQL, delta, checksum, busId, slot);
+            }
+        }
+        if (delta != 0) {
+            busCache.adjustAvailable(busId, delta);
+        }
+    }
+
+    /**
+     * Sets the bus's available seats to {@code available}. The bus's slots are locked
+     * and cleared in the same transaction as the column is written, so a booking
+     * committed meanwhile either lands before and is overridden, or waits and is
+     * added on top; none is counted against a sum read earlier.
+     */
+    public void set(Long busId, int available) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<long[]> locked = lockSlots(busId);
+            // The seats did not change, so their checksum moves into the bus row as it is
+            jdbcTemplate.update("UPDATE buses SET available_seats = ?, seat_checksum = seat_checksum + ? WHERE id = ?",
+                    available, sum(locked, 2), busId);
+            clearSlots(busId, locked);
+        });
+        busCache.invalidate(busId);
+    }
+
+    /**
+     * Starts the bus over with {@code available} seats and an empty seat checksum, for
+     * when its seats have just been created and are all available.
+     */
+    public void reset(Long busId, int available) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<long[]> locked = lockSlots(busId);
+            jdbcTemplate.update("UPDATE buses SET available_seats = ?, seat_checksum = 0 WHERE id = ?", available, busId);
+            clearSlots(busId, locked);
+        });
+        busCache.invalidate(busId);
+    }
+
+    /** Folds the slots of every bus into {@code buses.available_seats}; returns the number of buses compacted. */
+    public int compact() {
+        List<Long> busIds = jdbcTemplate.queryForList("SELECT DISTINCT bus_id FROM bus_seat_counter_slots", Long.class);
+        for (Long busId : busIds) {
+            transactionTemplate.executeWithoutResult(status -> compact(busId));
+        }
+        return busIds.size();
+    }
+
+    /**
+     * Locks the bus's slots, moves their sum into the bus row and subtracts what was
+     * moved from each slot rather than deleting it, so a slot inserted concurrently by
+     * another instance is kept. Slots left at zero are then removed.
+     */
+    private void compact(Long busId) {
+        List<long[]> locked = lockSlots(busId);
+        long delta = sum(locked, 1);
+        long checksum = sum(locked, 2);
+        if (delta != 0 || checksum != 0) {
+            jdbcTemplate.update("UPDATE buses SET available_seats = available_seats + ?, seat_checksum = seat_checksum + ? WHERE id = ?",
+                    delta, checksum, busId);
+        }
+        clearSlots(busId, locked);
+    }
+
+    /** The bus's slots as {@code [slot_no, delta, checksum]}, locked until the transaction ends. */
+    private List<long[]> lockSlots(Long busId) {
+        return jdbcTemplate.query(
+                "SELECT slot_no, delta, checksum FROM bus_seat_counter_slots WHERE bus_id = ? FOR UPDATE",
+                (rs, row) -> new long[] {rs.getInt(1), rs.getInt(2), rs.getLong(3)}, busId);
+    }
+
+    private void clearSlots(Long busId, List<long[]> locked) {
+        if (locked.stream().anyMatch(slot -> slot[1] != 0 || slot[2] != 0)) {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE bus_seat_counter_slots SET delta = delta - ?, checksum = checksum - ? WHERE bus_id = ? AND slot_no = ?",
+                    locked, locked.size(), (ps, slot) -> {
+                        ps.setLong(1, slot[1]);
+                        ps.setLong(2, slot[2]);
+                        ps.setLong(3, busId);
+                        ps.setLong(4, slot[0]);
+                    });
+        }
+        jdbcTemplate.update("DELETE FROM bus_seat_counter_slots WHERE bus_id = ? AND delta = 0 AND checksum = 0", busId);
+    }
+
+    private static long sum(List<long[]> locked, int column) {
+        return locked.stream().mapToLong(slot -> slot[column]).sum();
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            logger.warn("Seat counter compaction failed: {}", e.getMessage());
+        }
+    }
+}
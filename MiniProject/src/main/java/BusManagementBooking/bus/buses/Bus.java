@@ -2,15 +2,28 @@ package BusManagementBooking.bus.buses;
 
 import BusManagementBooking.bus.booking.Booking;
 import BusManagementBooking.bus.seats.Seat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "buses")
+// Write only changed columns, so saving a bus never puts back a stale available_seats
+@DynamicUpdate
+@Table(name = "buses", indexes = {
+    // Serves /bus/trips: equality on the stops and date, then already sorted by time
+    @Index(name = "idx_buses_trip", columnList = "origin_key, destination_key, travel_date, departure_clock"),
+    // Keyset pages of /bus filter on these and then range over the primary key
+    @Index(name = "idx_buses_route", columnList = "origin_key, destination_key, id"),
+    @Index(name = "idx_buses_travel_date", columnList = "travel_date, id")
+})
 public class Bus {
 
     @Id
@@ -32,12 +45,38 @@ public class Bus {
     @Column(name = "arrival_time", nullable = false, length = 50)
     private String arrivalTime;
 
+    // Structured copies of route, departureDate and departureTime, kept in step on every save
+    @Column(name = "origin", length = 100)
+    private String origin;
+
+    @Column(name = "destination", length = 100)
+    private String destination;
+
+    @JsonIgnore
+    @Column(name = "origin_key", length = 100)
+    private String originKey;
+
+    @JsonIgnore
+    @Column(name = "destination_key", length = 100)
+    private String destinationKey;
+
+    @Column(name = "travel_date")
+    private LocalDate travelDate;
+
+    @Column(name = "departure_clock")
+    private LocalTime departureClock;
+
+    // Base of the striped counter: listings add the pending slots (see BusRepository.SUMMARY)
     @Column(name = "available_seats")
     private Integer availableSeats;
 
     @Column(name = "total_seats")
     private Integer totalSeats;
 
+    // Base of the seat checksum kept by AvailableSeatCounter; never set through the entity
+    @Column(name = "seat_checksum", nullable = false)
+    private long seatChecksum;
+
     @Column(name = "price", nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
@@ -63,6 +102,36 @@ public class Bus {
         this.price = price;
     }
 
+    /** A detached copy of the scalar fields, without seats or bookings; see {@link BusCache}. */
+    Bus snapshot() {
+        Bus copy = new Bus(name, route, departureDate, departureTime, arrivalTime, getAvailableSeats(), totalSeats, price);
+        copy.id = id;
+        copy.refreshTripColumns();
+        return copy;
+    }
+
+    /** A detached bus built from a summary, with the counter slots already added in. */
+    static Bus of(BusSummaryDTO summary) {
+        Bus bus = new Bus(summary.getName(), summary.getRoute(), summary.getDepartureDate(), summary.getDepartureTime(),
+                summary.getArrivalTime(), summary.getAvailableSeats(), summary.getTotalSeats(), summary.getPrice());
+        bus.id = summary.getId();
+        bus.refreshTripColumns();
+        return bus;
+    }
+
+    /** Re-derives the trip index columns from the free-text fields. */
+    @PrePersist
+    @PreUpdate
+    void refreshTripColumns() {
+        String[] stops = TripKeys.stops(route);
+        this.origin = stops != null ? stops[0] : null;
+        this.destination = stops != null ? stops[1] : null;
+        this.originKey = TripKeys.key(origin);
+        this.destinationKey = TripKeys.key(destination);
+        this.travelDate = TripKeys.date(departureDate);
+        this.departureClock = TripKeys.time(departureTime);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -133,6 +202,52 @@ public class Bus {
         this.arrivalTime = arrivalTime;
     }
 
+    public String getOrigin() {
+        return origin;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public LocalDate getTravelDate() {
+        return travelDate;
+    }
+
+    public LocalTime getDepartureClock() {
+        return departureClock;
+    }
+
+    @JsonIgnore
+    public String getOriginKey() {
+        return originKey;
+    }
+
+    @JsonIgnore
+    public String getDestinationKey() {
+        return destinationKey;
+    }
+
+    /** When the bus leaves, or null if its date or time cannot be parsed. */
+    public LocalDateTime departsAt() {
+        return travelDate != null && departureClock != null ? travelDate.atTime(departureClock) : null;
+    }
+
+    /** When the bus arrives; an arrival time before the departure time is taken as the next day. */
+    public LocalDateTime arrivesAt() {
+        LocalDateTime departure = departsAt();
+        LocalTime arrivalClock = TripKeys.time(arrivalTime);
+        if (departure == null || arrivalClock == null) {
+            return null;
+        }
+        LocalDateTime arrival = travelDate.atTime(arrivalClock);
+        return arrival.isBefore(departure) ? arrival.plusDays(1) : arrival;
+    }
+
+    /**
+     * The column alone; seat changes not yet compacted into it are in the counter
+     * slots. Read availability through {@link BusRepository}'s summary queries.
+     */
     public Integer getAvailableSeats() {
         return availableSeats;
     }
@@ -0,0 +1,181 @@
+package BusManagementBooking.bus.buses;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache of bus metadata for the booking paths, which look the same
+ * bus up on every request.
+ *
+ * Holds at most {@code bus.cache.max-entries} buses, least recently used first out,
+ * each for at most {@code bus.cache.ttl-seconds}. Callers get a detached copy with
+ * the scalar fields only (no seats or bookings), so it is not for serializing a
+ * bus to clients. {@link BusServiceImpl} invalidates a bus when it is updated or
+ * deleted, and {@link AvailableSeatCounter} moves the cached available-seat count
+ * once each seat change commits.
+ */
+@Component
+public class BusCache {
+
+    // Loads that raced with a change to the same bus must not store what they read
+    private static final int STAMP_STRIPES = 64;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    // Access-ordered, so the eldest entry is the least recently used one
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BusCache(@Value("${bus.cache.max-entries:10000}") int maxEntries,
+                    @Value("${bus.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /** The bus, from the cache or else the database. */
+    public Optional<Bus> get(Long busId) {
+        if (busId == null) {
+            return Optional.empty();
+        }
+        synchronized (entries) {
+            Entry entry = entries.get(busId);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                hits.increment();
+                return Optional.of(entry.bus.snapshot());
+            }
+            if (entry != null) {
+                entries.remove(busId);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+
+        long stamp = stamps.get(stripe(busId));
+        // Through the summary query, so the count includes what the counter slots hold
+        Optional<Bus> loaded = busRepository.findSummaryById(busId).map(Bus::of);
+        loaded.ifPresent(bus -> {
+            synchronized (entries) {
+                if (stamps.get(stripe(busId)) == stamp) {
+                    long now = System.currentTimeMillis();
+                    entries.put(busId, new Entry(bus, now + ttlMillis));
+                    trim(now);
+                }
+            }
+        });
+        return loaded.map(Bus::snapshot);
+    }
+
+    public boolean exists(Long busId) {
+        return get(busId).isPresent();
+    }
+
+    /** Drops the bus; the next lookup reads it again. */
+    public void invalidate(Long busId) {
+        synchronized (entries) {
+            stamps.incrementAndGet(stripe(busId));
+            if (entries.remove(busId) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    /**
+     * Adds {@code delta} to the cached available seats once the current transaction
+     * commits (right away without one), keeping the entry instead of reloading it.
+     */
+    void adjustAvailable(Long busId, int delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyAvailable(busId, delta);
+                }
+            });
+        } else {
+            applyAvailable(busId, delta);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttlMillis / 1000);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void applyAvailable(Long busId, int delta) {
+        synchronized (entries) {
+            stamps.incrementAndGet(stripe(busId));
+            Entry entry = entries.get(busId);
+            if (entry != null && entry.bus.getAvailableSeats() != null) {
+                Bus bus = entry.bus.snapshot();
+                bus.setAvailableSeats(bus.getAvailableSeats() + delta);
+                entries.put(busId, new Entry(bus, entry.expiresAt));
+            }
+        }
+    }
+
+    /** Drops expired entries from the LRU end and then whatever is over the limit. */
+    private void trim(long now) {
+        Iterator<Map.Entry<Long, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Entry> eldest = it.next();
+            boolean expired = eldest.getValue().expiresAt <= now;
+            if (entries.size() <= maxEntries && !expired) {
+                break;
+            }
+            it.remove();
+            (expired ? expirations : evictions).increment();
+        }
+    }
+
+    private static int stripe(Long busId) {
+        return (int) Math.floorMod(busId, (long) STAMP_STRIPES);
+    }
+
+    private static final class Entry {
+        private final Bus bus;
+        private final long expiresAt;
+
+        private Entry(Bus bus, long expiresAt) {
+            this.bus = bus;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("bus")
@@ -18,11 +19,20 @@ public class BusController {
     @Autowired
     private SeatInitializationConfig seatInitConfig;
 
+    @Autowired
+    private BusCache busCache;
+
     @GetMapping("health")
     public String checkAlive() {
         return "Bus Controller is alive!";
     }
 
+    /** Hit/miss counters of the bus lookup cache, for sizing {@code bus.cache.*}. */
+    @GetMapping("cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(busCache.stats());
+    }
+
     @PostMapping
     public ResponseEntity<Bus> addBus(@RequestBody BusAddRequestDTO busAddRequestDTO) {
         Bus savedBus = busServiceImpl.addBus(busAddRequestDTO);
@@ -33,25 +43,62 @@ public class BusController {
         return ResponseEntity.ok(savedBus);
     }
 
+    /** One bus as a summary; {@code include=seats} adds its seat map. */
     @GetMapping("/{id}")
-    public ResponseEntity<Bus> getBusById(@PathVariable Long id) {
-        return busServiceImpl.getBusById(id)
+    public ResponseEntity<BusSummaryDTO> getBusById(@PathVariable Long id,
+                                                    @RequestParam(required = false) String include) {
+        return busServiceImpl.getBusSummary(id, includesSeats(include))
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * One keyset page of buses in id order, {@code KeysetPage.DEFAULT_LIMIT} unless
+     * {@code limit} says otherwise; without parameters, the first page. Buses are
+     * returned as summaries; {@code include=seats} adds each bus's seat map.
+     */
     @GetMapping
-    public ResponseEntity<List<Bus>> getBuses() {
-        return ResponseEntity.ok(busServiceImpl.getBuses());
+    public ResponseEntity<?> getBuses(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String date,
+            @RequestParam(required = false) String include) {
+        boolean withSeats = includesSeats(include);
+        try {
+            return ResponseEntity.ok(busServiceImpl.getBusPage(from, to, date, cursor, limit, withSeats));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<Bus>> searchBuses(
+    public ResponseEntity<List<BusSummaryDTO>> searchBuses(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String route) {
         return ResponseEntity.ok(busServiceImpl.searchBuses(name, route, null, null));
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<List<BusSuggestionDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(busServiceImpl.suggest(prefix, limit));
+    }
+
+    @GetMapping("/trips")
+    public ResponseEntity<?> findTrips(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String date) {
+        try {
+            return ResponseEntity.ok(busServiceImpl.findTrips(from, to, date));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBus(@PathVariable Long id) {
         busServiceImpl.deleteBus(id);
@@ -59,11 +106,25 @@ public class BusController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Bus> updateBus(@PathVariable Long id, @RequestBody BusAddRequestDTO busUpdateRequestDTO) {
-        Bus updatedBus = busServiceImpl.updateBus(id, busUpdateRequestDTO);
-        if (updatedBus != null) {
-            return ResponseEntity.ok(updatedBus);
+    public ResponseEntity<BusSummaryDTO> updateBus(@PathVariable Long id, @RequestBody BusAddRequestDTO busUpdateRequestDTO) {
+        if (busServiceImpl.updateBus(id, busUpdateRequestDTO) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // Read back as a summary, so the seat count includes the counter slots
+        return busServiceImpl.getBusSummary(id, false)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static boolean includesSeats(String include) {
+        if (include == null) {
+            return false;
+        }
+        for (String part : include.split(",")) {
+            if (part.trim().equalsIgnoreCase("seats")) {
+                return true;
+            }
         }
-        return ResponseEntity.notFound().build();
+        return false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package BusManagementBooking.bus.buses;
+
+import BusManagementBooking.bus.seats.SeatDTO;
+
+import java.util.List;
+
+/** A {@link BusSummaryDTO} with its seats, returned when a client asks for {@code include=seats}. */
+public class BusDetailDTO extends BusSummaryDTO {
+
+    private List<SeatDTO> seats;
+
+    public BusDetailDTO() {}
+
+    public BusDetailDTO(BusSummaryDTO summary, List<SeatDTO> seats) {
+        super(summary);
+        this.seats = seats;
+    }
+
+    public List<SeatDTO> getSeats() {
+        return seats;
+    }
+
+    public void setSeats(List<SeatDTO> seats) {
+        this.seats = seats;
+    }
+}
@@ -0,0 +1,131 @@
+package BusManagementBooking.bus.buses;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped per-bus locks for operations that change seats and counters of one or
+ * more buses (bookings, cancellations, transfers).
+ *
+ * Single-bus operations take their stripe in shared mode: they are already safe
+ * against each other through conditional updates, so they keep running in parallel.
+ * Operations spanning several buses take every stripe exclusively, in ascending
+ * stripe order, so two of them on the same pair of buses can never wait on each
+ * other in a cycle and no single-bus write interleaves with them.
+ *
+ * Waiting is bounded: if a stripe cannot be taken in time, everything held is
+ * released and the attempt is retried with jittered backoff. The action itself
+ * is retried when the database reports a deadlock or lock timeout, which can still
+ * happen with writers outside this JVM; it must therefore open its own transaction.
+ */
+@Component
+public class BusLockManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusLockManager.class);
+
+    private final ReentrantReadWriteLock[] stripes;
+    private final long waitMillis;
+    private final int maxAttempts;
+
+    public BusLockManager(@Value("${bus.locks.stripes:256}") int stripeCount,
+                          @Value("${bus.locks.wait-millis:2000}") long waitMillis,
+                          @Value("${bus.locks.max-attempts:3}") int maxAttempts) {
+        this.stripes = new ReentrantReadWriteLock[Integer.highestOneBit(Math.max(stripeCount, 2) - 1) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+        this.waitMillis = waitMillis;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+    }
+
+    /** Runs a single-bus operation; it may overlap with other single-bus operations on the same bus. */
+    public <T> T withSharedBusLock(Long busId, Supplier<T> action) {
+        return run(List.of(busId), false, action);
+    }
+
+    /** Runs an operation with exclusive access to all of the given buses. */
+    public <T> T withBusLocks(Collection<Long> busIds, Supplier<T> action) {
+        return run(busIds, true, action);
+    }
+
+    private <T> T run(Collection<Long> busIds, boolean exclusive, Supplier<T> action) {
+        Lock[] order = busIds.stream()
+                .filter(Objects::nonNull)
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .mapToObj(stripe -> exclusive ? stripes[stripe].writeLock() : stripes[stripe].readLock())
+                .toArray(Lock[]::new);
+
+        for (int attempt = 1; ; attempt++) {
+            int held = acquire(order);
+            if (held < order.length) {
+                release(order, held);
+                if (attempt >= maxAttempts) {
+                    throw new CannotAcquireLockException("Timed out waiting for bus locks " + busIds + ", please retry");
+                }
+                backoff(attempt);
+                continue;
+            }
+
+            try {
+                return action.get();
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                logger.warn("Database lock conflict on buses {} (attempt {}), retrying: {}", busIds, attempt, e.getMessage());
+            } finally {
+                release(order, order.length);
+            }
+            backoff(attempt);
+        }
+    }
+
+    private int stripeOf(Long busId) {
+        long h = busId * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (stripes.length - 1);
+    }
+
+    /** Takes the stripes in order and returns how many were acquired. */
+    private int acquire(Lock[] order) {
+        for (int i = 0; i < order.length; i++) {
+            try {
+                if (!order[i].tryLock(waitMillis, TimeUnit.MILLISECONDS)) {
+                    return i;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return i;
+            }
+        }
+        return order.length;
+    }
+
+    private static void release(Lock[] order, int held) {
+        for (int i = held - 1; i >= 0; i--) {
+            order[i].unlock();
+        }
+    }
+
+    private static void backoff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20L << Math.min(attempt, 6)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,17 +1,55 @@
 package BusManagementBooking.bus.buses;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BusRepository extends JpaRepository<Bus, Long> {
-    List<Bus> findByNameContainingIgnoreCase(String name);
-    List<Bus> findByRouteContainingIgnoreCase(String route);
-    List<Bus> findByDepartureTimeContainingIgnoreCase(String departureTime);
-    List<Bus> findByArrivalTimeContainingIgnoreCase(String arrivalTime);
-    List<Bus> findByRouteContainingIgnoreCaseAndDepartureTimeContainingIgnoreCase(String route, String departureTime);
-    List<Bus> findByRouteContainingIgnoreCaseAndArrivalTimeContainingIgnoreCase(String route, String arrivalTime);
-    List<Bus> findByDepartureTimeContainingIgnoreCaseAndArrivalTimeContainingIgnoreCase(String departureTime, String arrivalTime);
-    List<Bus> findByRouteContainingIgnoreCaseAndDepartureTimeContainingIgnoreCaseAndArrivalTimeContainingIgnoreCase(String route, String departureTime, String arrivalTime);
+public interface BusRepository extends JpaRepository<Bus, Long>, BusRepositoryCustom {
+    String SUMMARY = "select new BusManagementBooking.bus.buses.BusSummaryDTO(" +
+            "b.id, b.name, b.route, b.departureDate, b.departureTime, b.arrivalTime, b.origin, b.destination, " +
+            "b.travelDate, b.departureClock, b.availableSeats, " +
+            // What the striped counter still holds (see AvailableSeatCounter); only summaries pay for it
+            "(select coalesce(sum(c.delta), 0) from BusSeatCounterSlot c where c.busId = b.id), " +
+            "b.totalSeats, b.price) " +
+            "from Bus b ";
+
+    /** One trip-index lookup: equal stops and date, returned in departure order. */
+    @Query(SUMMARY +
+           "where b.originKey = :originKey and b.destinationKey = :destinationKey and b.travelDate = :travelDate " +
+           "order by b.departureClock, b.id")
+    List<BusSummaryDTO> findTrips(@Param("originKey") String originKey,
+                                  @Param("destinationKey") String destinationKey,
+                                  @Param("travelDate") LocalDate travelDate);
+
+    /** Range scan over the trip index from {@code fromDate} on, in date and departure order. */
+    @Query(SUMMARY +
+           "where b.originKey = :originKey and b.destinationKey = :destinationKey and b.travelDate >= :fromDate " +
+           "order by b.travelDate, b.departureClock, b.id")
+    List<BusSummaryDTO> findTripsFrom(@Param("originKey") String originKey,
+                                      @Param("destinationKey") String destinationKey,
+                                      @Param("fromDate") LocalDate fromDate);
+
+    @Query(SUMMARY + "where b.id in :busIds order by b.id")
+    List<BusSummaryDTO> findSummariesById(@Param("busIds") List<Long> busIds);
+
+    @Query(SUMMARY + "where b.id = :busId")
+    Optional<BusSummaryDTO> findSummaryById(@Param("busId") Long busId);
+
+    /**
+     * {@code [busId, totalSeats, seatChecksum]} of the given buses, the checksum with
+     * what the counter slots still hold added in; see {@link AvailableSeatCounter}.
+     */
+    @Query("select b.id, b.totalSeats, b.seatChecksum + " +
+           "(select coalesce(sum(c.checksum), 0) from BusSeatCounterSlot c where c.busId = b.id) " +
+           "from Bus b where b.id in :busIds")
+    List<Object[]> findSeatChecksums(@Param("busIds") Collection<Long> busIds);
+
+    /** Buses saved before the trip columns existed. */
+    List<Bus> findByTravelDateIsNullAndDepartureDateIsNotNull();
 }
@@ -0,0 +1,13 @@
+package BusManagementBooking.bus.buses;
+
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** Queries of {@link BusRepository} whose where clause depends on the filters given. */
+public interface BusRepositoryCustom {
+
+    /** One page of buses in id order, starting after {@code cursor}; null filters are left out of the statement. */
+    List<BusSummaryDTO> findPage(String originKey, String destinationKey, LocalDate travelDate, Long cursor, Pageable window);
+}
@@ -0,0 +1,25 @@
+package BusManagementBooking.bus.buses;
+
+import BusManagementBooking.bus.common.KeysetQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+class BusRepositoryImpl implements BusRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BusSummaryDTO> findPage(String originKey, String destinationKey, LocalDate travelDate, Long cursor, Pageable window) {
+        return new KeysetQuery(BusRepository.SUMMARY)
+                .where("b.originKey = :originKey", "originKey", originKey)
+                .where("b.destinationKey = :destinationKey", "destinationKey", destinationKey)
+                .where("b.travelDate = :travelDate", "travelDate", travelDate)
+                .where("b.id > :cursor", "cursor", cursor)
+                .list(entityManager, BusSummaryDTO.class, "b.id", window);
+    }
+}
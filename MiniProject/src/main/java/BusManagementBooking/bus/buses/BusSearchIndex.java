@@ -0,0 +1,168 @@
+package BusManagementBooking.bus.buses;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * In-memory trigram index over bus names and routes for {@code /bus/search}.
+ *
+ * Every lower-cased name and route is split into its 3-character substrings, and
+ * each trigram maps to the ids of the buses containing it. A search term is split
+ * the same way and the posting sets are intersected, smallest first; the few
+ * candidates left are then checked for the actual substring, since sharing all
+ * trigrams does not guarantee it. Terms shorter than a trigram are checked against
+ * the in-memory texts directly. No search touches the database.
+ *
+ * Loaded once at startup and kept current by {@link BusServiceImpl} on add, update
+ * and delete; this assumes buses are only changed through this application.
+ */
+@Component
+public class BusSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusSearchIndex.class);
+
+    private static final int GRAM = 3;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<Long>> nameGrams = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<Long>> routeGrams = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void load() {
+        List<Bus> buses = busRepository.findAll();
+        buses.forEach(this::put);
+        logger.info("Indexed {} buses for search ({} name and {} route trigrams)",
+                buses.size(), nameGrams.size(), routeGrams.size());
+    }
+
+    /** Adds a bus or re-indexes it after its name or route changed. */
+    public synchronized void put(Bus bus) {
+        if (bus == null || bus.getId() == null) {
+            return;
+        }
+        Entry entry = new Entry(normalize(bus.getName()), normalize(bus.getRoute()));
+        Entry previous = entries.put(bus.getId(), entry);
+        if (previous != null) {
+            unindex(nameGrams, previous.name, bus.getId());
+            unindex(routeGrams, previous.route, bus.getId());
+        }
+        index(nameGrams, entry.name, bus.getId());
+        index(routeGrams, entry.route, bus.getId());
+    }
+
+    public synchronized void remove(Long busId) {
+        Entry previous = entries.remove(busId);
+        if (previous != null) {
+            unindex(nameGrams, previous.name, busId);
+            unindex(routeGrams, previous.route, busId);
+        }
+    }
+
+    /**
+     * Ids, in ascending order, of the buses whose name contains {@code name} and whose
+     * route contains {@code route}, ignoring case. A null or empty term matches any bus.
+     */
+    public List<Long> search(String name, String route) {
+        Set<Long> result = null;
+        if (name != null && !name.isEmpty()) {
+            result = match(nameGrams, entry -> entry.name, normalize(name), null);
+        }
+        if (route != null && !route.isEmpty()) {
+            result = match(routeGrams, entry -> entry.route, normalize(route), result);
+        }
+        return new ArrayList<>(result != null ? result : new TreeSet<>(entries.keySet()));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /** Buses matching {@code term} in one field, limited to {@code within} when given. */
+    private Set<Long> match(ConcurrentMap<String, Set<Long>> grams, Function<Entry, String> text,
+                            String term, Set<Long> within) {
+        Set<Long> candidates;
+        if (term.length() < GRAM) {
+            candidates = within != null ? within : entries.keySet();
+        } else {
+            List<Set<Long>> postings = new ArrayList<>();
+            if (within != null) {
+                postings.add(within);
+            }
+            for (String gram : grams(term)) {
+                Set<Long> posting = grams.get(gram);
+                if (posting == null) {
+                    return new TreeSet<>();
+                }
+                postings.add(posting);
+            }
+            postings.sort(Comparator.comparingInt(Set::size));
+            candidates = new HashSet<>(postings.get(0));
+            for (int i = 1; i < postings.size() && !candidates.isEmpty(); i++) {
+                candidates.retainAll(postings.get(i));
+            }
+        }
+
+        Set<Long> result = new TreeSet<>();
+        for (Long busId : candidates) {
+            Entry entry = entries.get(busId);
+            if (entry != null && text.apply(entry).contains(term)) {
+                result.add(busId);
+            }
+        }
+        return result;
+    }
+
+    private static void index(ConcurrentMap<String, Set<Long>> grams, String text, Long busId) {
+        for (String gram : grams(text)) {
+            grams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(busId);
+        }
+    }
+
+    private static void unindex(ConcurrentMap<String, Set<Long>> grams, String text, Long busId) {
+        for (String gram : grams(text)) {
+            grams.computeIfPresent(gram, (key, posting) -> {
+                posting.remove(busId);
+                return posting.isEmpty() ? null : posting;
+            });
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final String route;
+
+        private Entry(String name, String route) {
+            this.name = name;
+            this.route = route;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package BusManagementBooking.bus.buses;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * One stripe of a bus's available-seat counter: a change not yet folded into
+ * {@code buses.available_seats}. Written and compacted by {@link AvailableSeatCounter}
+ * with plain SQL; mapped here so the table exists wherever the schema is generated.
+ */
+@Entity
+@Table(name = "bus_seat_counter_slots")
+@IdClass(BusSeatCounterSlot.Key.class)
+public class BusSeatCounterSlot {
+
+    @Id
+    @Column(name = "bus_id")
+    private Long busId;
+
+    @Id
+    @Column(name = "slot_no")
+    private Integer slotNo;
+
+    @Column(name = "delta", nullable = false)
+    private int delta;
+
+    @Column(name = "checksum", nullable = false)
+    private long checksum;
+
+    public Long getBusId() {
+        return busId;
+    }
+
+    public Integer getSlotNo() {
+        return slotNo;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+
+    public long getChecksum() {
+        return checksum;
+    }
+
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long busId;
+        private Integer slotNo;
+
+        public Key() {}
+
+        public Key(Long busId, Integer slotNo) {
+            this.busId = busId;
+            this.slotNo = slotNo;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(busId, key.busId) && Objects.equals(slotNo, key.slotNo);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(busId, slotNo);
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package BusManagementBooking.bus.buses;
 
+import BusManagementBooking.bus.common.KeysetPage;
+
 import java.util.List;
 import java.util.Optional;
 
 public interface BusService {
     Bus addBus(BusAddRequestDTO busAddRequestDTO);
-    List<Bus> getBuses();
+    KeysetPage<BusSummaryDTO> getBusPage(String from, String to, String date, Long cursor, Integer limit, boolean withSeats);
     Optional<Bus> getBusById(Long busId);
-    List<Bus> searchBuses(String name, String route, String departure, String arrival);
+    Optional<BusSummaryDTO> getBusSummary(Long busId, boolean withSeats);
+    List<BusSummaryDTO> searchBuses(String name, String route, String departure, String arrival);
+    List<BusSummaryDTO> findTrips(String from, String to, String date);
+    List<BusSuggestionDTO> suggest(String prefix, Integer limit);
     void deleteBus(Long busId);
     Bus updateBus(Long busId, BusAddRequestDTO busUpdateRequestDTO);
 }
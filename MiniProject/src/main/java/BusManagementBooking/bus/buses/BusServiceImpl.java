@@ -1,17 +1,49 @@
 package BusManagementBooking.bus.buses;
 
+import BusManagementBooking.bus.booking.UserTripStore;
+import BusManagementBooking.bus.common.KeysetPage;
+import BusManagementBooking.bus.journey.JourneyPlanner;
+import BusManagementBooking.bus.seats.SeatInventory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class BusServiceImpl implements BusService {
 
+    private static final Logger logger = LoggerFactory.getLogger(BusServiceImpl.class);
+
     @Autowired
     private BusRepository busRepository;
 
+    @Autowired
+    private UserTripStore userTripStore;
+    
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private BusSearchIndex busSearchIndex;
+
+    @Autowired
+    private BusSuggestIndex busSuggestIndex;
+
+    @Autowired
+    private BusCache busCache;
+
+    @Autowired
+    private JourneyPlanner journeyPlanner;
+
+    @Autowired
+    private AvailableSeatCounter availableSeatCounter;
+
     @Override
     public Bus addBus(BusAddRequestDTO busAddRequestDTO) {
         // Ensure the departure date is in dd-mm-yyyy format
@@ -45,49 +77,125 @@ public class BusServiceImpl implements BusService {
                 busAddRequestDTO.getTotalSeats(),
                 new BigDecimal(busAddRequestDTO.getPrice())
         );
-        return busRepository.save(bus);
+        Bus saved = busRepository.save(bus);
+        busSearchIndex.put(saved);
+        busSuggestIndex.put(saved);
+        journeyPlanner.put(saved);
+        return saved;
     }
 
     @Override
-    public List<Bus> getBuses() {
-        return busRepository.findAll();
+    public KeysetPage<BusSummaryDTO> getBusPage(String from, String to, String date, Long cursor, Integer limit, boolean withSeats) {
+        LocalDate travelDate = null;
+        if (date != null && !date.isBlank()) {
+            travelDate = TripKeys.date(date);
+            if (travelDate == null) {
+                throw new IllegalArgumentException("Invalid date: " + date + ". Use dd-mm-yyyy or yyyy-mm-dd");
+            }
+        }
+        int size = KeysetPage.limit(limit);
+        List<BusSummaryDTO> rows = busRepository.findPage(TripKeys.key(from), TripKeys.key(to), travelDate, cursor, KeysetPage.window(size));
+        KeysetPage<BusSummaryDTO> page = KeysetPage.of(rows, size, BusSummaryDTO::getId).map(this::withLoadedSeats);
+        return withSeats ? page.map(this::withSeats) : page;
     }
     
     @Override
     public Optional<Bus> getBusById(Long busId) {
         return busRepository.findById(busId);
     }
+
+    @Override
+    public Optional<BusSummaryDTO> getBusSummary(Long busId, boolean withSeats) {
+        Optional<BusSummaryDTO> bus = busRepository.findSummaryById(busId).map(this::withLoadedSeats);
+        return withSeats ? bus.map(this::withSeats) : bus;
+    }
+
+    private BusSummaryDTO withSeats(BusSummaryDTO bus) {
+        return new BusDetailDTO(bus, seatInventory.getSeats(bus.getId()));
+    }
+
+    /** Takes availability from the seat inventory when the bus is loaded; see {@link SeatInventory}. */
+    private BusSummaryDTO withLoadedSeats(BusSummaryDTO bus) {
+        seatInventory.loadedAvailable(bus.getId()).ifPresent(bus::setAvailableSeats);
+        return bus;
+    }
+
+    private List<BusSummaryDTO> withLoadedSeats(List<BusSummaryDTO> buses) {
+        buses.forEach(this::withLoadedSeats);
+        return buses;
+    }
     
+    /**
+     * Name and route filters are answered from {@link BusSearchIndex}; only the
+     * matching buses are then loaded, by primary key.
+     */
     @Override
-    public List<Bus> searchBuses(String name, String route, String departure, String arrival) {
+    public List<BusSummaryDTO> searchBuses(String name, String route, String departure, String arrival) {
         boolean hasName = name != null && !name.isEmpty();
         boolean hasRoute = route != null && !route.isEmpty();
         
-        // Both name and route provided
-        if (hasName && hasRoute) {
-            List<Bus> routeResults = busRepository.findByRouteContainingIgnoreCase(route);
-            return routeResults.stream()
-                .filter(bus -> bus.getName().toLowerCase().contains(name.toLowerCase()))
-                .toList();
+        // No parameters - the first page of buses, as GET /bus does, not the whole table
+        if (!hasName && !hasRoute) {
+            return getBusPage(null, null, null, null, null, false).getItems();
         }
         
-        // Only name provided
-        if (hasName) {
-            return busRepository.findByNameContainingIgnoreCase(name);
+        List<Long> busIds = busSearchIndex.search(name, route);
+        if (busIds.isEmpty()) {
+            return List.of();
         }
-        
-        // Only route provided
-        if (hasRoute) {
-            return busRepository.findByRouteContainingIgnoreCase(route);
+        return withLoadedSeats(busRepository.findSummariesById(busIds));
+    }
+
+    /** Autocomplete for the search box, answered from {@link BusSuggestIndex}. */
+    @Override
+    public List<BusSuggestionDTO> suggest(String prefix, Integer limit) {
+        int size = limit == null || limit < 1 ? BusSuggestIndex.DEFAULT_LIMIT : Math.min(limit, BusSuggestIndex.MAX_LIMIT);
+        return busSuggestIndex.suggest(prefix, size);
+    }
+
+    /**
+     * Buses by origin, destination and (optionally) date, via the trip index. Without
+     * a date, every trip from today on is returned in date order.
+     */
+    @Override
+    public List<BusSummaryDTO> findTrips(String from, String to, String date) {
+        String originKey = TripKeys.key(from);
+        String destinationKey = TripKeys.key(to);
+        if (originKey == null || destinationKey == null) {
+            throw new IllegalArgumentException("Both from and to are required");
+        }
+        if (date == null || date.isBlank()) {
+            return withLoadedSeats(busRepository.findTripsFrom(originKey, destinationKey, LocalDate.now()));
+        }
+        LocalDate travelDate = TripKeys.date(date);
+        if (travelDate == null) {
+            throw new IllegalArgumentException("Invalid date: " + date + ". Use dd-mm-yyyy or yyyy-mm-dd");
+        }
+        return withLoadedSeats(busRepository.findTrips(originKey, destinationKey, travelDate));
+    }
+
+    /** Fills the trip index columns of buses saved before they existed. */
+    @EventListener(ApplicationStartedEvent.class)
+    public void backfillTripColumns() {
+        List<Bus> buses = busRepository.findByTravelDateIsNullAndDepartureDateIsNotNull();
+        buses.forEach(Bus::refreshTripColumns);
+        busRepository.saveAll(buses);
+        buses.forEach(busSuggestIndex::put);
+        buses.forEach(journeyPlanner::put);
+        if (!buses.isEmpty()) {
+            logger.info("Filled trip index columns for {} buses", buses.size());
         }
-        
-        // No parameters - return all buses
-        return busRepository.findAll();
     }
 
     @Override
     public void deleteBus(Long busId) {
         busRepository.deleteById(busId);
+        userTripStore.busRemoved(busId);
+        busCache.invalidate(busId);
+        seatInventory.evict(busId);
+        busSearchIndex.remove(busId);
+        busSuggestIndex.remove(busId);
+        journeyPlanner.remove(busId);
     }
 
     @Override
@@ -100,10 +208,21 @@ public class BusServiceImpl implements BusService {
             bus.setDepartureDate(busUpdateRequestDTO.getDepartureDate());
             bus.setDepartureTime(busUpdateRequestDTO.getDepartureTime());
             bus.setArrivalTime(busUpdateRequestDTO.getArrivalTime());
-            bus.setAvailableSeats(busUpdateRequestDTO.getAvailableSeats());
             bus.setTotalSeats(busUpdateRequestDTO.getTotalSeats());
             bus.setPrice(new BigDecimal(busUpdateRequestDTO.getPrice()));
-            return busRepository.save(bus);
+            Bus saved = busRepository.save(bus);
+            // Set against the counter slots as they are when written, not as they were loaded.
+            // A bus with seats counts its availability from them; the figure is only taken for one without.
+            if (busUpdateRequestDTO.getAvailableSeats() != null && seatInventory.counts(busId).getTotal() == 0) {
+                availableSeatCounter.set(busId, busUpdateRequestDTO.getAvailableSeats());
+                saved = busRepository.findById(busId).orElse(saved);
+            }
+            busCache.invalidate(busId);
+            userTripStore.busChanged(busId);
+            busSearchIndex.put(saved);
+            busSuggestIndex.put(saved);
+            journeyPlanner.put(saved);
+            return saved;
         }
         return null;
     }
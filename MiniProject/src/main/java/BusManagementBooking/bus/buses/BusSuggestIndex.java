@@ -0,0 +1,191 @@
+package BusManagementBooking.bus.buses;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory prefix index of route strings, stop names and bus names for
+ * {@code /bus/suggest}.
+ *
+ * Each distinct term is stored once in a sorted map under its lookup key (see
+ * {@link TripKeys#key}), together with the departures of the buses that carry it.
+ * A prefix query is a range scan of that map; the matches are ranked by how many
+ * departures they have from now on, then by the soonest one. Each term keeps its
+ * upcoming count and departures in order, dropping the ones that have passed as
+ * time moves on, so ranking a term does not walk its buses; the best {@code limit}
+ * matches are kept in a bounded heap. No query touches the database.
+ *
+ * Loaded once at startup and kept current by {@link BusServiceImpl} on add, update
+ * and delete, like {@link BusSearchIndex}.
+ */
+@Component
+public class BusSuggestIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusSuggestIndex.class);
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    // Stands in for a bus whose date or time could not be parsed; never upcoming
+    private static final LocalDateTime UNSCHEDULED = LocalDateTime.MIN;
+
+    private static final Comparator<BusSuggestionDTO> RANK =
+            Comparator.comparingInt(BusSuggestionDTO::getUpcomingDepartures).reversed()
+                    .thenComparing(BusSuggestionDTO::getNextDeparture, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(BusSuggestionDTO::getText, String.CASE_INSENSITIVE_ORDER);
+
+    @Autowired
+    private BusRepository busRepository;
+
+    // "<key>\0<type>", so a stop and a bus with the same name stay separate entries
+    private final ConcurrentSkipListMap<String, Term> terms = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<Long, Set<String>> termsByBus = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void load() {
+        List<Bus> buses = busRepository.findAll();
+        buses.forEach(this::put);
+        logger.info("Indexed {} suggestion terms from {} buses", terms.size(), buses.size());
+    }
+
+    /** Adds a bus or re-indexes it after its name, route or departure changed. */
+    public synchronized void put(Bus bus) {
+        if (bus == null || bus.getId() == null) {
+            return;
+        }
+        remove(bus.getId());
+        LocalDateTime departure = departureOf(bus);
+        Set<String> keys = new LinkedHashSet<>();
+        add(keys, bus.getRoute(), BusSuggestionDTO.Type.ROUTE, bus.getId(), departure);
+        for (String stop : TripKeys.allStops(bus.getRoute())) {
+            add(keys, stop, BusSuggestionDTO.Type.STOP, bus.getId(), departure);
+        }
+        add(keys, bus.getName(), BusSuggestionDTO.Type.BUS, bus.getId(), departure);
+        termsByBus.put(bus.getId(), keys);
+    }
+
+    public synchronized void remove(Long busId) {
+        Set<String> keys = termsByBus.remove(busId);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            terms.computeIfPresent(key, (k, term) -> term.remove(busId) ? null : term);
+        }
+    }
+
+    /** Up to {@code limit} terms starting with {@code prefix}, ignoring case, best ranked first. */
+    public List<BusSuggestionDTO> suggest(String prefix, int limit) {
+        String key = TripKeys.key(prefix);
+        if (key == null || limit <= 0) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Worst of the best so far at the head
+        PriorityQueue<BusSuggestionDTO> best = new PriorityQueue<>(limit + 1, RANK.reversed());
+        for (Term term : terms.subMap(key, true, key + Character.MAX_VALUE, false).values()) {
+            best.add(term.rank(now));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<BusSuggestionDTO> matches = new ArrayList<>(best);
+        matches.sort(RANK);
+        return matches;
+    }
+
+    int size() {
+        return terms.size();
+    }
+
+    private void add(Set<String> keys, String text, BusSuggestionDTO.Type type, Long busId, LocalDateTime departure) {
+        String key = TripKeys.key(text);
+        if (key == null) {
+            return;
+        }
+        String termKey = key + '\0' + type;
+        terms.computeIfAbsent(termKey, k -> new Term(text.trim(), type)).put(busId, departure);
+        keys.add(termKey);
+    }
+
+    private static LocalDateTime departureOf(Bus bus) {
+        if (bus.getTravelDate() == null) {
+            return UNSCHEDULED;
+        }
+        LocalTime clock = bus.getDepartureClock() != null ? bus.getDepartureClock() : LocalTime.MIDNIGHT;
+        return bus.getTravelDate().atTime(clock);
+    }
+
+    private static final class Term {
+        private final String text;
+        private final BusSuggestionDTO.Type type;
+        private final Map<Long, LocalDateTime> departures = new HashMap<>();
+        // Departures not yet seen to have passed, with the number of buses at each
+        private final TreeMap<LocalDateTime, Integer> ahead = new TreeMap<>();
+        private int upcoming;
+
+        private Term(String text, BusSuggestionDTO.Type type) {
+            this.text = text;
+            this.type = type;
+        }
+
+        synchronized void put(Long busId, LocalDateTime departure) {
+            LocalDateTime previous = departures.put(busId, departure);
+            if (previous != null) {
+                unschedule(previous);
+            }
+            if (departure != UNSCHEDULED) {
+                ahead.merge(departure, 1, Integer::sum);
+                upcoming++;
+            }
+        }
+
+        /** Removes a bus; returns whether the term has no buses left. */
+        synchronized boolean remove(Long busId) {
+            LocalDateTime departure = departures.remove(busId);
+            if (departure != null) {
+                unschedule(departure);
+            }
+            return departures.isEmpty();
+        }
+
+        private void unschedule(LocalDateTime departure) {
+            Integer count = ahead.get(departure);
+            if (count == null) {
+                // Already passed and dropped from the count, or never scheduled
+                return;
+            }
+            if (count > 1) {
+                ahead.put(departure, count - 1);
+            } else {
+                ahead.remove(departure);
+            }
+            upcoming--;
+        }
+
+        synchronized BusSuggestionDTO rank(LocalDateTime now) {
+            while (!ahead.isEmpty() && ahead.firstKey().isBefore(now)) {
+                upcoming -= ahead.pollFirstEntry().getValue();
+            }
+            return new BusSuggestionDTO(text, type, upcoming, ahead.isEmpty() ? null : ahead.firstKey());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package BusManagementBooking.bus.buses;
+
+import java.time.LocalDateTime;
+
+/** One autocomplete entry of {@code /bus/suggest}. */
+public class BusSuggestionDTO {
+
+    public enum Type {
+        ROUTE, STOP, BUS
+    }
+
+    private String text;
+    private Type type;
+    private int upcomingDepartures;
+    private LocalDateTime nextDeparture;
+
+    public BusSuggestionDTO() {}
+
+    public BusSuggestionDTO(String text, Type type, int upcomingDepartures, LocalDateTime nextDeparture) {
+        this.text = text;
+        this.type = type;
+        this.upcomingDepartures = upcomingDepartures;
+        this.nextDeparture = nextDeparture;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public int getUpcomingDepartures() {
+        return upcomingDepartures;
+    }
+
+    public void setUpcomingDepartures(int upcomingDepartures) {
+        this.upcomingDepartures = upcomingDepartures;
+    }
+
+    public LocalDateTime getNextDeparture() {
+        return nextDeparture;
+    }
+
+    public void setNextDeparture(LocalDateTime nextDeparture) {
+        this.nextDeparture = nextDeparture;
+    }
+
+    @Override
+    public String toString() {
+        return type + ":" + text;
+    }
+}
@@ -0,0 +1,168 @@
+package BusManagementBooking.bus.buses;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The scalar fields of a bus, as listings return them. Read with a constructor
+ * expression (see {@link BusRepository}), so no seats or bookings are loaded.
+ */
+public class BusSummaryDTO {
+    private Long id;
+    private String name;
+    private String route;
+    private String departureDate;
+    private String departureTime;
+    private String arrivalTime;
+    private String origin;
+    private String destination;
+    private LocalDate travelDate;
+    private LocalTime departureClock;
+    private Integer availableSeats;
+    private Integer totalSeats;
+    private BigDecimal price;
+
+    public BusSummaryDTO() {}
+
+    /** Query constructor; {@code pendingSeatDelta} is what the striped counter still holds (see {@link AvailableSeatCounter}). */
+    public BusSummaryDTO(Long id, String name, String route, String departureDate, String departureTime, String arrivalTime,
+                         String origin, String destination, LocalDate travelDate, LocalTime departureClock,
+                         Integer availableSeats, Long pendingSeatDelta, Integer totalSeats, BigDecimal price) {
+        this.id = id;
+        this.name = name;
+        this.route = route;
+        this.departureDate = departureDate;
+        this.departureTime = departureTime;
+        this.arrivalTime = arrivalTime;
+        this.origin = origin;
+        this.destination = destination;
+        this.travelDate = travelDate;
+        this.departureClock = departureClock;
+        this.availableSeats = availableSeats == null || pendingSeatDelta == null ? availableSeats : availableSeats + pendingSeatDelta.intValue();
+        this.totalSeats = totalSeats;
+        this.price = price;
+    }
+
+    /** Copy constructor for {@link BusDetailDTO}. */
+    protected BusSummaryDTO(BusSummaryDTO other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.route = other.route;
+        this.departureDate = other.departureDate;
+        this.departureTime = other.departureTime;
+        this.arrivalTime = other.arrivalTime;
+        this.origin = other.origin;
+        this.destination = other.destination;
+        this.travelDate = other.travelDate;
+        this.departureClock = other.departureClock;
+        this.availableSeats = other.availableSeats;
+        this.totalSeats = other.totalSeats;
+        this.price = other.price;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public void setRoute(String route) {
+        this.route = route;
+    }
+
+    public String getDepartureDate() {
+        return departureDate;
+    }
+
+    public void setDepartureDate(String departureDate) {
+        this.departureDate = departureDate;
+    }
+
+    public String getDepartureTime() {
+        return departureTime;
+    }
+
+    public void setDepartureTime(String departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    public String getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public void setArrivalTime(String arrivalTime) {
+        this.arrivalTime = arrivalTime;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    public LocalDate getTravelDate() {
+        return travelDate;
+    }
+
+    public void setTravelDate(LocalDate travelDate) {
+        this.travelDate = travelDate;
+    }
+
+    public LocalTime getDepartureClock() {
+        return departureClock;
+    }
+
+    public void setDepartureClock(LocalTime departureClock) {
+        this.departureClock = departureClock;
+    }
+
+    public Integer getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public void setAvailableSeats(Integer availableSeats) {
+        this.availableSeats = availableSeats;
+    }
+
+    public Integer getTotalSeats() {
+        return totalSeats;
+    }
+
+    public void setTotalSeats(Integer totalSeats) {
+        this.totalSeats = totalSeats;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+}
@@ -0,0 +1,101 @@
+package BusManagementBooking.bus.buses;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the free-text trip fields of a {@link Bus} into the structured values
+ * behind the trip index. Unparseable input yields null rather than an error, so a
+ * bus with an odd route or time is simply not found by {@code /bus/trips}.
+ */
+public final class TripKeys {
+
+    // "Chennai - Bangalore", "Chennai to Bangalore", "Chennai → Bangalore"
+    private static final Pattern STOP_SEPARATOR = Pattern.compile("\\s+-\\s+|\\s*→\\s*|\\s+to\\s+", Pattern.CASE_INSENSITIVE);
+    // "Chennai-Bangalore", only when the route has no separator above, so that
+    // hyphenated names such as "Navi Mumbai - Sawantwadi-Road" stay whole
+    private static final Pattern BARE_HYPHEN = Pattern.compile("-");
+
+    private static final DateTimeFormatter DAY_FIRST = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final DateTimeFormatter[] TIMES = {
+            DateTimeFormatter.ofPattern("H:mm"),
+            DateTimeFormatter.ofPattern("h:mm a", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("h:mma", Locale.ENGLISH),
+    };
+
+    private TripKeys() {
+    }
+
+    /** The first and last stop of a route, as written; null if it names fewer than two. */
+    static String[] stops(String route) {
+        if (route == null) {
+            return null;
+        }
+        String[] parts = split(route.trim());
+        String origin = parts[0].trim();
+        String destination = parts[parts.length - 1].trim();
+        if (parts.length < 2 || origin.isEmpty() || destination.isEmpty()) {
+            return null;
+        }
+        return new String[] {origin, destination};
+    }
+
+    /** Every stop a route names, in order and as written; empty when there is no route. */
+    static List<String> allStops(String route) {
+        List<String> stops = new ArrayList<>();
+        if (route == null) {
+            return stops;
+        }
+        for (String part : split(route.trim())) {
+            if (!part.isBlank()) {
+                stops.add(part.trim());
+            }
+        }
+        return stops;
+    }
+
+    private static String[] split(String route) {
+        return STOP_SEPARATOR.matcher(route).find() ? STOP_SEPARATOR.split(route) : BARE_HYPHEN.split(route);
+    }
+
+    /** Lookup key of a stop name: trimmed, single-spaced and lower-cased. */
+    public static String key(String stop) {
+        if (stop == null || stop.isBlank()) {
+            return null;
+        }
+        return stop.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /** Accepts the stored dd-mm-yyyy form as well as ISO yyyy-mm-dd. */
+    public static LocalDate date(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        try {
+            return date.matches("\\d{4}-\\d{2}-\\d{2}") ? LocalDate.parse(date) : LocalDate.parse(date.trim(), DAY_FIRST);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    public static LocalTime time(String time) {
+        if (time == null || time.isBlank()) {
+            return null;
+        }
+        String trimmed = time.trim().toUpperCase(Locale.ROOT);
+        for (DateTimeFormatter format : TIMES) {
+            try {
+                return LocalTime.parse(trimmed, format);
+            } catch (DateTimeParseException e) {
+                // try the next form
+            }
+        }
+        return null;
+    }
+}
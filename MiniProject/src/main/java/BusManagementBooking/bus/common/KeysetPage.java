@@ -0,0 +1,69 @@
+package BusManagementBooking.bus.common;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * Listings are ordered by id and a page starts right after the id of the previous
+ * page's last item ({@code nextCursor}), so each page is an index range scan of
+ * {@code limit + 1} rows however deep the client scrolls, and rows inserted or
+ * deleted meanwhile never shift or repeat items. {@code nextCursor} is null on
+ * the last page.
+ */
+public class KeysetPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final List<T> items;
+    private final Long nextCursor;
+
+    private KeysetPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /** Page size asked for, defaulted and capped. */
+    public static int limit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    /** Fetches one row more than the page holds, to tell whether another page follows. */
+    public static Pageable window(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    /** Builds the page from rows fetched with {@link #window(int)}, in listing order. */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(List.copyOf(items), idOf.apply(items.get(limit - 1)));
+    }
+
+    /** The same page with every item converted, e.g. expanded with related data. */
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
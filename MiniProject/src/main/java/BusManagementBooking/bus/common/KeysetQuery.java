@@ -0,0 +1,52 @@
+package BusManagementBooking.bus.common;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPQL for one {@link KeysetPage}, with a condition for each filter that was given
+ * and none for the others.
+ *
+ * A fixed query has to spell an optional filter as {@code (:x is null or col = :x)},
+ * and the database plans that once for any binding, so it cannot pick the composite
+ * index that starts with the filters actually set. Leaving absent filters out of the
+ * statement keeps every predicate a plain comparison the index can range over.
+ */
+public final class KeysetQuery {
+
+    private final String select;
+    private final List<String> conditions = new ArrayList<>();
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+    /** {@code select} is the query up to (not including) its where clause. */
+    public KeysetQuery(String select) {
+        this.select = select;
+    }
+
+    /** Adds {@code condition}, with {@code value} bound to {@code :name}; skipped when the value is null. */
+    public KeysetQuery where(String condition, String name, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            parameters.put(name, value);
+        }
+        return this;
+    }
+
+    /** Runs the query in {@code orderBy} order, fetching the rows of {@link KeysetPage#window(int)}. */
+    public <T> List<T> list(EntityManager entityManager, Class<T> type, String orderBy, Pageable window) {
+        StringBuilder jpql = new StringBuilder(select);
+        if (!conditions.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", conditions));
+        }
+        jpql.append(" order by ").append(orderBy);
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), type);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(window.getPageSize()).getResultList();
+    }
+}
@@ -1,21 +1,16 @@
 package BusManagementBooking.bus.config;
 
 import BusManagementBooking.bus.buses.Bus;
-import BusManagementBooking.bus.buses.BusService;
 import BusManagementBooking.bus.seats.SeatInitRequestDTO;
+import BusManagementBooking.bus.seats.SeatLayout;
 import BusManagementBooking.bus.seats.SeatService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.event.ContextRefreshedEvent;
-import org.springframework.context.event.EventListener;
 
 @Configuration
 public class SeatInitializationConfig {
 
-    @Autowired
-    private BusService busService;
-
     @Autowired
     private SeatService seatService;
     
@@ -26,37 +21,27 @@ public class SeatInitializationConfig {
     private int pregnantSeatPercentage;
     
     /**
-     * Initialize seats for buses that don't have seat configurations
-     */
-    @EventListener
-    public void onApplicationEvent(ContextRefreshedEvent event) {
-        // This will run once when the application starts
-        busService.getBuses().forEach(this::initializeSeatsIfNeeded);
-    }
-    
-    /**
-     * Helper method to calculate seat distributions and initialize seats for a bus
+     * Helper method to calculate seat distributions and initialize seats for a bus.
+     * Returns false if initialization failed.
      */
-    public void initializeSeatsIfNeeded(Bus bus) {
+    public boolean initializeSeatsIfNeeded(Bus bus) {
         try {
             // Check if bus has total seats defined
             if (bus.getTotalSeats() == null || bus.getTotalSeats() <= 0) {
-                return;
+                return true;
             }
             
             int totalSeats = bus.getTotalSeats();
             
             // Calculate seats for each category
-            int elderSeats = (totalSeats * elderSeatPercentage) / 100;
-            int pregnantSeats = (totalSeats * pregnantSeatPercentage) / 100;
-            int regularSeats = totalSeats - elderSeats - pregnantSeats;
+            SeatLayout layout = SeatLayout.of(totalSeats, elderSeatPercentage, pregnantSeatPercentage);
             
             // Create a request DTO and initialize seats
             SeatInitRequestDTO initRequest = new SeatInitRequestDTO(
                 bus.getId(),
-                regularSeats,
-                elderSeats,
-                pregnantSeats
+                layout.getRegularSeats(),
+                layout.getElderSeats(),
+                layout.getPregnantSeats()
             );
             
             seatService.initializeSeatsForBus(
@@ -65,9 +50,11 @@ public class SeatInitializationConfig {
                 initRequest.getElderSeats(),
                 initRequest.getPregnantSeats()
             );
+            return true;
         } catch (Exception e) {
             // Log error but don't fail application startup
             System.err.println("Error initializing seats for bus ID " + bus.getId() + ": " + e.getMessage());
+            return false;
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,160 @@
+package BusManagementBooking.bus.config;
+
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusRepository;
+import BusManagementBooking.bus.seats.Seat;
+import BusManagementBooking.bus.seats.SeatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates seats at startup for buses that have none, or whose seat count no longer
+ * matches {@code totalSeats}. Buses that are already consistent are left alone, so
+ * their BOOKED and HELD seats survive a restart. A mismatched bus that has BOOKED or
+ * HELD seats is skipped and logged: re-initializing it would delete those seats.
+ *
+ * The seat counts of all buses come from one grouped query; the buses that need work
+ * are then initialized in parallel on a bounded pool. Runs happen in the background,
+ * the startup one included, so startup does not wait for them. Each run publishes
+ * {@link ReadinessState#REFUSING_TRAFFIC} before it starts and
+ * {@link ReadinessState#ACCEPTING_TRAFFIC} once it has finished; if Spring Boot
+ * reports the application ready while a run is still going, readiness is set back
+ * to refusing until it finishes.
+ */
+@Component
+public class SeatReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatReconciler.class);
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatInitializationConfig seatInitializationConfig;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${bus.seats.reconcile.threads:4}")
+    private int threads;
+
+    @Value("${bus.seats.storage:rows}")
+    private String seatStorage;
+
+    // Guarded by this, so a run finishing and a readiness change from elsewhere cannot interleave
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        reconcile();
+    }
+
+    /** Keeps readiness at refusing while a run is in progress, whoever reported the application ready. */
+    @EventListener
+    public synchronized void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && !ready) {
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        }
+    }
+
+    /**
+     * Starts a reconciliation run in the background, refusing traffic until it is done;
+     * the future completes when it has finished.
+     */
+    public CompletableFuture<Void> reconcile() {
+        long started = System.nanoTime();
+        refuseTraffic();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "seat-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger initialized = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        return CompletableFuture.supplyAsync(this::findInconsistentBuses, pool)
+                .thenCompose(pending -> {
+                    if (!pending.isEmpty()) {
+                        logger.info("Initializing seats for {} buses on {} threads", pending.size(), threads);
+                    }
+                    initialized.set(pending.size());
+                    return CompletableFuture.allOf(pending.stream()
+                            .map(bus -> CompletableFuture.runAsync(() -> {
+                                if (!seatInitializationConfig.initializeSeatsIfNeeded(bus)) {
+                                    failed.incrementAndGet();
+                                }
+                            }, pool))
+                            .toArray(CompletableFuture[]::new));
+                })
+                .whenComplete((result, error) -> {
+                    pool.shutdown();
+                    if (error != null) {
+                        logger.error("Seat reconciliation failed: {}", error.getMessage());
+                    }
+                    markReady(started, initialized.get(), failed.get());
+                });
+    }
+
+    private List<Bus> findInconsistentBuses() {
+        if ("virtual".equals(seatStorage)) {
+            // Virtual seats are derived from the layout; there is nothing to create
+            return List.of();
+        }
+        Map<Long, Long> seatCounts = new HashMap<>();
+        Map<Long, Long> takenCounts = new HashMap<>();
+        for (Object[] row : seatRepository.countSeatsByBus(Seat.SeatStatus.AVAILABLE)) {
+            seatCounts.put((Long) row[0], (Long) row[1]);
+            takenCounts.put((Long) row[0], ((Number) row[2]).longValue());
+        }
+        List<Bus> pending = new ArrayList<>();
+        for (Bus bus : busRepository.findAll()) {
+            if (bus.getTotalSeats() == null || bus.getTotalSeats() <= 0
+                    || seatCounts.getOrDefault(bus.getId(), 0L) == bus.getTotalSeats().longValue()) {
+                continue;
+            }
+            long taken = takenCounts.getOrDefault(bus.getId(), 0L);
+            if (taken > 0) {
+                logger.warn("Bus {} has {} seats for {} total but {} of them are booked or held; not re-initializing it",
+                        bus.getId(), seatCounts.get(bus.getId()), bus.getTotalSeats(), taken);
+                continue;
+            }
+            pending.add(bus);
+        }
+        return pending;
+    }
+
+    private synchronized void refuseTraffic() {
+        ready = false;
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+    }
+
+    private synchronized void markReady(long started, int initialized, int failed) {
+        ready = true;
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        logger.info("Seat reconciliation finished in {} ms: {} buses initialized, {} failed",
+                (System.nanoTime() - started) / 1_000_000, initialized - failed, failed);
+    }
+}
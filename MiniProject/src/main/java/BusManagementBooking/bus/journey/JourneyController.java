@@ -0,0 +1,36 @@
+package BusManagementBooking.bus.journey;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("journey")
+@CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true")
+public class JourneyController {
+
+    @Autowired
+    private JourneyService journeyService;
+
+    @GetMapping("/health")
+    public String checkAlive() {
+        return "Journey Controller is alive!";
+    }
+
+    /** Direct buses and connections with transfers, earliest arrival first for each departure. */
+    @GetMapping
+    public ResponseEntity<?> planJourneys(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String date,
+            @RequestParam(required = false) String time,
+            @RequestParam(required = false) Integer seats,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer minTransfer) {
+        try {
+            return ResponseEntity.ok(journeyService.planJourneys(from, to, date, time, seats, limit, minTransfer));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
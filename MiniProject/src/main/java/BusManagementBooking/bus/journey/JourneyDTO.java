@@ -0,0 +1,52 @@
+package BusManagementBooking.bus.journey;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** An itinerary of one or more buses returned by {@code /journey}. */
+public class JourneyDTO {
+
+    private List<JourneyLegDTO> legs;
+
+    public JourneyDTO() {}
+
+    public JourneyDTO(List<JourneyLegDTO> legs) {
+        this.legs = legs;
+    }
+
+    public List<JourneyLegDTO> getLegs() {
+        return legs;
+    }
+
+    public void setLegs(List<JourneyLegDTO> legs) {
+        this.legs = legs;
+    }
+
+    public LocalDateTime getDeparture() {
+        return legs.get(0).getDeparture();
+    }
+
+    public LocalDateTime getArrival() {
+        return legs.get(legs.size() - 1).getArrival();
+    }
+
+    public long getDurationMinutes() {
+        return Duration.between(getDeparture(), getArrival()).toMinutes();
+    }
+
+    public int getTransfers() {
+        return legs.size() - 1;
+    }
+
+    public BigDecimal getTotalPrice() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (JourneyLegDTO leg : legs) {
+            if (leg.getPrice() != null) {
+                total = total.add(leg.getPrice());
+            }
+        }
+        return total;
+    }
+}
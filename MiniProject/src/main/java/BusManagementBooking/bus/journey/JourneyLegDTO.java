@@ -0,0 +1,91 @@
+package BusManagementBooking.bus.journey;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** One bus ride of a {@link JourneyDTO}. */
+public class JourneyLegDTO {
+
+    private Long busId;
+    private String busName;
+    private String from;
+    private String to;
+    private LocalDateTime departure;
+    private LocalDateTime arrival;
+    private Integer availableSeats;
+    private BigDecimal price;
+
+    public JourneyLegDTO() {}
+
+    public JourneyLegDTO(Long busId, String from, String to, LocalDateTime departure, LocalDateTime arrival) {
+        this.busId = busId;
+        this.from = from;
+        this.to = to;
+        this.departure = departure;
+        this.arrival = arrival;
+    }
+
+    public Long getBusId() {
+        return busId;
+    }
+
+    public void setBusId(Long busId) {
+        this.busId = busId;
+    }
+
+    public String getBusName() {
+        return busName;
+    }
+
+    public void setBusName(String busName) {
+        this.busName = busName;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public LocalDateTime getDeparture() {
+        return departure;
+    }
+
+    public void setDeparture(LocalDateTime departure) {
+        this.departure = departure;
+    }
+
+    public LocalDateTime getArrival() {
+        return arrival;
+    }
+
+    public void setArrival(LocalDateTime arrival) {
+        this.arrival = arrival;
+    }
+
+    public Integer getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public void setAvailableSeats(Integer availableSeats) {
+        this.availableSeats = availableSeats;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+}
@@ -0,0 +1,314 @@
+package BusManagementBooking.bus.journey;
+
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Connection-scan journey planner over the bus schedule.
+ *
+ * Each bus is one connection from its origin to its destination stop. The
+ * timetable keeps them in parallel primitive arrays sorted by departure (times as
+ * minutes since the epoch, stops as small ints), so an earliest-arrival query is
+ * one forward pass from the first connection leaving after the requested time,
+ * tracking the best arrival per stop for each number of buses used. Changing
+ * buses at a stop needs {@code minTransfer} minutes.
+ *
+ * The timetable is an immutable snapshot swapped on every change: adding, moving
+ * or removing a bus copies the arrays around one insertion or deletion point
+ * instead of re-sorting, and queries never wait for writers. Loaded at startup
+ * and kept current by {@code BusServiceImpl}.
+ */
+@Component
+public class JourneyPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(JourneyPlanner.class);
+
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    // Stop ids only grow; a stop whose last bus is removed keeps its id
+    private final ConcurrentMap<String, Integer> stopIds = new ConcurrentHashMap<>();
+    private final List<String> stopNames = new ArrayList<>();
+    // Departure of every scheduled bus, to find its row again on update or removal
+    private final Map<Long, Integer> departures = new HashMap<>();
+
+    private volatile Timetable timetable = Timetable.EMPTY;
+
+    @PostConstruct
+    void load() {
+        List<Bus> buses = busRepository.findAll();
+        synchronized (this) {
+            buses.forEach(this::put);
+        }
+        logger.info("Journey timetable holds {} connections between {} stops", timetable.size, stopNames.size());
+    }
+
+    /** Adds a bus or moves it after its route or times changed; buses that cannot be scheduled are dropped. */
+    public synchronized void put(Bus bus) {
+        if (bus == null || bus.getId() == null) {
+            return;
+        }
+        remove(bus.getId());
+        LocalDateTime departure = bus.departsAt();
+        LocalDateTime arrival = bus.arrivesAt();
+        String origin = bus.getOriginKey();
+        String destination = bus.getDestinationKey();
+        if (departure == null || arrival == null || origin == null || destination == null || origin.equals(destination)) {
+            return;
+        }
+        int dep = minutes(departure);
+        timetable = timetable.insert(dep, minutes(arrival), stop(origin, bus.getOrigin()),
+                stop(destination, bus.getDestination()), bus.getId(), stopNames);
+        departures.put(bus.getId(), dep);
+    }
+
+    public synchronized void remove(Long busId) {
+        Integer dep = departures.remove(busId);
+        if (dep != null) {
+            timetable = timetable.delete(dep, busId);
+        }
+    }
+
+    /**
+     * Up to {@code limit} itineraries from {@code fromKey} to {@code toKey} (stop keys,
+     * see {@code TripKeys.key}) leaving at or after {@code after} and within
+     * {@code horizonMinutes}, using at most {@code maxLegs} buses. For each departure
+     * the scan keeps the earliest arrival per number of buses, so a slower direct bus
+     * is offered next to a faster connection; the scan is then repeated from just
+     * after the earliest first departure found. Results are ordered by arrival, then
+     * by fewer transfers. Buses rejected by {@code usable} are skipped.
+     */
+    public List<List<JourneyLegDTO>> plan(String fromKey, String toKey, LocalDateTime after, int minTransfer,
+                                          int horizonMinutes, int maxLegs, int limit, LongPredicate usable) {
+        Timetable snapshot = timetable;
+        Integer source = stopIds.get(fromKey);
+        Integer target = stopIds.get(toKey);
+        if (source == null || target == null || source.equals(target)
+                || source >= snapshot.stopCount() || target >= snapshot.stopCount()) {
+            return List.of();
+        }
+
+        Map<String, int[]> found = new LinkedHashMap<>();
+        int earliest = minutes(after);
+        int latest = earliest + horizonMinutes;
+        while (found.size() < limit) {
+            List<int[]> journeys = snapshot.paretoJourneys(source, target, earliest, latest, minTransfer, maxLegs, usable);
+            if (journeys.isEmpty()) {
+                break;
+            }
+            int firstDeparture = Integer.MAX_VALUE;
+            for (int[] path : journeys) {
+                found.putIfAbsent(Arrays.toString(path), path);
+                firstDeparture = Math.min(firstDeparture, snapshot.dep[path[0]]);
+            }
+            earliest = firstDeparture + 1;
+        }
+
+        List<int[]> ordered = new ArrayList<>(found.values());
+        ordered.sort(Comparator.<int[]>comparingInt(path -> snapshot.arr[path[path.length - 1]])
+                .thenComparingInt(path -> path.length)
+                .thenComparingInt(path -> -snapshot.dep[path[0]]));
+        List<List<JourneyLegDTO>> plans = new ArrayList<>();
+        for (int i = 0; i < ordered.size() && i < limit; i++) {
+            plans.add(snapshot.legs(ordered.get(i)));
+        }
+        return plans;
+    }
+
+    int connectionCount() {
+        return timetable.size;
+    }
+
+    private int stop(String key, String name) {
+        Integer id = stopIds.get(key);
+        if (id == null) {
+            id = stopNames.size();
+            stopNames.add(name != null ? name : key);
+            stopIds.put(key, id);
+        }
+        return id;
+    }
+
+    static int minutes(LocalDateTime time) {
+        return (int) (time.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    static LocalDateTime time(int minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60L, 0, ZoneOffset.UTC);
+    }
+
+    /** Connections sorted by (departure, bus id); never modified once published. */
+    private static final class Timetable {
+
+        private static final Timetable EMPTY = new Timetable(new int[0], new int[0], new int[0], new int[0], new long[0], new String[0]);
+
+        private final int[] dep;
+        private final int[] arr;
+        private final int[] from;
+        private final int[] to;
+        private final long[] bus;
+        private final String[] stopNames;
+        private final int size;
+
+        private Timetable(int[] dep, int[] arr, int[] from, int[] to, long[] bus, String[] stopNames) {
+            this.dep = dep;
+            this.arr = arr;
+            this.from = from;
+            this.to = to;
+            this.bus = bus;
+            this.stopNames = stopNames;
+            this.size = dep.length;
+        }
+
+        int stopCount() {
+            return stopNames.length;
+        }
+
+        Timetable insert(int departure, int arrival, int origin, int destination, long busId, List<String> names) {
+            int at = position(departure, busId);
+            Timetable next = new Timetable(new int[size + 1], new int[size + 1], new int[size + 1], new int[size + 1],
+                    new long[size + 1], names.toArray(new String[0]));
+            copyAround(next, at, 0, 1);
+            next.dep[at] = departure;
+            next.arr[at] = arrival;
+            next.from[at] = origin;
+            next.to[at] = destination;
+            next.bus[at] = busId;
+            return next;
+        }
+
+        Timetable delete(int departure, long busId) {
+            int at = position(departure, busId);
+            if (at >= size || dep[at] != departure || bus[at] != busId) {
+                return this;
+            }
+            Timetable next = new Timetable(new int[size - 1], new int[size - 1], new int[size - 1], new int[size - 1],
+                    new long[size - 1], stopNames);
+            copyAround(next, at, 1, 0);
+            return next;
+        }
+
+        /** Copies rows before {@code at} as they are and rows from {@code at + skip} on shifted by {@code gap - skip}. */
+        private void copyAround(Timetable next, int at, int skip, int gap) {
+            int tail = size - at - skip;
+            System.arraycopy(dep, 0, next.dep, 0, at);
+            System.arraycopy(dep, at + skip, next.dep, at + gap, tail);
+            System.arraycopy(arr, 0, next.arr, 0, at);
+            System.arraycopy(arr, at + skip, next.arr, at + gap, tail);
+            System.arraycopy(from, 0, next.from, 0, at);
+            System.arraycopy(from, at + skip, next.from, at + gap, tail);
+            System.arraycopy(to, 0, next.to, 0, at);
+            System.arraycopy(to, at + skip, next.to, at + gap, tail);
+            System.arraycopy(bus, 0, next.bus, 0, at);
+            System.arraycopy(bus, at + skip, next.bus, at + gap, tail);
+        }
+
+        /** First row not ordered before (departure, busId). */
+        private int position(int departure, long busId) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (dep[mid] < departure || (dep[mid] == departure && bus[mid] < busId)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * One forward scan with a bus budget: {@code reached[l * stops + s]} is the earliest
+         * arrival at stop s using at most l buses. Returns the rows, in riding order, of
+         * each journey that arrives earlier than every journey with fewer buses.
+         */
+        List<int[]> paretoJourneys(int source, int target, int earliest, int latest, int minTransfer,
+                                   int maxLegs, LongPredicate usable) {
+            int stops = stopNames.length;
+            int[] reached = new int[(maxLegs + 1) * stops];
+            int[] via = new int[(maxLegs + 1) * stops];
+            Arrays.fill(reached, UNREACHED);
+            Arrays.fill(via, -1);
+            for (int legs = 0; legs <= maxLegs; legs++) {
+                reached[legs * stops + source] = earliest;
+            }
+
+            for (int c = position(earliest, Long.MIN_VALUE); c < size && dep[c] <= latest; c++) {
+                // Nothing leaving after the best direct arrival can improve any budget
+                if (reached[stops + target] <= dep[c]) {
+                    break;
+                }
+                int at = from[c];
+                int ready = at == source ? 0 : minTransfer;
+                boolean checked = false;
+                for (int legs = 0; legs < maxLegs; legs++) {
+                    int before = reached[legs * stops + at];
+                    if (before == UNREACHED || dep[c] < before + ready || arr[c] >= reached[(legs + 1) * stops + to[c]]) {
+                        continue;
+                    }
+                    if (!checked && !usable.test(bus[c])) {
+                        break;
+                    }
+                    checked = true;
+                    // At most legs + 1 buses also means at most any larger number
+                    for (int budget = legs + 1; budget <= maxLegs && arr[c] < reached[budget * stops + to[c]]; budget++) {
+                        reached[budget * stops + to[c]] = arr[c];
+                        via[budget * stops + to[c]] = c;
+                    }
+                }
+            }
+
+            List<int[]> journeys = new ArrayList<>();
+            int best = UNREACHED;
+            for (int legs = 1; legs <= maxLegs; legs++) {
+                int arrival = reached[legs * stops + target];
+                if (arrival < best) {
+                    best = arrival;
+                    journeys.add(path(via, stops, source, target, legs));
+                }
+            }
+            return journeys;
+        }
+
+        private int[] path(int[] via, int stops, int source, int target, int legs) {
+            List<Integer> path = new ArrayList<>();
+            for (int stop = target, budget = legs; stop != source && budget > 0; budget--) {
+                int c = via[budget * stops + stop];
+                path.add(c);
+                stop = from[c];
+            }
+            Collections.reverse(path);
+            return path.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        List<JourneyLegDTO> legs(int[] path) {
+            List<JourneyLegDTO> legs = new ArrayList<>(path.length);
+            for (int c : path) {
+                legs.add(new JourneyLegDTO(bus[c], stopNames[from[c]], stopNames[to[c]], time(dep[c]), time(arr[c])));
+            }
+            return legs;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package BusManagementBooking.bus.journey;
+
+import java.util.List;
+
+public interface JourneyService {
+    List<JourneyDTO> planJourneys(String from, String to, String date, String time, Integer seats, Integer limit, Integer minTransferMinutes);
+}
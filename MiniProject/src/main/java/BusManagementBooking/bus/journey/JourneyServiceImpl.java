@@ -0,0 +1,93 @@
+package BusManagementBooking.bus.journey;
+
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusCache;
+import BusManagementBooking.bus.buses.TripKeys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class JourneyServiceImpl implements JourneyService {
+
+    static final int DEFAULT_LIMIT = 3;
+    static final int MAX_LIMIT = 10;
+
+    @Autowired
+    private JourneyPlanner journeyPlanner;
+
+    @Autowired
+    private BusCache busCache;
+
+    @Value("${bus.journey.min-transfer-minutes:15}")
+    private int defaultMinTransfer;
+
+    @Value("${bus.journey.horizon-hours:48}")
+    private int horizonHours;
+
+    @Value("${bus.journey.max-legs:3}")
+    private int maxLegs;
+
+    /**
+     * Itineraries between two stops leaving on {@code date} (today if missing) at or
+     * after {@code time} (start of day, or now for today). Buses with fewer than
+     * {@code seats} free seats right now are left out; seat counts and fares come
+     * from {@link BusCache}.
+     */
+    @Override
+    public List<JourneyDTO> planJourneys(String from, String to, String date, String time, Integer seats, Integer limit, Integer minTransferMinutes) {
+        String fromKey = TripKeys.key(from);
+        String toKey = TripKeys.key(to);
+        if (fromKey == null || toKey == null) {
+            throw new IllegalArgumentException("Both from and to are required");
+        }
+        LocalDateTime after = departureAfter(date, time);
+        int needed = seats == null || seats < 1 ? 1 : seats;
+        int size = limit == null || limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        int minTransfer = minTransferMinutes == null || minTransferMinutes < 0 ? defaultMinTransfer : minTransferMinutes;
+
+        List<List<JourneyLegDTO>> plans = journeyPlanner.plan(fromKey, toKey, after, minTransfer, horizonHours * 60, maxLegs, size,
+                busId -> busCache.get(busId)
+                        .map(bus -> bus.getAvailableSeats() != null && bus.getAvailableSeats() >= needed)
+                        .orElse(false));
+
+        List<JourneyDTO> journeys = new ArrayList<>(plans.size());
+        for (List<JourneyLegDTO> legs : plans) {
+            for (JourneyLegDTO leg : legs) {
+                Optional<Bus> bus = busCache.get(leg.getBusId());
+                bus.ifPresent(b -> {
+                    leg.setBusName(b.getName());
+                    leg.setPrice(b.getPrice());
+                    leg.setAvailableSeats(b.getAvailableSeats());
+                });
+            }
+            journeys.add(new JourneyDTO(legs));
+        }
+        return journeys;
+    }
+
+    private static LocalDateTime departureAfter(String date, String time) {
+        LocalDate day = LocalDate.now();
+        if (date != null && !date.isBlank()) {
+            day = TripKeys.date(date);
+            if (day == null) {
+                throw new IllegalArgumentException("Invalid date: " + date + ". Use dd-mm-yyyy or yyyy-mm-dd");
+            }
+        }
+        if (time != null && !time.isBlank()) {
+            LocalTime clock = TripKeys.time(time);
+            if (clock == null) {
+                throw new IllegalArgumentException("Invalid time: " + time + ". Use HH:mm");
+            }
+            return day.atTime(clock);
+        }
+        return day.equals(LocalDate.now()) ? LocalDateTime.now() : day.atStartOfDay();
+    }
+}
@@ -0,0 +1,294 @@
+package BusManagementBooking.bus.seats;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory seat state of a single bus.
+ *
+ * Seats are grouped per {@link Seat.SeatType}; within a group each seat has a dense
+ * index and its {@link Seat.SeatStatus} ordinal is packed into two bits of an
+ * {@link AtomicLongArray} (32 seats per word). Status changes are single-word CAS
+ * operations, so readers and writers never block each other.
+ *
+ * Every map carries a version stamp drawn from one global counter; it changes on
+ * every status change, and a reloaded bus never reuses an earlier stamp.
+ *
+ * Available seats are also counted per type, adjusted right after each successful
+ * CAS, so counts are O(1); a reader racing a change may see the counter a moment
+ * before or after the seat itself.
+ */
+final class BusSeatMap {
+
+    private static final int BITS_PER_SEAT = 2;
+    private static final int SEATS_PER_WORD = Long.SIZE / BITS_PER_SEAT;
+    private static final long STATUS_MASK = (1L << BITS_PER_SEAT) - 1;
+
+    private static final Seat.SeatType[] TYPES = Seat.SeatType.values();
+    private static final Seat.SeatStatus[] STATUSES = Seat.SeatStatus.values();
+
+    /** Format byte of {@link #toBitmap()}. */
+    static final byte BITMAP_FORMAT = 1;
+
+    private static final AtomicLong STAMPS = new AtomicLong();
+
+    private final Long busId;
+    private final long[][] ids;
+    private final String[][] numbers;
+    private final AtomicLongArray[] statusWords;
+    private final AtomicIntegerArray available;
+
+    // Packed (type ordinal << 16 | index) lookups
+    private final Map<String, Integer> slotsByNumber;
+    private final Map<Long, Integer> slotsById;
+
+    private volatile long version = STAMPS.incrementAndGet();
+
+    // Transitions between their first flip and the end of their transaction
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private BusSeatMap(Long busId, List<List<SeatRow>> seatsByType) {
+        this.busId = busId;
+        this.ids = new long[TYPES.length][];
+        this.numbers = new String[TYPES.length][];
+        this.statusWords = new AtomicLongArray[TYPES.length];
+        this.available = new AtomicIntegerArray(TYPES.length);
+        this.slotsByNumber = new HashMap<>();
+        this.slotsById = new HashMap<>();
+
+        for (int type = 0; type < TYPES.length; type++) {
+            List<SeatRow> group = seatsByType.get(type);
+            ids[type] = new long[group.size()];
+            numbers[type] = new String[group.size()];
+            statusWords[type] = new AtomicLongArray((group.size() + SEATS_PER_WORD - 1) / SEATS_PER_WORD);
+            for (int index = 0; index < group.size(); index++) {
+                SeatRow seat = group.get(index);
+                ids[type][index] = seat.id();
+                numbers[type][index] = seat.seatNumber();
+                setInitial(type, index, seat.status());
+                if (seat.status() == Seat.SeatStatus.AVAILABLE.ordinal()) {
+                    available.incrementAndGet(type);
+                }
+                int slot = slot(type, index);
+                slotsByNumber.put(seat.seatNumber(), slot);
+                slotsById.put(seat.id(), slot);
+            }
+        }
+    }
+
+    /** Builds the map from seats given in creation order. */
+    static BusSeatMap of(Long busId, List<SeatRow> seats) {
+        List<List<SeatRow>> seatsByType = new ArrayList<>(TYPES.length);
+        for (int i = 0; i < TYPES.length; i++) {
+            seatsByType.add(new ArrayList<>());
+        }
+        seats.forEach(seat -> seatsByType.get(seat.type()).add(seat));
+        return new BusSeatMap(busId, seatsByType);
+    }
+
+    static int slot(int type, int index) {
+        return (type << 16) | index;
+    }
+
+    static int typeOf(int slot) {
+        return slot >>> 16;
+    }
+
+    static int indexOf(int slot) {
+        return slot & 0xFFFF;
+    }
+
+    Long getBusId() {
+        return busId;
+    }
+
+    /** Returns the packed slot of a seat number, or -1 if the bus has no such seat. */
+    int slotOf(String seatNumber) {
+        Integer slot = slotsByNumber.get(seatNumber);
+        return slot != null ? slot : -1;
+    }
+
+    int slotOf(Long seatId) {
+        Integer slot = slotsById.get(seatId);
+        return slot != null ? slot : -1;
+    }
+
+    String seatNumber(int slot) {
+        return numbers[typeOf(slot)][indexOf(slot)];
+    }
+
+    Seat.SeatStatus status(int slot) {
+        return STATUSES[statusOrdinal(typeOf(slot), indexOf(slot))];
+    }
+
+    /** Atomically moves a seat from {@code expect} to {@code update}; false if it was not in {@code expect}. */
+    boolean compareAndSet(int slot, Seat.SeatStatus expect, Seat.SeatStatus update) {
+        AtomicLongArray words = statusWords[typeOf(slot)];
+        int index = indexOf(slot);
+        int word = index / SEATS_PER_WORD;
+        int shift = (index % SEATS_PER_WORD) * BITS_PER_SEAT;
+        while (true) {
+            long current = words.get(word);
+            if (((current >>> shift) & STATUS_MASK) != expect.ordinal()) {
+                return false;
+            }
+            long next = (current & ~(STATUS_MASK << shift)) | ((long) update.ordinal() << shift);
+            if (words.compareAndSet(word, current, next)) {
+                if (expect == Seat.SeatStatus.AVAILABLE) {
+                    available.decrementAndGet(typeOf(slot));
+                } else if (update == Seat.SeatStatus.AVAILABLE) {
+                    available.incrementAndGet(typeOf(slot));
+                }
+                version = STAMPS.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    SeatDTO toDTO(int slot) {
+        int type = typeOf(slot);
+        int index = indexOf(slot);
+        return new SeatDTO(ids[type][index], numbers[type][index], TYPES[type].toString(),
+                STATUSES[statusOrdinal(type, index)].toString(), busId);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /** Marks a transition as started; must be called before its first flip and matched by {@link #end()}. */
+    void begin() {
+        inFlight.incrementAndGet();
+    }
+
+    /** Marks a transition as committed or undone. */
+    void end() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * The seats as committed, or null if a transition was under way while copying them.
+     * Every flip bumps the version after {@link #begin()}, and an undo bumps it again
+     * before {@link #end()}, so an unchanged version with nothing in flight afterwards
+     * means the copy saw no uncommitted flip.
+     */
+    List<SeatDTO> toCommittedDTOs() {
+        long before = version;
+        if (inFlight.get() > 0) {
+            return null;
+        }
+        List<SeatDTO> seats = toDTOs(null, null);
+        return inFlight.get() == 0 && version == before ? seats : null;
+    }
+
+    /**
+     * Encodes the seat statuses compactly:
+     * <pre>
+     * byte    format (1)
+     * byte    number of type runs
+     * per run:  byte type ordinal, unsigned short seat count (big-endian)
+     * per run:  ceil(count / 4) bytes, four 2-bit status ordinals per byte, lowest bits first
+     * </pre>
+     * Seats appear in the same order as {@link #toDTOs}, so a client matches them up
+     * by position. Since a status word already packs 2-bit ordinals lowest bits first,
+     * each run is a little-endian copy of its words.
+     *
+     * This copies the words as they are, uncommitted flips included; served state goes
+     * through {@link #toCommittedBitmap()}.
+     */
+    byte[] toBitmap() {
+        int runs = 0;
+        int size = 2;
+        for (int type = 0; type < TYPES.length; type++) {
+            if (ids[type].length > 0) {
+                runs++;
+                size += 3 + (ids[type].length + 3) / 4;
+            }
+        }
+
+        byte[] bitmap = new byte[size];
+        bitmap[0] = BITMAP_FORMAT;
+        bitmap[1] = (byte) runs;
+        int header = 2;
+        int body = 2 + 3 * runs;
+        for (int type = 0; type < TYPES.length; type++) {
+            int count = ids[type].length;
+            if (count == 0) {
+                continue;
+            }
+            bitmap[header++] = (byte) type;
+            bitmap[header++] = (byte) (count >>> 8);
+            bitmap[header++] = (byte) count;
+
+            int bytes = (count + 3) / 4;
+            AtomicLongArray words = statusWords[type];
+            for (int i = 0; i < bytes; i++) {
+                bitmap[body + i] = (byte) (words.get(i / Long.BYTES) >>> ((i % Long.BYTES) * Byte.SIZE));
+            }
+            body += bytes;
+        }
+        return bitmap;
+    }
+
+    /**
+     * The bitmap as committed, with the version it was taken at, or null if a transition
+     * was under way while encoding it; the same check as {@link #toCommittedDTOs()}.
+     */
+    SeatBitmap toCommittedBitmap() {
+        long before = version;
+        if (inFlight.get() > 0) {
+            return null;
+        }
+        byte[] bitmap = toBitmap();
+        return inFlight.get() == 0 && version == before ? new SeatBitmap(before, bitmap) : null;
+    }
+
+    SeatCounts counts() {
+        int[] totals = new int[TYPES.length];
+        int[] free = new int[TYPES.length];
+        for (int type = 0; type < TYPES.length; type++) {
+            totals[type] = ids[type].length;
+            free[type] = available.get(type);
+        }
+        return new SeatCounts(totals, free);
+    }
+
+    /**
+     * Materializes the seats matching the given filters (null means "any") as DTOs,
+     * in the same per-type, creation order every time.
+     */
+    List<SeatDTO> toDTOs(Seat.SeatType typeFilter, Seat.SeatStatus statusFilter) {
+        List<SeatDTO> result = new ArrayList<>();
+        for (int type = 0; type < TYPES.length; type++) {
+            if (typeFilter != null && typeFilter.ordinal() != type) {
+                continue;
+            }
+            String typeName = TYPES[type].toString();
+            for (int index = 0; index < ids[type].length; index++) {
+                int status = statusOrdinal(type, index);
+                if (statusFilter != null && statusFilter.ordinal() != status) {
+                    continue;
+                }
+                result.add(new SeatDTO(ids[type][index], numbers[type][index], typeName, STATUSES[status].toString(), busId));
+            }
+        }
+        return result;
+    }
+
+    private int statusOrdinal(int type, int index) {
+        long word = statusWords[type].get(index / SEATS_PER_WORD);
+        return (int) ((word >>> ((index % SEATS_PER_WORD) * BITS_PER_SEAT)) & STATUS_MASK);
+    }
+
+    private void setInitial(int type, int index, int status) {
+        int word = index / SEATS_PER_WORD;
+        int shift = (index % SEATS_PER_WORD) * BITS_PER_SEAT;
+        statusWords[type].set(word, statusWords[type].get(word) | ((long) status << shift));
+    }
+}
@@ -0,0 +1,194 @@
+package BusManagementBooking.bus.seats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel for large numbers of short-lived timeouts (seat holds).
+ *
+ * Scheduling and cancelling are O(1): new timeouts are queued lock-free and moved
+ * into their bucket by the single worker thread on the next tick, and cancelled
+ * timeouts are just flagged and dropped when their bucket comes round. The worker
+ * only walks one bucket per tick, so idle timeouts cost no CPU. Expired tasks are
+ * handed to {@code taskExecutor} so slow tasks never delay the wheel.
+ */
+final class HashedWheelTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private static final int ST_INIT = 0;
+    private static final int ST_STARTED = 1;
+    private static final int ST_STOPPED = 2;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor taskExecutor;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger state = new AtomicInteger(ST_INIT);
+    private final Thread worker;
+
+    // Fixed before any timeout can be scheduled, so every deadline shares one origin
+    private final long startNanos = System.nanoTime();
+
+    HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel, Executor taskExecutor) {
+        int size = Integer.highestOneBit(Math.max(ticksPerWheel, 2) - 1) << 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.taskExecutor = taskExecutor;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    void start() {
+        if (state.compareAndSet(ST_INIT, ST_STARTED)) {
+            worker.start();
+        }
+    }
+
+    void stop() {
+        if (state.getAndSet(ST_STOPPED) == ST_STARTED) {
+            worker.interrupt();
+        }
+    }
+
+    /** Schedules {@code task} to run after {@code delay}; the returned handle can be cancelled. */
+    Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        start();
+        long deadline = System.nanoTime() - startNanos + unit.toNanos(Math.max(delay, 0));
+        Timeout timeout = new Timeout(task, deadline);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        long tick = 0;
+        while (state.get() == ST_STARTED) {
+            long deadline = tickNanos * (tick + 1);
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    if (state.get() != ST_STARTED) {
+                        return;
+                    }
+                }
+            }
+            transferPending(tick);
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    private void transferPending(long currentTick) {
+        // Bounded so a flood of new timeouts cannot starve expiry
+        for (int i = 0; i < 100_000; i++) {
+            Timeout timeout = pending.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long targetTick = Math.max(timeout.deadline / tickNanos, currentTick);
+            timeout.remainingRounds = (targetTick - currentTick) / wheel.length;
+            wheel[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        try {
+            taskExecutor.execute(timeout.task);
+        } catch (RuntimeException e) {
+            logger.error("Failed to run expired timeout", e);
+        }
+    }
+
+    final class Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private volatile boolean cancelled;
+
+        // Owned by the worker thread
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /** Cancels the timeout; the task will not run unless it has already been dispatched. */
+        void cancel() {
+            cancelled = true;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /** Doubly linked list of timeouts, only touched by the worker thread. */
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        fire(timeout);
+                    } else {
+                        // Landed in the wrong slot (should not happen); retry next round
+                        pending.add(timeout);
+                    }
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.next = null;
+            timeout.prev = null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package BusManagementBooking.bus.seats;
+
+import java.time.LocalDateTime;
+
+/**
+ * One held seat as read back at startup to re-arm hold expiry. Loaded with a
+ * constructor expression, like {@link SeatRow}, so recovery builds no {@link Seat}
+ * entities and no buses.
+ */
+public record HeldSeat(Long busId, String seatNumber, String holdToken, Long holdUserId, LocalDateTime heldUntil) {
+}
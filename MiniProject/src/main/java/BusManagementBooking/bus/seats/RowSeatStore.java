@@ -0,0 +1,75 @@
+package BusManagementBooking.bus.seats;
+
+import BusManagementBooking.bus.buses.Bus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/** One row per seat; every transition is a conditional UPDATE. */
+@Component
+@ConditionalOnProperty(name = "bus.seats.storage", havingValue = "rows", matchIfMissing = true)
+class RowSeatStore implements SeatStore {
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatBatchWriter seatBatchWriter;
+
+    @Override
+    public List<SeatRow> load(Long busId) {
+        return seatRepository.findRowsByBusId(busId);
+    }
+
+    @Override
+    public SeatCounts count(Long busId) {
+        int[] total = new int[Seat.SeatType.values().length];
+        int[] available = new int[total.length];
+        for (Object[] row : seatRepository.countByTypeAndStatus(busId)) {
+            int type = ((Seat.SeatType) row[0]).ordinal();
+            int count = ((Long) row[2]).intValue();
+            total[type] += count;
+            if (row[1] == Seat.SeatStatus.AVAILABLE) {
+                available[type] += count;
+            }
+        }
+        return new SeatCounts(total, available);
+    }
+
+    @Override
+    public int transition(Long busId, String seatNumber, Seat.SeatStatus from, Seat.SeatStatus to) {
+        return seatRepository.transitionSeat(busId, seatNumber, from, to);
+    }
+
+    @Override
+    public int transitionAll(Long busId, Collection<String> seatNumbers, Seat.SeatStatus from, Seat.SeatStatus to) {
+        return seatRepository.transitionSeats(busId, seatNumbers, from, to);
+    }
+
+    @Override
+    public int hold(Long busId, String seatNumber, String token, Long userId, LocalDateTime heldUntil) {
+        return seatRepository.holdSeat(busId, seatNumber, token, userId, heldUntil, Seat.SeatStatus.AVAILABLE, Seat.SeatStatus.HELD);
+    }
+
+    @Override
+    public int endHold(Long busId, String seatNumber, String token, Long userId, Seat.SeatStatus to) {
+        return seatRepository.endHold(busId, seatNumber, token, userId, Seat.SeatStatus.HELD, to);
+    }
+
+    @Override
+    public void initialize(Bus bus, SeatLayout layout) {
+        // Clear any existing seats for this bus in one statement, then insert the layout as one batch
+        seatRepository.deleteByBusId(bus.getId());
+        seatBatchWriter.insertAll(bus.getId(), layout.seats(Seat.SeatStatus.AVAILABLE));
+    }
+
+    @Override
+    public Optional<Long> busIdOf(Long seatId) {
+        return seatRepository.findBusIdBySeatId(seatId);
+    }
+}
@@ -4,8 +4,10 @@ import BusManagementBooking.bus.buses.Bus;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "seats")
+@Table(name = "seats", uniqueConstraints = @UniqueConstraint(name = "uk_seats_bus_seat_number", columnNames = {"bus_id", "seat_number"}))
 public class Seat {
 
     @Id
@@ -23,6 +25,17 @@ public class Seat {
     @Enumerated(EnumType.STRING)
     private SeatStatus status;
 
+    // Set only while the seat is HELD for a pending payment
+    @Column(name = "hold_token", length = 36)
+    private String holdToken;
+
+    @Column(name = "held_until")
+    private LocalDateTime heldUntil;
+
+    // The user the hold was made for; only they can confirm it
+    @Column(name = "hold_user_id")
+    private Long holdUserId;
+
     @ManyToOne
     @JoinColumn(name = "bus_id")
     @JsonBackReference
@@ -38,7 +51,8 @@ public class Seat {
     // Enum for seat status
     public enum SeatStatus {
         AVAILABLE,
-        BOOKED
+        BOOKED,
+        HELD
     }
 
     // Constructors
@@ -84,6 +98,30 @@ public class Seat {
         this.status = status;
     }
 
+    public String getHoldToken() {
+        return holdToken;
+    }
+
+    public void setHoldToken(String holdToken) {
+        this.holdToken = holdToken;
+    }
+
+    public LocalDateTime getHeldUntil() {
+        return heldUntil;
+    }
+
+    public void setHeldUntil(LocalDateTime heldUntil) {
+        this.heldUntil = heldUntil;
+    }
+
+    public Long getHoldUserId() {
+        return holdUserId;
+    }
+
+    public void setHoldUserId(Long holdUserId) {
+        this.holdUserId = holdUserId;
+    }
+
     public Bus getBus() {
         return bus;
     }
@@ -0,0 +1,72 @@
+package BusManagementBooking.bus.seats;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Inserts seats as one JDBC batch. Seat ids come from IDENTITY columns, which stops
+ * Hibernate from batching inserts, so seat layouts are written through here instead.
+ * Runs on the connection of the surrounding transaction.
+ */
+@Component
+public class SeatBatchWriter {
+
+    private static final String COLUMNS = "seats (seat_number, seat_type, status, hold_token, hold_user_id, held_until, bus_id)";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SQL = "INSERT INTO " + COLUMNS + " VALUES " + ROW;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the given seats for {@code busId}; ids are assigned by the database.
+     * Violating the (bus_id, seat_number) unique key surfaces as a DuplicateKeyException.
+     */
+    public void insertAll(Long busId, List<Seat> seats) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, seats, seats.size(), (ps, seat) -> bind(ps, 0, busId, seat));
+    }
+
+    /**
+     * Inserts the given seats for {@code busId} as one multi-row INSERT IGNORE, skipping
+     * any whose (bus_id, seat_number) row already exists, and returns how many were
+     * inserted. A single statement reports an exact affected-row count, which a
+     * rewritten JDBC batch does not.
+     */
+    public int insertAbsent(Long busId, List<Seat> seats) {
+        if (seats.isEmpty()) {
+            return 0;
+        }
+        String sql = "INSERT IGNORE INTO " + COLUMNS + " VALUES " + String.join(", ", Collections.nCopies(seats.size(), ROW));
+        return jdbcTemplate.update(sql, ps -> {
+            for (int i = 0; i < seats.size(); i++) {
+                bind(ps, i * 7, busId, seats.get(i));
+            }
+        });
+    }
+
+    private static void bind(PreparedStatement ps, int offset, Long busId, Seat seat) throws SQLException {
+        ps.setString(offset + 1, seat.getSeatNumber());
+        ps.setString(offset + 2, seat.getSeatType().name());
+        ps.setString(offset + 3, seat.getStatus().name());
+        ps.setString(offset + 4, seat.getHoldToken());
+        if (seat.getHoldUserId() != null) {
+            ps.setLong(offset + 5, seat.getHoldUserId());
+        } else {
+            ps.setNull(offset + 5, Types.BIGINT);
+        }
+        if (seat.getHeldUntil() != null) {
+            ps.setTimestamp(offset + 6, Timestamp.valueOf(seat.getHeldUntil()));
+        } else {
+            ps.setNull(offset + 6, Types.TIMESTAMP);
+        }
+        ps.setLong(offset + 7, busId);
+    }
+}
@@ -0,0 +1,10 @@
+package BusManagementBooking.bus.seats;
+
+/**
+ * A bus's seat statuses as encoded by {@link BusSeatMap#toBitmap()}, with the version
+ * of the in-memory seat map they were taken from. {@code version} is null when the
+ * bitmap was read from the store because a transition was in flight; such a copy
+ * must not be cached under any version.
+ */
+public record SeatBitmap(Long version, byte[] bytes) {
+}
@@ -0,0 +1,42 @@
+package BusManagementBooking.bus.seats;
+
+import java.util.List;
+
+public class SeatChangeDTO {
+    private Long busId;
+    private long version;
+    private List<SeatDTO> seats;
+
+    public SeatChangeDTO() {}
+
+    public SeatChangeDTO(Long busId, long version, List<SeatDTO> seats) {
+        this.busId = busId;
+        this.version = version;
+        this.seats = seats;
+    }
+
+    // Getters and Setters
+    public Long getBusId() {
+        return busId;
+    }
+
+    public void setBusId(Long busId) {
+        this.busId = busId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public List<SeatDTO> getSeats() {
+        return seats;
+    }
+
+    public void setSeats(List<SeatDTO> seats) {
+        this.seats = seats;
+    }
+}
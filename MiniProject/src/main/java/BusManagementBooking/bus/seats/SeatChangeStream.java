@@ -0,0 +1,305 @@
+package BusManagementBooking.bus.seats;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed seat changes of a bus to its watchers as Server-Sent Events.
+ *
+ * Each event is rendered once and then queued to every watcher of the bus; a writer
+ * pool drains the queues, so neither the committing thread nor a request thread ever
+ * waits on a client. A watcher whose queue fills up, or whose send has not returned
+ * within the send timeout, is disconnected and is expected to reconnect and re-fetch
+ * the seat map. A stuck send only ties up its own writer thread until the container
+ * gives up on the write.
+ *
+ * Events: {@code version} (first event, the map version to compare against; {@code
+ * seats} events with an id at or below it are already included),
+ * {@code seats} (a {@link SeatChangeDTO}) and {@code reset} (the bus was reloaded,
+ * re-fetch the whole map).
+ */
+@Component
+public class SeatChangeStream implements SeatInventory.Listener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatChangeStream.class);
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${bus.seats.stream.queue-size:64}")
+    private int queueSize;
+
+    @Value("${bus.seats.stream.max-watchers:50000}")
+    private int maxWatchers;
+
+    @Value("${bus.seats.stream.dispatch-threads:2}")
+    private int dispatchThreads;
+
+    @Value("${bus.seats.stream.writer-threads:64}")
+    private int writerThreads;
+
+    @Value("${bus.seats.stream.send-timeout-seconds:10}")
+    private long sendTimeoutSeconds;
+
+    @Value("${bus.seats.stream.timeout-seconds:1800}")
+    private long timeoutSeconds;
+
+    @Value("${bus.seats.stream.heartbeat-seconds:30}")
+    private long heartbeatSeconds;
+
+    private final ConcurrentMap<Long, Set<Watcher>> watchers = new ConcurrentHashMap<>();
+    private final AtomicInteger watcherCount = new AtomicInteger();
+    private ScheduledExecutorService dispatcher;
+    private ThreadPoolExecutor writers;
+
+    @PostConstruct
+    void start() {
+        dispatcher = Executors.newScheduledThreadPool(Math.max(dispatchThreads, 1), daemonThreads("seat-stream-"));
+        writers = new ThreadPoolExecutor(0, Math.max(writerThreads, 1), 30, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), daemonThreads("seat-stream-writer-"));
+        // Heartbeats keep proxies from closing idle streams and find clients that went away
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        dispatcher.scheduleWithFixedDelay(this::dropStuckWatchers, 1, 1, TimeUnit.SECONDS);
+        seatInventory.addListener(this);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatcher.shutdownNow();
+        writers.shutdownNow();
+        watchers.values().forEach(set -> set.forEach(Watcher::close));
+    }
+
+    /**
+     * Opens a stream for a bus. Throws {@link IllegalStateException} when the
+     * configured number of watchers is reached.
+     */
+    public SseEmitter subscribe(Long busId) {
+        return subscribe(busId, new SseEmitter(TimeUnit.SECONDS.toMillis(timeoutSeconds)));
+    }
+
+    SseEmitter subscribe(Long busId, SseEmitter emitter) {
+        if (watcherCount.incrementAndGet() > maxWatchers) {
+            watcherCount.decrementAndGet();
+            throw new IllegalStateException("Too many seat streams open, please retry later");
+        }
+        Watcher watcher = new Watcher(busId, emitter);
+        watcher.emitter.onCompletion(watcher::close);
+        watcher.emitter.onTimeout(watcher::close);
+        watcher.emitter.onError(e -> watcher.close());
+
+        // Register before reading the version so no change can fall in between; changes
+        // queued meanwhile stay behind the version, which is put at the head of the queue
+        watchers.compute(busId, (id, set) -> {
+            Set<Watcher> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(watcher);
+            return target;
+        });
+        watcher.start(SseEmitter.event().name("version").data(seatInventory.version(busId)).build());
+        return watcher.emitter;
+    }
+
+    int watcherCount() {
+        return watcherCount.get();
+    }
+
+    @Override
+    public void onChange(Long busId, long version, List<SeatDTO> seats) {
+        Set<Watcher> set = watchers.get(busId);
+        if (set == null || set.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(new SeatChangeDTO(busId, version, seats));
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not render seat change for bus {}: {}", busId, e.getMessage());
+            return;
+        }
+        broadcast(set, SseEmitter.event()
+                .name("seats")
+                .id(Long.toString(version))
+                .data(json)
+                .build());
+    }
+
+    @Override
+    public void onEvict(Long busId) {
+        Set<Watcher> set = watchers.get(busId);
+        if (set != null && !set.isEmpty()) {
+            broadcast(set, SseEmitter.event().name("reset").data(busId).build());
+        }
+    }
+
+    private void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        watchers.values().forEach(set -> broadcast(set, ping));
+    }
+
+    private void dropStuckWatchers() {
+        long limit = TimeUnit.SECONDS.toNanos(sendTimeoutSeconds);
+        long now = System.nanoTime();
+        watchers.values().forEach(set -> set.forEach(watcher -> {
+            long since = watcher.sendingSince;
+            if (since != 0 && now - since > limit) {
+                logger.info("Seat stream for bus {} has not accepted an event for {}s, disconnecting",
+                        watcher.busId, sendTimeoutSeconds);
+                watcher.close();
+            }
+        }));
+    }
+
+    private static void broadcast(Set<Watcher> set, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        for (Watcher watcher : set) {
+            watcher.offer(event);
+        }
+    }
+
+    /**
+     * One open stream: a bounded queue of rendered events, drained by at most one writer
+     * thread at a time. Nothing is sent until the version event has been queued.
+     */
+    private final class Watcher implements Runnable {
+        private final Long busId;
+        private final SseEmitter emitter;
+        private final BlockingDeque<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean(true);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        /** When the send in progress started, or 0 between sends. */
+        private volatile long sendingSince;
+
+        private Watcher(Long busId, SseEmitter emitter) {
+            this.busId = busId;
+            this.emitter = emitter;
+            // One slot more than the configured size for the version event
+            this.queue = new LinkedBlockingDeque<>(Math.max(queueSize, 1) + 1);
+        }
+
+        void start(Set<ResponseBodyEmitter.DataWithMediaType> version) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offerFirst(version)) {
+                disconnect();
+                return;
+            }
+            scheduled.set(false);
+            schedule();
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                disconnect();
+                return;
+            }
+            schedule();
+        }
+
+        private void disconnect() {
+            logger.info("Seat stream for bus {} fell {} events behind, disconnecting", busId, queue.size());
+            close();
+            // Completing waits for a send in progress, so leave that to a writer thread
+            try {
+                writers.execute(emitter::complete);
+            } catch (RejectedExecutionException e) {
+                // Shutting down or every writer is busy; the emitter times out on its own
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // Every writer is busy; try again shortly rather than block the caller
+                    try {
+                        dispatcher.schedule(this::retry, 50, TimeUnit.MILLISECONDS);
+                    } catch (RejectedExecutionException shutdown) {
+                        close();
+                    }
+                }
+            }
+        }
+
+        private void retry() {
+            scheduled.set(false);
+            if (!closed.get() && !queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    sendingSince = System.nanoTime() | 1;
+                    emitter.send(event);
+                    sendingSince = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed
+                close();
+            } finally {
+                sendingSince = 0;
+                scheduled.set(false);
+            }
+            // An event may have been queued after the last poll but before the flag was cleared
+            if (!closed.get() && !queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                watcherCount.decrementAndGet();
+                watchers.computeIfPresent(busId, (id, set) -> {
+                    set.remove(this);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package BusManagementBooking.bus.seats;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -16,6 +20,12 @@ public class SeatController {
     @Autowired
     private SeatService seatService;
 
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SeatChangeStream seatChangeStream;
+
     @GetMapping("/health")
     public String checkAlive() {
         return "Seat Controller is alive!";
@@ -52,6 +62,54 @@ public class SeatController {
         }
     }
 
+    /**
+     * Seat statuses of a bus as a packed bitmap (see {@link BusSeatMap#toBitmap()}), in the
+     * same order as {@code GET /seat/bus/{busId}}. Clients fetch the seat list once and
+     * then poll this with If-None-Match; an unchanged map is answered with 304 from the
+     * version stamp alone. A bitmap read while a booking on the bus is in flight has no
+     * version and is sent without an ETag, so it is never revalidated.
+     */
+    @GetMapping("/bus/{busId}/bitmap")
+    public ResponseEntity<?> getSeatBitmap(@PathVariable Long busId, WebRequest request) {
+        try {
+            String current = etag(busId, seatService.getSeatMapVersion(busId));
+            if (request.checkNotModified(current)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+            }
+            SeatBitmap bitmap = seatService.getSeatBitmap(busId);
+            if (bitmap.version() == null) {
+                return ResponseEntity.ok()
+                        .cacheControl(CacheControl.noStore())
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .body(bitmap.bytes());
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag(busId, bitmap.version()))
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(bitmap.bytes());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error retrieving seat bitmap: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Server-Sent Events stream of seat changes for a bus (see {@link SeatChangeStream}).
+     * Replaces polling: fetch the seat list once, then apply each {@code seats} event and
+     * re-fetch on {@code reset} or after a reconnect.
+     */
+    @GetMapping(value = "/bus/{busId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSeatChanges(@PathVariable Long busId) {
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(seatChangeStream.subscribe(busId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     @GetMapping("/bus/{busId}/available")
     public ResponseEntity<?> getAvailableSeatsByBusId(@PathVariable Long busId) {
         try {
@@ -110,4 +168,34 @@ public class SeatController {
                     .body("Error deleting seats: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/hold")
+    public ResponseEntity<?> holdSeats(@RequestBody SeatHoldRequestDTO request) {
+        try {
+            SeatHoldDTO hold = seatHoldService.holdSeats(request.getBusId(), request.getUserId(), request.getSeatNumbers());
+            return ResponseEntity.ok(hold);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error holding seats: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/hold/{holdToken}")
+    public ResponseEntity<?> releaseHold(@PathVariable String holdToken) {
+        try {
+            if (seatHoldService.releaseHold(holdToken)) {
+                return ResponseEntity.ok("Hold released successfully");
+            }
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Hold not found or already expired");
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error releasing hold: " + e.getMessage());
+        }
+    }
+
+    private static String etag(Long busId, long version) {
+        return "\"" + busId + ":" + version + "\"";
+    }
+}
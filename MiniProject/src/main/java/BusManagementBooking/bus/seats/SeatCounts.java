@@ -0,0 +1,58 @@
+package BusManagementBooking.bus.seats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Total and available seats of a bus, per {@link Seat.SeatType}. */
+public final class SeatCounts {
+
+    private static final Seat.SeatType[] TYPES = Seat.SeatType.values();
+
+    private final int[] total;
+    private final int[] available;
+
+    SeatCounts(int[] total, int[] available) {
+        this.total = total;
+        this.available = available;
+    }
+
+    public int getTotal(Seat.SeatType type) {
+        return total[type.ordinal()];
+    }
+
+    public int getAvailable(Seat.SeatType type) {
+        return available[type.ordinal()];
+    }
+
+    public int getTotal() {
+        int sum = 0;
+        for (int count : total) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    public int getAvailable() {
+        int sum = 0;
+        for (int count : available) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    /**
+     * Flattened for {@code /seat/bus/{busId}/count}: {@code REGULAR}, {@code ELDER} and
+     * {@code PREGNANT} are totals as before, {@code <TYPE>_AVAILABLE} the free seats of a
+     * type, and {@code TOTAL} / {@code AVAILABLE} the whole bus.
+     */
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Seat.SeatType type : TYPES) {
+            counts.put(type.toString(), getTotal(type));
+            counts.put(type + "_AVAILABLE", getAvailable(type));
+        }
+        counts.put("TOTAL", getTotal());
+        counts.put("AVAILABLE", getAvailable());
+        return counts;
+    }
+}
@@ -17,29 +17,6 @@ public class SeatDTO {
         this.busId = busId;
     }
 
-    // Static method to convert Seat entity to DTO
-    public static SeatDTO fromEntity(Seat seat) {
-        Long busId = null;
-        try {
-            // Try to get the bus ID, but handle potential LazyInitializationException
-            if (seat.getBus() != null) {
-                busId = seat.getBus().getId();
-            }
-        } catch (Exception e) {
-            // If we can't get the bus ID (lazy loading issue), use the field directly
-            // This is a fallback and might require a database lookup
-            busId = null;
-        }
-        
-        return new SeatDTO(
-            seat.getId(),
-            seat.getSeatNumber(),
-            seat.getSeatType().toString(),
-            seat.getStatus().toString(),
-            busId
-        );
-    }
-
     // Getters and Setters
     public Long getId() {
         return id;
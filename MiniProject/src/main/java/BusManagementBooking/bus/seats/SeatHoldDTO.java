@@ -0,0 +1,53 @@
+package BusManagementBooking.bus.seats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class SeatHoldDTO {
+    private String holdToken;
+    private Long busId;
+    private List<String> seatNumbers;
+    private LocalDateTime expiresAt;
+
+    public SeatHoldDTO() {}
+
+    public SeatHoldDTO(String holdToken, Long busId, List<String> seatNumbers, LocalDateTime expiresAt) {
+        this.holdToken = holdToken;
+        this.busId = busId;
+        this.seatNumbers = seatNumbers;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getHoldToken() {
+        return holdToken;
+    }
+
+    public void setHoldToken(String holdToken) {
+        this.holdToken = holdToken;
+    }
+
+    public Long getBusId() {
+        return busId;
+    }
+
+    public void setBusId(Long busId) {
+        this.busId = busId;
+    }
+
+    public List<String> getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(List<String> seatNumbers) {
+        this.seatNumbers = seatNumbers;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,43 @@
+package BusManagementBooking.bus.seats;
+
+import java.util.List;
+
+public class SeatHoldRequestDTO {
+    private Long busId;
+    private Long userId;
+    private List<String> seatNumbers;
+
+    // Constructors
+    public SeatHoldRequestDTO() {}
+
+    public SeatHoldRequestDTO(Long busId, Long userId, List<String> seatNumbers) {
+        this.busId = busId;
+        this.userId = userId;
+        this.seatNumbers = seatNumbers;
+    }
+
+    // Getters and Setters
+    public Long getBusId() {
+        return busId;
+    }
+
+    public void setBusId(Long busId) {
+        this.busId = busId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public List<String> getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(List<String> seatNumbers) {
+        this.seatNumbers = seatNumbers;
+    }
+}
@@ -0,0 +1,14 @@
+package BusManagementBooking.bus.seats;
+
+import java.util.List;
+
+/**
+ * Short-lived seat holds for the payment step. A hold moves seats to HELD under a
+ * token; the hold is confirmed by booking with that token (see BookingAddRequestDTO),
+ * released explicitly, or released automatically once it expires.
+ */
+public interface SeatHoldService {
+    SeatHoldDTO holdSeats(Long busId, Long userId, List<String> seatNumbers);
+    void confirmHold(String holdToken, Long userId, Long busId, String seatNumber);
+    boolean releaseHold(String holdToken);
+}
@@ -0,0 +1,219 @@
+package BusManagementBooking.bus.seats;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Service
+public class SeatHoldServiceImpl implements SeatHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatHoldServiceImpl.class);
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${bus.seats.hold.ttl-seconds:600}")
+    private long holdTtlSeconds;
+
+    // Outstanding holds by token; the seat rows carry the same token so holds survive a restart
+    private final ConcurrentMap<String, ActiveHold> holds = new ConcurrentHashMap<>();
+
+    private ExecutorService expiryExecutor;
+    private HashedWheelTimer timer;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void start() {
+        expiryExecutor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "seat-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer = new HashedWheelTimer("seat-hold-timer", 100, TimeUnit.MILLISECONDS, 1024, expiryExecutor);
+        timer.start();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void stop() {
+        timer.stop();
+        expiryExecutor.shutdownNow();
+    }
+
+    /**
+     * Re-arms expiry for holds that were outstanding when the application stopped.
+     * This is a single query at startup; after that nothing ever scans for holds.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverHolds() {
+        Map<String, List<HeldSeat>> heldSeats = seatRepository.findHeldSeats(Seat.SeatStatus.HELD).stream()
+                .collect(Collectors.groupingBy(HeldSeat::holdToken));
+        heldSeats.forEach((token, seats) -> {
+            HeldSeat first = seats.get(0);
+            List<String> seatNumbers = seats.stream().map(HeldSeat::seatNumber).toList();
+            LocalDateTime heldUntil = seats.stream()
+                    .map(HeldSeat::heldUntil)
+                    .filter(time -> time != null)
+                    .max(LocalDateTime::compareTo)
+                    .orElse(LocalDateTime.now());
+            track(new ActiveHold(token, first.holdUserId(), first.busId(), seatNumbers, heldUntil));
+        });
+        if (!heldSeats.isEmpty()) {
+            logger.info("Recovered {} outstanding seat holds", heldSeats.size());
+        }
+    }
+
+    @Override
+    @Transactional
+    public SeatHoldDTO holdSeats(Long busId, Long userId, List<String> seatNumbers) {
+        if (busId == null) {
+            throw new IllegalArgumentException("Bus ID cannot be null");
+        }
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID cannot be null");
+        }
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            throw new IllegalArgumentException("At least one seat number is required");
+        }
+
+        List<String> distinctSeats = new ArrayList<>(new LinkedHashSet<>(seatNumbers));
+        String token = UUID.randomUUID().toString();
+        LocalDateTime heldUntil = LocalDateTime.now().plusSeconds(holdTtlSeconds);
+
+        for (String seatNumber : distinctSeats) {
+            // Throwing rolls back the seats already held in this call, in memory as well
+            if (!seatInventory.hold(busId, seatNumber, token, userId, heldUntil)) {
+                throw new IllegalArgumentException("Seat " + seatNumber + " is not available");
+            }
+        }
+
+        ActiveHold hold = new ActiveHold(token, userId, busId, distinctSeats, heldUntil);
+        afterCommit(() -> track(hold));
+        logger.info("User {} holds seats {} on bus {} until {}", userId, distinctSeats, busId, heldUntil);
+        return new SeatHoldDTO(token, busId, distinctSeats, heldUntil);
+    }
+
+    @Override
+    @Transactional
+    public void confirmHold(String holdToken, Long userId, Long busId, String seatNumber) {
+        ActiveHold hold = holds.get(holdToken);
+        if (hold == null || !hold.busId.equals(busId) || !hold.seatNumbers.contains(seatNumber)) {
+            throw new IllegalArgumentException("No active hold on seat " + seatNumber + " for this token; it may have expired");
+        }
+        if (!Objects.equals(hold.userId, userId)) {
+            throw new IllegalArgumentException("Hold on seat " + seatNumber + " belongs to another user");
+        }
+        if (!seatInventory.endHold(busId, seatNumber, holdToken, userId, Seat.SeatStatus.BOOKED)) {
+            throw new IllegalArgumentException("Hold on seat " + seatNumber + " has expired");
+        }
+        afterCommit(() -> {
+            hold.seatNumbers.remove(seatNumber);
+            if (hold.seatNumbers.isEmpty()) {
+                untrack(hold);
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public boolean releaseHold(String holdToken) {
+        ActiveHold hold = holds.get(holdToken);
+        if (hold == null) {
+            return false;
+        }
+        doRelease(hold);
+        return true;
+    }
+
+    private void expire(ActiveHold hold) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> doRelease(hold));
+            logger.info("Hold {} on bus {} expired", hold.token, hold.busId);
+        } catch (RuntimeException e) {
+            logger.error("Failed to expire hold {}: {}", hold.token, e.getMessage());
+        }
+    }
+
+    private void doRelease(ActiveHold hold) {
+        for (String seatNumber : hold.seatNumbers) {
+            seatInventory.endHold(hold.busId, seatNumber, hold.token, hold.userId, Seat.SeatStatus.AVAILABLE);
+        }
+        afterCommit(() -> untrack(hold));
+    }
+
+    private void track(ActiveHold hold) {
+        holds.put(hold.token, hold);
+        long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(), hold.heldUntil).toMillis());
+        hold.timeout = timer.schedule(() -> expire(hold), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void untrack(ActiveHold hold) {
+        if (holds.remove(hold.token, hold) && hold.timeout != null) {
+            hold.timeout.cancel();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class ActiveHold {
+        private final String token;
+        private final Long userId;
+        private final Long busId;
+        private final Set<String> seatNumbers;
+        private final LocalDateTime heldUntil;
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        private ActiveHold(String token, Long userId, Long busId, List<String> seatNumbers, LocalDateTime heldUntil) {
+            this.token = token;
+            this.userId = userId;
+            this.busId = busId;
+            this.seatNumbers = ConcurrentHashMap.newKeySet();
+            this.seatNumbers.addAll(seatNumbers);
+            this.heldUntil = heldUntil;
+        }
+    }
+}
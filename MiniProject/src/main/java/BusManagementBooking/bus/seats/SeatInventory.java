@@ -0,0 +1,396 @@
+package BusManagementBooking.bus.seats;
+
+import BusManagementBooking.bus.buses.AvailableSeatCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntSupplier;
+import java.util.zip.CRC32;
+
+/**
+ * Per-bus seat state held in memory and written through to the {@link SeatStore}.
+ *
+ * A bus is loaded lazily on first access and then serves every seat read without
+ * touching the database. Claims and releases first flip the seat with a CAS on the
+ * in-memory bitmap (so losers are rejected without a round trip), then apply the
+ * same transition as a conditional write to the store. If the write finds the seat
+ * in a different state the bus is evicted and reloaded on next access; if the
+ * surrounding transaction rolls back the in-memory flip is undone.
+ *
+ * The seats are authoritative for availability: the seat rows in the database and,
+ * for a loaded bus, the per-type counters here, which are counted from those rows
+ * on load. {@code Bus.availableSeats} is a copy for buses that are not loaded. Every
+ * transition that takes a seat from or gives it back to AVAILABLE adjusts it through
+ * {@link AvailableSeatCounter} in the same transaction, and initializing a bus's
+ * seats resets it, but bus summaries report {@link #loadedAvailable} whenever the bus
+ * is in memory so the two can never be seen to disagree. Every transition also moves
+ * the bus's seat checksum (see {@link #checksum}) the same way.
+ *
+ * This assumes seats are only changed through this application.
+ */
+@Component
+public class SeatInventory {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatInventory.class);
+
+    /** Notified about changes to the seat state of a bus. */
+    public interface Listener {
+        /** The cached state of a bus stopped being trustworthy and will be reloaded. */
+        default void onEvict(Long busId) {
+        }
+
+        /**
+         * Seats of a bus changed and the change is committed. Called on the committing
+         * thread, so implementations must hand off anything slow; {@code seats} carry
+         * the status the committed transition gave them.
+         */
+        default void onChange(Long busId, long version, List<SeatDTO> seats) {
+        }
+    }
+
+    private final ConcurrentMap<Long, BusSeatMap> buses = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private SeatStore seatStore;
+
+    @Autowired
+    private AvailableSeatCounter availableSeatCounter;
+
+    public List<SeatDTO> getSeats(Long busId) {
+        return state(busId).toDTOs(null, null);
+    }
+
+    public List<SeatDTO> getSeats(Long busId, Seat.SeatType seatType, Seat.SeatStatus status) {
+        return state(busId).toDTOs(seatType, status);
+    }
+
+    /**
+     * Total and available seats per type: read from the in-memory counters when the bus
+     * is loaded, otherwise one grouped query (which does not load the bus).
+     */
+    public SeatCounts counts(Long busId) {
+        BusSeatMap seats = buses.get(busId);
+        return seats != null ? seats.counts() : seatStore.count(busId);
+    }
+
+    /**
+     * Available seats of a bus that is loaded and has seats, without loading it; empty
+     * otherwise, in which case the stored counter is the figure to report.
+     */
+    public OptionalInt loadedAvailable(Long busId) {
+        BusSeatMap seats = buses.get(busId);
+        if (seats == null) {
+            return OptionalInt.empty();
+        }
+        SeatCounts counts = seats.counts();
+        return counts.getTotal() > 0 ? OptionalInt.of(counts.getAvailable()) : OptionalInt.empty();
+    }
+
+    public boolean hasSeat(Long busId, String seatNumber) {
+        return state(busId).slotOf(seatNumber) >= 0;
+    }
+
+    /**
+     * What a seat adds to its bus's seat checksum: nothing while it is available, so a
+     * bus whose seats were just created sums to zero in either storage mode, and
+     * otherwise the CRC-32 of {@code "<seatNumber>:<status>"}.
+     */
+    public static long checksum(String seatNumber, Seat.SeatStatus status) {
+        if (status == Seat.SeatStatus.AVAILABLE) {
+            return 0;
+        }
+        CRC32 crc = new CRC32();
+        crc.update((seatNumber + ":" + status.name()).getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    /** Version stamp of a bus's seat state; it changes whenever any seat of the bus does. */
+    public long version(Long busId) {
+        return state(busId).getVersion();
+    }
+
+    /**
+     * The bus's committed seat statuses in the compact format described on
+     * {@link BusSeatMap#toBitmap()}. While a transition on the bus is in flight the
+     * bitmap is encoded from the rows in the store instead and carries no version.
+     */
+    public SeatBitmap bitmap(Long busId) {
+        SeatBitmap bitmap = state(busId).toCommittedBitmap();
+        if (bitmap != null) {
+            return bitmap;
+        }
+        return new SeatBitmap(null, BusSeatMap.of(busId, seatStore.load(busId)).toBitmap());
+    }
+
+    /** Looks a seat up by id, whichever bus it belongs to. */
+    public Optional<SeatDTO> findSeat(Long seatId) {
+        return seatStore.busIdOf(seatId).flatMap(busId -> {
+            BusSeatMap seats = state(busId);
+            int slot = seats.slotOf(seatId);
+            return slot >= 0 ? Optional.of(seats.toDTO(slot)) : Optional.empty();
+        });
+    }
+
+    /** Moves a seat from AVAILABLE to BOOKED; false if it does not exist or is not available. */
+    public boolean claim(Long busId, String seatNumber) {
+        BusSeatMap seats = state(busId);
+        return transition(seats, seats.slotOf(seatNumber), Seat.SeatStatus.AVAILABLE, Seat.SeatStatus.BOOKED);
+    }
+
+    public boolean claimById(Long busId, Long seatId) {
+        BusSeatMap seats = state(busId);
+        return transition(seats, seats.slotOf(seatId), Seat.SeatStatus.AVAILABLE, Seat.SeatStatus.BOOKED);
+    }
+
+    /** Moves a seat from BOOKED back to AVAILABLE; false if it was not booked. */
+    public boolean release(Long busId, String seatNumber) {
+        BusSeatMap seats = state(busId);
+        return transition(seats, seats.slotOf(seatNumber), Seat.SeatStatus.BOOKED, Seat.SeatStatus.AVAILABLE);
+    }
+
+    /**
+     * Books all of the given seats or none of them. The database side is a single
+     * UPDATE ... IN (...); if it matches fewer rows than requested this returns false
+     * and the caller must roll back its transaction.
+     */
+    public boolean claimAll(Long busId, List<String> seatNumbers) {
+        BusSeatMap seats = state(busId);
+        int[] slots = new int[seatNumbers.size()];
+        seats.begin();
+        for (int i = 0; i < slots.length; i++) {
+            int slot = seats.slotOf(seatNumbers.get(i));
+            if (slot < 0 || !seats.compareAndSet(slot, Seat.SeatStatus.AVAILABLE, Seat.SeatStatus.BOOKED)) {
+                revert(seats, slots, i, Seat.SeatStatus.BOOKED, Seat.SeatStatus.AVAILABLE);
+                seats.end();
+                return false;
+            }
+            slots[i] = slot;
+        }
+
+        int updated = seatStore.transitionAll(busId, seatNumbers, Seat.SeatStatus.AVAILABLE, Seat.SeatStatus.BOOKED);
+        if (updated != slots.length) {
+            logger.warn("Only {} of {} seats on bus {} were available in the database, reloading", updated, slots.length, busId);
+            revert(seats, slots, slots.length, Seat.SeatStatus.BOOKED, Seat.SeatStatus.AVAILABLE);
+            seats.end();
+            remove(busId, seats);
+            return false;
+        }
+        adjustCounter(seats, slots, Seat.SeatStatus.AVAILABLE, Seat.SeatStatus.BOOKED);
+
+        afterCompletion(seats, slots, Seat.SeatStatus.BOOKED,
+                () -> revert(seats, slots, slots.length, Seat.SeatStatus.BOOKED, Seat.SeatStatus.AVAILABLE));
+        return true;
+    }
+
+    /** Returns which of the given seats are not currently available (missing or taken). */
+    public List<String> unavailableSeats(Long busId, List<String> seatNumbers) {
+        BusSeatMap seats = state(busId);
+        return seatNumbers.stream()
+                .filter(seatNumber -> {
+                    int slot = seats.slotOf(seatNumber);
+                    return slot < 0 || seats.status(slot) != Seat.SeatStatus.AVAILABLE;
+                })
+                .toList();
+    }
+
+    /** Moves a seat from AVAILABLE to HELD for {@code userId} under {@code token} until {@code heldUntil}. */
+    public boolean hold(Long busId, String seatNumber, String token, Long userId, LocalDateTime heldUntil) {
+        BusSeatMap seats = state(busId);
+        return transition(seats, seats.slotOf(seatNumber), Seat.SeatStatus.AVAILABLE, Seat.SeatStatus.HELD,
+                () -> seatStore.hold(busId, seatNumber, token, userId, heldUntil));
+    }
+
+    /** Ends a hold made for {@code userId} with {@code token}, moving the seat to BOOKED or back to AVAILABLE. */
+    public boolean endHold(Long busId, String seatNumber, String token, Long userId, Seat.SeatStatus to) {
+        BusSeatMap seats = state(busId);
+        return transition(seats, seats.slotOf(seatNumber), Seat.SeatStatus.HELD, to,
+                () -> seatStore.endHold(busId, seatNumber, token, userId, to));
+    }
+
+    /**
+     * Drops the cached state of a bus, now and again once the current transaction
+     * completes, so a concurrent reader cannot re-cache rows that are about to change.
+     */
+    public void evict(Long busId) {
+        remove(busId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(busId);
+                }
+            });
+        }
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Copies the committed state of every bus currently in memory. A bus that keeps
+     * changing while it is copied is left out rather than copied with flips whose
+     * transaction has not finished.
+     */
+    public Map<Long, List<SeatDTO>> snapshot() {
+        Map<Long, List<SeatDTO>> copy = new HashMap<>();
+        buses.forEach((busId, seats) -> {
+            for (int attempt = 0; attempt < 3; attempt++) {
+                List<SeatDTO> committed = seats.toCommittedDTOs();
+                if (committed != null) {
+                    copy.put(busId, committed);
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+        });
+        return copy;
+    }
+
+    /**
+     * Seeds a bus from state recovered outside the database (e.g. a journal replay).
+     * Ignored if the bus is already loaded. The seats only need id, number, type and
+     * status, and must be in creation order.
+     */
+    public void restore(Long busId, List<Seat> seats) {
+        buses.putIfAbsent(busId, BusSeatMap.of(busId, seats.stream().map(SeatRow::of).toList()));
+    }
+
+    private BusSeatMap state(Long busId) {
+        BusSeatMap seats = buses.get(busId);
+        if (seats == null) {
+            // Load outside the map so a slow query never blocks other buses
+            BusSeatMap loaded = BusSeatMap.of(busId, seatStore.load(busId));
+            seats = buses.putIfAbsent(busId, loaded);
+            if (seats == null) {
+                seats = loaded;
+            }
+        }
+        return seats;
+    }
+
+    private void remove(Long busId) {
+        buses.remove(busId);
+        listeners.forEach(listener -> listener.onEvict(busId));
+    }
+
+    private void remove(Long busId, BusSeatMap seats) {
+        if (buses.remove(busId, seats)) {
+            listeners.forEach(listener -> listener.onEvict(busId));
+        }
+    }
+
+    private boolean transition(BusSeatMap seats, int slot, Seat.SeatStatus from, Seat.SeatStatus to) {
+        if (slot < 0) {
+            return false;
+        }
+        String seatNumber = seats.seatNumber(slot);
+        return transition(seats, slot, from, to,
+                () -> seatStore.transition(seats.getBusId(), seatNumber, from, to));
+    }
+
+    private boolean transition(BusSeatMap seats, int slot, Seat.SeatStatus from, Seat.SeatStatus to, IntSupplier write) {
+        if (slot < 0) {
+            return false;
+        }
+        seats.begin();
+        if (!seats.compareAndSet(slot, from, to)) {
+            seats.end();
+            return false;
+        }
+
+        String seatNumber = seats.seatNumber(slot);
+        if (write.getAsInt() == 0) {
+            // Memory disagreed with the database; undo and reload on next access
+            logger.warn("Seat {} on bus {} was not {} in the database, reloading", seatNumber, seats.getBusId(), from);
+            seats.compareAndSet(slot, to, from);
+            seats.end();
+            remove(seats.getBusId(), seats);
+            return false;
+        }
+        int[] slots = {slot};
+        adjustCounter(seats, slots, from, to);
+
+        afterCompletion(seats, slots, to, () -> seats.compareAndSet(slot, to, from));
+        return true;
+    }
+
+    private void adjustCounter(BusSeatMap seats, int[] slots, Seat.SeatStatus from, Seat.SeatStatus to) {
+        int delta = from == Seat.SeatStatus.AVAILABLE ? -slots.length : to == Seat.SeatStatus.AVAILABLE ? slots.length : 0;
+        long checksum = 0;
+        for (int slot : slots) {
+            String seatNumber = seats.seatNumber(slot);
+            checksum += checksum(seatNumber, to) - checksum(seatNumber, from);
+        }
+        availableSeatCounter.add(seats.getBusId(), delta, checksum);
+    }
+
+    private static void revert(BusSeatMap seats, int[] slots, int count, Seat.SeatStatus from, Seat.SeatStatus to) {
+        for (int i = 0; i < count; i++) {
+            seats.compareAndSet(slots[i], from, to);
+        }
+    }
+
+    /**
+     * Undoes the flip of {@code slots} if the transaction rolls back, or tells the
+     * listeners once it commits; either way the transition is no longer in flight.
+     */
+    private void afterCompletion(BusSeatMap seats, int[] slots, Seat.SeatStatus to, Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changed(seats, slots, to);
+            seats.end();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        changed(seats, slots, to);
+                    } else {
+                        undo.run();
+                    }
+                } finally {
+                    seats.end();
+                }
+            }
+        });
+    }
+
+    private void changed(BusSeatMap seats, int[] slots, Seat.SeatStatus to) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        List<SeatDTO> changed = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            // The status this transition committed, not whatever a later one flipped it to since
+            SeatDTO seat = seats.toDTO(slot);
+            seat.setStatus(to.toString());
+            changed.add(seat);
+        }
+        long version = seats.getVersion();
+        for (Listener listener : listeners) {
+            try {
+                listener.onChange(seats.getBusId(), version, changed);
+            } catch (RuntimeException e) {
+                logger.warn("Seat change listener failed for bus {}: {}", seats.getBusId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package BusManagementBooking.bus.seats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How a bus's seats split into REGULAR, ELDER and PREGNANT seats, and how they are
+ * numbered (R01, R02, ..., E01, ..., P01, ...).
+ *
+ * The split follows the {@code bus.seats.elder.percentage} and
+ * {@code bus.seats.pregnant.percentage} settings; regular seats take the remainder.
+ */
+public final class SeatLayout {
+
+    /** Largest bus a layout can describe; virtual seat ids reserve this many per bus. */
+    public static final int MAX_SEATS = 1024;
+
+    private final int regularSeats;
+    private final int elderSeats;
+    private final int pregnantSeats;
+
+    public SeatLayout(int regularSeats, int elderSeats, int pregnantSeats) {
+        this.regularSeats = regularSeats;
+        this.elderSeats = elderSeats;
+        this.pregnantSeats = pregnantSeats;
+    }
+
+    public static SeatLayout of(int totalSeats, int elderPercentage, int pregnantPercentage) {
+        int elderSeats = (totalSeats * elderPercentage) / 100;
+        int pregnantSeats = (totalSeats * pregnantPercentage) / 100;
+        return new SeatLayout(totalSeats - elderSeats - pregnantSeats, elderSeats, pregnantSeats);
+    }
+
+    public int getRegularSeats() {
+        return regularSeats;
+    }
+
+    public int getElderSeats() {
+        return elderSeats;
+    }
+
+    public int getPregnantSeats() {
+        return pregnantSeats;
+    }
+
+    public int getTotalSeats() {
+        return regularSeats + elderSeats + pregnantSeats;
+    }
+
+    /** Builds the seats of this layout, in layout order, as transient entities with the given status. */
+    public List<Seat> seats(Seat.SeatStatus status) {
+        List<Seat> seats = new ArrayList<>(getTotalSeats());
+        addSeats(seats, Seat.SeatType.REGULAR, regularSeats, status);
+        addSeats(seats, Seat.SeatType.ELDER, elderSeats, status);
+        addSeats(seats, Seat.SeatType.PREGNANT, pregnantSeats, status);
+        return seats;
+    }
+
+    /** Seat number of the {@code index}-th (1-based) seat of a type, without String.format. */
+    public static String seatNumber(Seat.SeatType seatType, int index) {
+        char prefix = prefixOf(seatType);
+        return index < 10 ? prefix + "0" + index : prefix + Integer.toString(index);
+    }
+
+    /** The seat type a seat number belongs to, or null if it is not a layout seat number. */
+    public static Seat.SeatType typeOf(String seatNumber) {
+        if (seatNumber == null || seatNumber.isEmpty()) {
+            return null;
+        }
+        switch (seatNumber.charAt(0)) {
+            case 'R':
+                return Seat.SeatType.REGULAR;
+            case 'E':
+                return Seat.SeatType.ELDER;
+            case 'P':
+                return Seat.SeatType.PREGNANT;
+            default:
+                return null;
+        }
+    }
+
+    private static char prefixOf(Seat.SeatType seatType) {
+        switch (seatType) {
+            case ELDER:
+                return 'E';
+            case PREGNANT:
+                return 'P';
+            default:
+                return 'R';
+        }
+    }
+
+    private static void addSeats(List<Seat> seats, Seat.SeatType seatType, int count, Seat.SeatStatus status) {
+        for (int i = 1; i <= count; i++) {
+            seats.add(new Seat(seatNumber(seatType, i), seatType, status, null));
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package BusManagementBooking.bus.seats;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +18,89 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     List<Seat> findByBusIdAndSeatTypeAndStatus(Long busId, Seat.SeatType seatType, Seat.SeatStatus status);
     Optional<Seat> findByBusIdAndSeatNumber(Long busId, String seatNumber);
     int countByBusIdAndSeatType(Long busId, Seat.SeatType seatType);
-} 
\ No newline at end of file
+
+    /** The seats of a bus in creation order, projected without loading entities. */
+    @Query("select new BusManagementBooking.bus.seats.SeatRow(s.id, s.seatNumber, s.seatType, s.status) " +
+           "from Seat s where s.bus.id = :busId order by s.id")
+    List<SeatRow> findRowsByBusId(@Param("busId") Long busId);
+
+    /** The bus a seat belongs to, read from the foreign key column. */
+    @Query("select s.bus.id from Seat s where s.id = :seatId")
+    Optional<Long> findBusIdBySeatId(@Param("seatId") Long seatId);
+
+    /** Seat count per bus as {@code [busId, count, taken]} rows, in one grouped query; taken seats are not in {@code available}. */
+    @Query("select s.bus.id, count(s), sum(case when s.status = :available then 0 else 1 end) from Seat s group by s.bus.id")
+    List<Object[]> countSeatsByBus(@Param("available") Seat.SeatStatus available);
+
+    /** Seat count of one bus per type and status as {@code [seatType, status, count]} rows. */
+    @Query("select s.seatType, s.status, count(s) from Seat s where s.bus.id = :busId group by s.seatType, s.status")
+    List<Object[]> countByTypeAndStatus(@Param("busId") Long busId);
+
+    /** Deletes every seat of a bus in one statement. */
+    @Modifying
+    @Query("delete from Seat s where s.bus.id = :busId")
+    int deleteByBusId(@Param("busId") Long busId);
+
+    /**
+     * Conditionally moves a seat from one status to another in a single statement.
+     * Returns the number of rows changed, so 0 means the seat does not exist or was
+     * not in the expected status (e.g. someone else booked it first).
+     */
+    @Modifying
+    @Query("update Seat s set s.status = :to where s.bus.id = :busId and s.seatNumber = :seatNumber and s.status = :from")
+    int transitionSeat(@Param("busId") Long busId,
+                       @Param("seatNumber") String seatNumber,
+                       @Param("from") Seat.SeatStatus from,
+                       @Param("to") Seat.SeatStatus to);
+
+    @Modifying
+    @Query("update Seat s set s.status = :to where s.bus.id = :busId and s.seatNumber in :seatNumbers and s.status = :from")
+    int transitionSeats(@Param("busId") Long busId,
+                        @Param("seatNumbers") Collection<String> seatNumbers,
+                        @Param("from") Seat.SeatStatus from,
+                        @Param("to") Seat.SeatStatus to);
+
+    @Modifying
+    @Query("update Seat s set s.status = :held, s.holdToken = :token, s.holdUserId = :userId, s.heldUntil = :heldUntil " +
+           "where s.bus.id = :busId and s.seatNumber = :seatNumber and s.status = :available")
+    int holdSeat(@Param("busId") Long busId,
+                 @Param("seatNumber") String seatNumber,
+                 @Param("token") String token,
+                 @Param("userId") Long userId,
+                 @Param("heldUntil") LocalDateTime heldUntil,
+                 @Param("available") Seat.SeatStatus available,
+                 @Param("held") Seat.SeatStatus held);
+
+    /** Ends a hold, either by booking the seat or by handing it back; only matches the hold's own token and user. */
+    @Modifying
+    @Query("update Seat s set s.status = :to, s.holdToken = null, s.holdUserId = null, s.heldUntil = null " +
+           "where s.bus.id = :busId and s.seatNumber = :seatNumber and s.holdToken = :token " +
+           "and s.holdUserId = :userId and s.status = :held")
+    int endHold(@Param("busId") Long busId,
+                @Param("seatNumber") String seatNumber,
+                @Param("token") String token,
+                @Param("userId") Long userId,
+                @Param("held") Seat.SeatStatus held,
+                @Param("to") Seat.SeatStatus to);
+
+    /** Outstanding holds, one row per held seat, without loading the seats or their buses. */
+    @Query("select new BusManagementBooking.bus.seats.HeldSeat(s.bus.id, s.seatNumber, s.holdToken, s.holdUserId, s.heldUntil) " +
+           "from Seat s where s.status = :held and s.holdToken is not null")
+    List<HeldSeat> findHeldSeats(@Param("held") Seat.SeatStatus held);
+
+    /** Deletes seat rows in the given status; used by virtual storage, where an available seat has no row. */
+    @Modifying
+    @Query("delete from Seat s where s.bus.id = :busId and s.seatNumber in :seatNumbers and s.status = :status")
+    int deleteSeats(@Param("busId") Long busId,
+                    @Param("seatNumbers") Collection<String> seatNumbers,
+                    @Param("status") Seat.SeatStatus status);
+
+    @Modifying
+    @Query("delete from Seat s where s.bus.id = :busId and s.seatNumber = :seatNumber and s.holdToken = :token " +
+           "and s.holdUserId = :userId and s.status = :held")
+    int deleteHold(@Param("busId") Long busId,
+                   @Param("seatNumber") String seatNumber,
+                   @Param("token") String token,
+                   @Param("userId") Long userId,
+                   @Param("held") Seat.SeatStatus held);
+}
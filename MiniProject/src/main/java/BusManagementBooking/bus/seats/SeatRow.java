@@ -0,0 +1,19 @@
+package BusManagementBooking.bus.seats;
+
+/**
+ * The part of a seat row the seat inventory needs, with type and status as enum
+ * ordinals. Loaded with a constructor expression, so reading a bus's seats builds
+ * no {@link Seat} entities, no {@code Bus} and nothing for the persistence context
+ * to track.
+ */
+public record SeatRow(long id, String seatNumber, int type, int status) {
+
+    /** Constructor used by the JPQL projection in {@link SeatRepository}. */
+    public SeatRow(Long id, String seatNumber, Seat.SeatType seatType, Seat.SeatStatus status) {
+        this(id, seatNumber, seatType.ordinal(), status.ordinal());
+    }
+
+    static SeatRow of(Seat seat) {
+        return new SeatRow(seat.getId(), seat.getSeatNumber(), seat.getSeatType(), seat.getStatus());
+    }
+}
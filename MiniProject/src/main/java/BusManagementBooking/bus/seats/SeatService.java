@@ -9,6 +9,12 @@ public interface SeatService {
     List<SeatDTO> getAvailableSeatsByBusId(Long busId);
     List<SeatDTO> getAvailableSeatsByTypeAndBusId(Long busId, String seatType);
     Map<String, Integer> getSeatCountByBusId(Long busId);
+    long getSeatMapVersion(Long busId);
+    SeatBitmap getSeatBitmap(Long busId);
     SeatDTO updateSeatStatus(Long seatId, String status);
     void deleteSeatsForBus(Long busId);
+    boolean claimSeat(Long busId, String seatNumber);
+    boolean claimSeatById(Long busId, Long seatId);
+    boolean claimSeats(Long busId, List<String> seatNumbers);
+    boolean releaseSeat(Long busId, String seatNumber);
 } 
\ No newline at end of file
@@ -1,15 +1,14 @@
 package BusManagementBooking.bus.seats;
 
+import BusManagementBooking.bus.buses.AvailableSeatCounter;
 import BusManagementBooking.bus.buses.Bus;
 import BusManagementBooking.bus.buses.BusRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import jakarta.transaction.Transactional;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class SeatServiceImpl implements SeatService {
@@ -20,6 +19,15 @@ public class SeatServiceImpl implements SeatService {
     @Autowired
     private BusRepository busRepository;
     
+    @Autowired
+    private SeatInventory seatInventory;
+    
+    @Autowired
+    private SeatStore seatStore;
+
+    @Autowired
+    private AvailableSeatCounter availableSeatCounter;
+    
     @Override
     @Transactional
     public void initializeSeatsForBus(Long busId, int regularSeats, int elderSeats, int pregnantSeats) {
@@ -31,91 +39,28 @@ public class SeatServiceImpl implements SeatService {
             throw new RuntimeException("Total seats count doesn't match bus total seats");
         }
         
-        // Clear any existing seats for this bus
-        List<Seat> existingSeats = seatRepository.findByBusId(busId);
-        if (!existingSeats.isEmpty()) {
-            seatRepository.deleteAll(existingSeats);
-        }
-        
-        // Create and save regular seats
-        for (int i = 1; i <= regularSeats; i++) {
-            Seat seat = new Seat(
-                "R" + String.format("%02d", i),
-                Seat.SeatType.REGULAR,
-                Seat.SeatStatus.AVAILABLE,
-                bus
-            );
-            seatRepository.save(seat);
-        }
-        
-        // Create and save elder seats
-        for (int i = 1; i <= elderSeats; i++) {
-            Seat seat = new Seat(
-                "E" + String.format("%02d", i),
-                Seat.SeatType.ELDER,
-                Seat.SeatStatus.AVAILABLE,
-                bus
-            );
-            seatRepository.save(seat);
-        }
+        seatInventory.evict(busId);
         
-        // Create and save pregnant women seats
-        for (int i = 1; i <= pregnantSeats; i++) {
-            Seat seat = new Seat(
-                "P" + String.format("%02d", i),
-                Seat.SeatType.PREGNANT,
-                Seat.SeatStatus.AVAILABLE,
-                bus
-            );
-            seatRepository.save(seat);
-        }
+        seatStore.initialize(bus, new SeatLayout(regularSeats, elderSeats, pregnantSeats));
+        // Every new seat is available, and the checksum of the old ones no longer applies
+        availableSeatCounter.reset(busId, totalSeatsToCreate);
     }
     
     @Override
-    @Transactional
     public List<SeatDTO> getSeatsByBusId(Long busId) {
-        return seatRepository.findByBusId(busId).stream()
-            .map(seat -> {
-                // Ensure busId is set correctly
-                SeatDTO dto = SeatDTO.fromEntity(seat);
-                if (dto.getBusId() == null) {
-                    dto.setBusId(busId);
-                }
-                return dto;
-            })
-            .collect(Collectors.toList());
+        return seatInventory.getSeats(busId);
     }
     
     @Override
-    @Transactional
     public List<SeatDTO> getAvailableSeatsByBusId(Long busId) {
-        return seatRepository.findByBusIdAndStatus(busId, Seat.SeatStatus.AVAILABLE).stream()
-            .map(seat -> {
-                // Ensure busId is set correctly
-                SeatDTO dto = SeatDTO.fromEntity(seat);
-                if (dto.getBusId() == null) {
-                    dto.setBusId(busId);
-                }
-                return dto;
-            })
-            .collect(Collectors.toList());
+        return seatInventory.getSeats(busId, null, Seat.SeatStatus.AVAILABLE);
     }
     
     @Override
-    @Transactional
     public List<SeatDTO> getAvailableSeatsByTypeAndBusId(Long busId, String seatType) {
         try {
             Seat.SeatType type = Seat.SeatType.valueOf(seatType);
-            return seatRepository.findByBusIdAndSeatTypeAndStatus(busId, type, Seat.SeatStatus.AVAILABLE).stream()
-                .map(seat -> {
-                    // Ensure busId is set correctly
-                    SeatDTO dto = SeatDTO.fromEntity(seat);
-                    if (dto.getBusId() == null) {
-                        dto.setBusId(busId);
-                    }
-                    return dto;
-                })
-                .collect(Collectors.toList());
+            return seatInventory.getSeats(busId, type, Seat.SeatStatus.AVAILABLE);
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Invalid seat type: " + seatType + ". Valid types are: REGULAR, ELDER, PREGNANT");
         }
@@ -123,11 +68,17 @@ public class SeatServiceImpl implements SeatService {
     
     @Override
     public Map<String, Integer> getSeatCountByBusId(Long busId) {
-        Map<String, Integer> seatCounts = new HashMap<>();
-        seatCounts.put("REGULAR", seatRepository.countByBusIdAndSeatType(busId, Seat.SeatType.REGULAR));
-        seatCounts.put("ELDER", seatRepository.countByBusIdAndSeatType(busId, Seat.SeatType.ELDER));
-        seatCounts.put("PREGNANT", seatRepository.countByBusIdAndSeatType(busId, Seat.SeatType.PREGNANT));
-        return seatCounts;
+        return seatInventory.counts(busId).toMap();
+    }
+    
+    @Override
+    public long getSeatMapVersion(Long busId) {
+        return seatInventory.version(busId);
+    }
+    
+    @Override
+    public SeatBitmap getSeatBitmap(Long busId) {
+        return seatInventory.bitmap(busId);
     }
     
     @Override
@@ -135,18 +86,25 @@ public class SeatServiceImpl implements SeatService {
     public SeatDTO updateSeatStatus(Long seatId, String status) {
         try {
             Seat.SeatStatus seatStatus = Seat.SeatStatus.valueOf(status);
-            Seat seat = seatRepository.findById(seatId)
+            if (seatStatus == Seat.SeatStatus.HELD) {
+                throw new IllegalArgumentException("Seats are held through /seat/hold");
+            }
+            SeatDTO seat = seatInventory.findSeat(seatId)
                 .orElseThrow(() -> new RuntimeException("Seat not found with ID: " + seatId));
+            Long busId = seat.getBusId();
             
-            seat.setStatus(seatStatus);
-            seat = seatRepository.save(seat);
-            
-            // Ensure busId is set correctly
-            SeatDTO dto = SeatDTO.fromEntity(seat);
-            if (dto.getBusId() == null && seat.getBus() != null) {
-                dto.setBusId(seat.getBus().getId());
+            // Go through the same guarded transitions as bookings so the bus counter stays in step
+            if (!seatStatus.toString().equals(seat.getStatus())) {
+                boolean changed = seatStatus == Seat.SeatStatus.BOOKED
+                    ? claimSeatById(busId, seatId)
+                    : releaseSeat(busId, seat.getSeatNumber());
+                if (!changed) {
+                    throw new RuntimeException("Seat " + seat.getSeatNumber() + " changed concurrently, please retry");
+                }
             }
-            return dto;
+            
+            seat.setStatus(seatStatus.toString());
+            return seat;
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Invalid seat status: " + status + ". Valid statuses are: AVAILABLE, BOOKED");
         }
@@ -155,7 +113,40 @@ public class SeatServiceImpl implements SeatService {
     @Override
     @Transactional
     public void deleteSeatsForBus(Long busId) {
-        List<Seat> seats = seatRepository.findByBusId(busId);
-        seatRepository.deleteAll(seats);
+        seatInventory.evict(busId);
+        seatRepository.deleteByBusId(busId);
+    }
+    
+    /**
+     * Books a seat through {@link SeatInventory} (in-memory CAS, then a conditional UPDATE)
+     * (which also decrements the bus counter). This is the only path that moves a seat to
+     * BOOKED, so two concurrent callers can never both succeed for the same seat.
+     */
+    @Override
+    @Transactional
+    public boolean claimSeat(Long busId, String seatNumber) {
+        return seatInventory.claim(busId, seatNumber);
+    }
+    
+    @Override
+    @Transactional
+    public boolean claimSeatById(Long busId, Long seatId) {
+        return seatInventory.claimById(busId, seatId);
+    }
+    
+    /**
+     * Books several seats of one bus all-or-nothing: one UPDATE for the seats and one
+     * counter adjustment for the bus. On false the caller must roll back.
+     */
+    @Override
+    @Transactional
+    public boolean claimSeats(Long busId, List<String> seatNumbers) {
+        return seatInventory.claimAll(busId, seatNumbers);
+    }
+    
+    @Override
+    @Transactional
+    public boolean releaseSeat(Long busId, String seatNumber) {
+        return seatInventory.release(busId, seatNumber);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package BusManagementBooking.bus.seats;
+
+import BusManagementBooking.bus.buses.Bus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * How seat state is persisted, selected with {@code bus.seats.storage}:
+ * {@code rows} (the default) keeps one row per seat, {@code virtual} derives seats
+ * from the {@link SeatLayout} and only keeps rows for seats that are not available.
+ *
+ * Writes are conditional and return the number of seats changed, so 0 means the
+ * seat was not in the expected state. Only {@link SeatInventory} and
+ * {@link SeatServiceImpl} talk to the store.
+ */
+interface SeatStore {
+
+    /** All seats of a bus with their current status, in layout (creation) order. */
+    List<SeatRow> load(Long busId);
+
+    /** Seat counts straight from the database, for buses not loaded into memory. */
+    SeatCounts count(Long busId);
+
+    int transition(Long busId, String seatNumber, Seat.SeatStatus from, Seat.SeatStatus to);
+
+    int transitionAll(Long busId, Collection<String> seatNumbers, Seat.SeatStatus from, Seat.SeatStatus to);
+
+    /** Holds an available seat for {@code userId}, storing the owner with the token in the same write. */
+    int hold(Long busId, String seatNumber, String token, Long userId, LocalDateTime heldUntil);
+
+    /** Ends a hold; matches only the token and user it was made with. */
+    int endHold(Long busId, String seatNumber, String token, Long userId, Seat.SeatStatus to);
+
+    /** Replaces the seats of a bus with a fresh, all-available layout. */
+    void initialize(Bus bus, SeatLayout layout);
+
+    /** The bus a seat id belongs to. */
+    Optional<Long> busIdOf(Long seatId);
+}
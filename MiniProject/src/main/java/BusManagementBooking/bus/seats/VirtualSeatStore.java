@@ -0,0 +1,167 @@
+package BusManagementBooking.bus.seats;
+
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Seats derived from the bus's {@link SeatLayout}; only BOOKED and HELD seats have a row.
+ *
+ * Taking an available seat inserts its row and the (bus_id, seat_number) unique key
+ * decides between concurrent claims; handing it back deletes the row. Seat ids are
+ * synthetic and stable whatever the seat's state: {@code -(busId * 1024 + index + 1)},
+ * where index is the seat's position in the layout.
+ */
+@Component
+@ConditionalOnProperty(name = "bus.seats.storage", havingValue = "virtual")
+class VirtualSeatStore implements SeatStore {
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private BusCache busCache;
+
+    @Autowired
+    private SeatBatchWriter seatBatchWriter;
+
+    @Value("${bus.seats.elder.percentage:10}")
+    private int elderSeatPercentage;
+
+    @Value("${bus.seats.pregnant.percentage:10}")
+    private int pregnantSeatPercentage;
+
+    static long seatId(Long busId, int index) {
+        return -(busId * SeatLayout.MAX_SEATS + index + 1);
+    }
+
+    @Override
+    public List<SeatRow> load(Long busId) {
+        Optional<Bus> bus = busCache.get(busId);
+        if (bus.isEmpty() || bus.get().getTotalSeats() == null) {
+            return List.of();
+        }
+        Map<String, SeatRow> taken = seatRepository.findRowsByBusId(busId).stream()
+                .collect(Collectors.toMap(SeatRow::seatNumber, Function.identity(), (a, b) -> a));
+
+        List<Seat> layout = layoutOf(bus.get()).seats(Seat.SeatStatus.AVAILABLE);
+        List<SeatRow> seats = new ArrayList<>(layout.size());
+        for (int index = 0; index < layout.size(); index++) {
+            Seat seat = layout.get(index);
+            SeatRow row = taken.get(seat.getSeatNumber());
+            seats.add(new SeatRow(seatId(busId, index), seat.getSeatNumber(), seat.getSeatType().ordinal(),
+                    row != null ? row.status() : Seat.SeatStatus.AVAILABLE.ordinal()));
+        }
+        return seats;
+    }
+
+    @Override
+    public SeatCounts count(Long busId) {
+        int[] total = new int[Seat.SeatType.values().length];
+        int[] available = new int[total.length];
+        Optional<Bus> bus = busCache.get(busId);
+        if (bus.isEmpty() || bus.get().getTotalSeats() == null) {
+            return new SeatCounts(total, available);
+        }
+        SeatLayout layout = layoutOf(bus.get());
+        total[Seat.SeatType.REGULAR.ordinal()] = layout.getRegularSeats();
+        total[Seat.SeatType.ELDER.ordinal()] = layout.getElderSeats();
+        total[Seat.SeatType.PREGNANT.ordinal()] = layout.getPregnantSeats();
+        System.arraycopy(total, 0, available, 0, total.length);
+        // Every row is a seat that is not available
+        for (Object[] row : seatRepository.countByTypeAndStatus(busId)) {
+            available[((Seat.SeatType) row[0]).ordinal()] -= ((Long) row[2]).intValue();
+        }
+        return new SeatCounts(total, available);
+    }
+
+    @Override
+    public int transition(Long busId, String seatNumber, Seat.SeatStatus from, Seat.SeatStatus to) {
+        if (from == Seat.SeatStatus.AVAILABLE) {
+            return insert(busId, List.of(row(seatNumber, to)));
+        }
+        if (to == Seat.SeatStatus.AVAILABLE) {
+            return seatRepository.deleteSeats(busId, List.of(seatNumber), from);
+        }
+        return seatRepository.transitionSeat(busId, seatNumber, from, to);
+    }
+
+    @Override
+    public int transitionAll(Long busId, Collection<String> seatNumbers, Seat.SeatStatus from, Seat.SeatStatus to) {
+        if (from == Seat.SeatStatus.AVAILABLE) {
+            List<Seat> rows = new ArrayList<>(seatNumbers.size());
+            for (String seatNumber : seatNumbers) {
+                rows.add(row(seatNumber, to));
+            }
+            // Seats somebody else has are skipped and the rest inserted; the caller rolls back on a short count
+            return insert(busId, rows);
+        }
+        if (to == Seat.SeatStatus.AVAILABLE) {
+            return seatRepository.deleteSeats(busId, seatNumbers, from);
+        }
+        return seatRepository.transitionSeats(busId, seatNumbers, from, to);
+    }
+
+    @Override
+    public int hold(Long busId, String seatNumber, String token, Long userId, LocalDateTime heldUntil) {
+        Seat row = row(seatNumber, Seat.SeatStatus.HELD);
+        row.setHoldToken(token);
+        row.setHoldUserId(userId);
+        row.setHeldUntil(heldUntil);
+        return insert(busId, List.of(row));
+    }
+
+    @Override
+    public int endHold(Long busId, String seatNumber, String token, Long userId, Seat.SeatStatus to) {
+        if (to == Seat.SeatStatus.AVAILABLE) {
+            return seatRepository.deleteHold(busId, seatNumber, token, userId, Seat.SeatStatus.HELD);
+        }
+        return seatRepository.endHold(busId, seatNumber, token, userId, Seat.SeatStatus.HELD, to);
+    }
+
+    @Override
+    public void initialize(Bus bus, SeatLayout layout) {
+        SeatLayout configured = layoutOf(bus);
+        if (configured.getRegularSeats() != layout.getRegularSeats()
+                || configured.getElderSeats() != layout.getElderSeats()
+                || configured.getPregnantSeats() != layout.getPregnantSeats()) {
+            throw new IllegalArgumentException("Virtual seat storage derives the seat split from bus.seats.*.percentage; expected "
+                    + configured.getRegularSeats() + "/" + configured.getElderSeats() + "/" + configured.getPregnantSeats());
+        }
+        // Every seat becomes available again
+        seatRepository.deleteByBusId(bus.getId());
+    }
+
+    @Override
+    public Optional<Long> busIdOf(Long seatId) {
+        if (seatId == null || seatId >= 0) {
+            return Optional.empty();
+        }
+        return Optional.of((-seatId - 1) / SeatLayout.MAX_SEATS);
+    }
+
+    private SeatLayout layoutOf(Bus bus) {
+        return SeatLayout.of(bus.getTotalSeats(), elderSeatPercentage, pregnantSeatPercentage);
+    }
+
+    private static Seat row(String seatNumber, Seat.SeatStatus status) {
+        return new Seat(seatNumber, SeatLayout.typeOf(seatNumber), status, null);
+    }
+
+    /** Inserts the rows that are not taken yet; a short count means somebody else has one of these seats. */
+    private int insert(Long busId, List<Seat> rows) {
+        return seatBatchWriter.insertAbsent(busId, rows);
+    }
+}
@@ -3,7 +3,7 @@ package BusManagementBooking.bus.user;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_role", columnList = "role, id"))
 public class User {
 
     @Id
@@ -3,7 +3,6 @@ package BusManagementBooking.bus.user;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -29,9 +28,13 @@ public class UserController {
         return ResponseEntity.ok("User added successfully!");
     }
 
+    /** One keyset page of users in id order, optionally by {@code role}; without parameters, the first page. */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) String role) {
+        return ResponseEntity.ok(userService.getUserPage(role, cursor, limit));
     }
 
     @GetMapping("/{email}")
@@ -0,0 +1,12 @@
+package BusManagementBooking.bus.user;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/** Queries of {@link UserRepository} whose where clause depends on the filters given. */
+public interface UserRepositoryCustom {
+
+    /** One page of users in id order, starting after {@code cursor}; a null role is left out of the statement. */
+    List<User> findPage(String role, Long cursor, Pageable window);
+}
@@ -0,0 +1,22 @@
+package BusManagementBooking.bus.user;
+
+import BusManagementBooking.bus.common.KeysetQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<User> findPage(String role, Long cursor, Pageable window) {
+        return new KeysetQuery("select u from User u")
+                .where("u.role = :role", "role", role)
+                .where("u.id > :cursor", "cursor", cursor)
+                .list(entityManager, User.class, "u.id", window);
+    }
+}
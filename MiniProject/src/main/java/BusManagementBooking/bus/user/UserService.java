@@ -1,11 +1,12 @@
 package BusManagementBooking.bus.user;
 
-import java.util.List;
+import BusManagementBooking.bus.common.KeysetPage;
+
 import java.util.Optional;
 
 public interface UserService {
     void addUser(UserAddRequestDTO userAddRequestDTO);
-    List<User> getAllUsers();
+    KeysetPage<User> getUserPage(String role, Long cursor, Integer limit);
     Optional<User> getUserByEmail(String email);
     Optional<User> getUserById(Long userId);
     User authenticateUser(String email, String password) throws Exception;
@@ -1,8 +1,8 @@
 package BusManagementBooking.bus.user;
 
+import BusManagementBooking.bus.common.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -32,8 +32,10 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public KeysetPage<User> getUserPage(String role, Long cursor, Integer limit) {
+        String normalizedRole = role == null || role.isBlank() ? null : role.trim();
+        int size = KeysetPage.limit(limit);
+        return KeysetPage.of(userRepository.findPage(normalizedRole, cursor, KeysetPage.window(size)), size, User::getId);
     }
 
     @Override
@@ -0,0 +1,12 @@
+-- Per-bus checksum of the taken seats, kept next to the available-seat counter so the
+-- booking journal can be checked against it on startup without reading the seats.
+-- A seat adds CRC32('<seat_number>:<status>') unless it is AVAILABLE (see SeatInventory.checksum).
+ALTER TABLE buses ADD COLUMN seat_checksum BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE bus_seat_counter_slots ADD COLUMN checksum BIGINT NOT NULL DEFAULT 0;
+
+UPDATE buses b
+SET seat_checksum = (
+    SELECT COALESCE(SUM(CRC32(CONCAT(s.seat_number, ':', s.status))), 0)
+    FROM seats s
+    WHERE s.bus_id = b.id AND s.status <> 'AVAILABLE'
+);
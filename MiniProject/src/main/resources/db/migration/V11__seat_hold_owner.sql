@@ -0,0 +1,2 @@
+-- The user a seat is held for, written with the hold token so only they can confirm it
+ALTER TABLE seats ADD COLUMN hold_user_id BIGINT NULL AFTER hold_token;
@@ -0,0 +1,6 @@
+-- Seats can now be HELD for a pending payment
+ALTER TABLE seats MODIFY COLUMN status VARCHAR(20) NOT NULL;
+
+ALTER TABLE seats
+ADD COLUMN hold_token VARCHAR(36) NULL,
+ADD COLUMN held_until DATETIME(6) NULL;
@@ -0,0 +1,6 @@
+-- A seat number exists at most once per bus; virtual seat storage relies on this
+-- to decide between concurrent claims of the same seat
+ALTER TABLE seats ADD CONSTRAINT uk_seats_bus_seat_number UNIQUE (bus_id, seat_number);
+
+-- When switching to bus.seats.storage=virtual, available seats no longer have a row:
+-- DELETE FROM seats WHERE status = 'AVAILABLE';
@@ -0,0 +1,8 @@
+-- Striped available-seat counter: bookings add to one of several slot rows per bus
+-- instead of updating the buses row, and a background job folds the slots back in
+CREATE TABLE IF NOT EXISTS bus_seat_counter_slots (
+    bus_id BIGINT NOT NULL,
+    slot_no INT NOT NULL,
+    delta INT NOT NULL,
+    PRIMARY KEY (bus_id, slot_no)
+);
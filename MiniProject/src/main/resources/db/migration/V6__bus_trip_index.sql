@@ -0,0 +1,11 @@
+-- Structured copies of route / departure_date / departure_time for /bus/trips.
+-- The application fills them on every save and backfills older rows at startup.
+ALTER TABLE buses
+    ADD COLUMN origin VARCHAR(100),
+    ADD COLUMN destination VARCHAR(100),
+    ADD COLUMN origin_key VARCHAR(100),
+    ADD COLUMN destination_key VARCHAR(100),
+    ADD COLUMN travel_date DATE,
+    ADD COLUMN departure_clock TIME;
+
+CREATE INDEX idx_buses_trip ON buses (origin_key, destination_key, travel_date, departure_clock);
@@ -0,0 +1,7 @@
+-- Indexes behind the cursor-paged GET /bus, /booking and /users listings.
+-- Each ends in id so a filtered page is a range scan in cursor order.
+CREATE INDEX idx_bookings_user_status ON bookings (user_id, status, id);
+CREATE INDEX idx_bookings_status ON bookings (status, id);
+CREATE INDEX idx_buses_route ON buses (origin_key, destination_key, id);
+CREATE INDEX idx_buses_travel_date ON buses (travel_date, id);
+CREATE INDEX idx_users_role ON users (role, id);
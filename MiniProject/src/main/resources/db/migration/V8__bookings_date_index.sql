@@ -0,0 +1,2 @@
+-- Lets /booking/export stream bookings in date order (and by date range) without a sort.
+CREATE INDEX idx_bookings_date ON bookings (booking_date, id);
@@ -0,0 +1,24 @@
+-- "My trips" read model: one row per active booking with its bus details copied in.
+-- The application keeps it in step with bookings and buses and copies in older bookings at startup.
+CREATE TABLE user_trips (
+    booking_id      BIGINT       NOT NULL PRIMARY KEY,
+    user_id         BIGINT       NOT NULL,
+    bus_id          BIGINT       NOT NULL,
+    bus_name        VARCHAR(255),
+    route           VARCHAR(255),
+    origin          VARCHAR(100),
+    destination     VARCHAR(100),
+    departure_date  VARCHAR(255),
+    departure_time  VARCHAR(255),
+    arrival_time    VARCHAR(255),
+    travel_date     DATE,
+    departure_clock TIME,
+    price           DECIMAL(10, 2),
+    seat_number     VARCHAR(255) NOT NULL,
+    booking_date    DATETIME(6)  NOT NULL,
+    amount          DECIMAL(10, 2),
+    status          VARCHAR(20)  NOT NULL
+);
+
+CREATE INDEX idx_user_trips_user_departure ON user_trips (user_id, travel_date, departure_clock, booking_id);
+CREATE INDEX idx_user_trips_bus ON user_trips (bus_id);
@@ -0,0 +1,26 @@
+package BusManagementBooking.bus;
+
+import org.h2.engine.Mode;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Works around an H2 race that the test database hits under concurrent inserts.
+ *
+ * In MySQL mode H2 (2.2.224) moves an identity column's sequence up to every value
+ * inserted into it, to mimic AUTO_INCREMENT after an explicit id. It does so after the
+ * insert and without synchronizing with other sessions drawing from the sequence, so
+ * with enough threads inserting bookings the sequence is set back and hands out an id
+ * that is already taken. Nothing here inserts explicit identity values, so the tests
+ * switch that behaviour off; MySQL itself does not have the race.
+ *
+ * Registered in {@code META-INF/spring.factories}, so it runs before any test
+ * context opens a connection.
+ */
+public class H2IdentityInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        Mode.getInstance("MySQL").updateSequenceOnManualIdentityInsertion = false;
+    }
+}
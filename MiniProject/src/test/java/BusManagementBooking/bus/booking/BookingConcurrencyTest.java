@@ -0,0 +1,171 @@
+package BusManagementBooking.bus.booking;
+
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusRepository;
+import BusManagementBooking.bus.buses.BusService;
+import BusManagementBooking.bus.seats.Seat;
+import BusManagementBooking.bus.seats.SeatRepository;
+import BusManagementBooking.bus.seats.SeatService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingConcurrencyTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Bus createBus(int totalSeats) {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                "Concurrency Express", "Chennai - Madurai", "25-03-2024", "08:00", "14:00",
+                totalSeats, totalSeats, 450.0));
+        seatService.initializeSeatsForBus(bus.getId(), totalSeats, 0, 0);
+        return bus;
+    }
+
+    private BookingAddRequestDTO request(Long userId, Long busId, String seatNumber) {
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(userId);
+        dto.setBusId(busId);
+        dto.setSeatNumber(seatNumber);
+        return dto;
+    }
+
+    @Test
+    void concurrentBookingsOfSameSeatProduceExactlyOneWinner() throws Exception {
+        Bus bus = createBus(10);
+        int threads = 32;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        AtomicInteger losers = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            long userId = i + 1;
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    bookingService.addBooking(request(userId, bus.getId(), "R01"));
+                    winners.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    losers.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(1, winners.get());
+        assertEquals(threads - 1, losers.get());
+        assertEquals(9, busRepository.findSummaryById(bus.getId()).orElseThrow().getAvailableSeats());
+        assertEquals(1, seatRepository.findByBusIdAndStatus(bus.getId(), Seat.SeatStatus.BOOKED).size());
+    }
+
+    @Test
+    void concurrentBookingsOfDistinctSeatsKeepCounterConsistent() throws Exception {
+        Bus bus = createBus(40);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 1; i <= 40; i++) {
+            String seatNumber = "R" + (i < 10 ? "0" + i : String.valueOf(i));
+            long userId = i;
+            futures.add(pool.submit(() -> bookingService.addBooking(request(userId, bus.getId(), seatNumber))));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(0, busRepository.findSummaryById(bus.getId()).orElseThrow().getAvailableSeats());
+        assertEquals(0, seatRepository.findByBusIdAndStatus(bus.getId(), Seat.SeatStatus.AVAILABLE).size());
+    }
+
+    @Test
+    void bookingIssuesConstantNumberOfStatements() {
+        Bus bus = createBus(60);
+        BookingAddRequestDTO dto = request(1L, bus.getId(), "R30");
+        dto.setAmount(bus.getPrice());
+        // Warm the seat inventory so only the booking itself is measured
+        seatService.getSeatsByBusId(bus.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        bookingService.addBooking(dto);
+
+        // seat claim + counter decrement + booking insert, independent of the number of seats
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "expected at most 3 statements but was " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void batchBookingIsAllOrNothing() {
+        Bus bus = createBus(10);
+        bookingService.addBooking(request(1L, bus.getId(), "R03"));
+
+        BookingBatchRequestDTO conflicting = new BookingBatchRequestDTO(
+                2L, bus.getId(), null, List.of("R01", "R02", "R03"), null, null);
+        assertThrows(IllegalArgumentException.class, () -> bookingService.addBookings(conflicting));
+
+        assertEquals(1, seatRepository.findByBusIdAndStatus(bus.getId(), Seat.SeatStatus.BOOKED).size());
+        assertEquals(9, busRepository.findSummaryById(bus.getId()).orElseThrow().getAvailableSeats());
+        assertEquals(9, seatService.getAvailableSeatsByBusId(bus.getId()).size());
+    }
+
+    @Test
+    void batchBookingIssuesConstantNumberOfStatements() {
+        Bus bus = createBus(60);
+        seatService.getSeatsByBusId(bus.getId());
+        List<String> seatNumbers = List.of("R10", "R11", "R12", "R13", "R14", "R15");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<Booking> bookings = bookingService.addBookings(new BookingBatchRequestDTO(
+                1L, bus.getId(), null, seatNumbers, bus.getPrice(), null));
+
+        assertEquals(6, bookings.size());
+        assertTrue(bookings.stream().allMatch(booking -> booking.getId() != null));
+        // one seat UPDATE and one counter UPDATE through Hibernate; the inserts are a single JDBC batch
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "expected at most 2 statements but was " + statistics.getPrepareStatementCount());
+        assertEquals(54, busRepository.findSummaryById(bus.getId()).orElseThrow().getAvailableSeats());
+    }
+}
@@ -0,0 +1,109 @@
+package BusManagementBooking.bus.booking;
+
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusService;
+import BusManagementBooking.bus.seats.SeatService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Booking book(Long busId, String seatNumber, LocalDateTime when) {
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(9001L);
+        dto.setBusId(busId);
+        dto.setSeatNumber(seatNumber);
+        dto.setBookingDate(when);
+        dto.setAmount(new BigDecimal("150.50"));
+        return bookingService.addBooking(dto);
+    }
+
+    private String export(String... params) throws Exception {
+        var builder = get("/booking/export");
+        for (int i = 0; i < params.length; i += 2) {
+            builder.param(params[i], params[i + 1]);
+        }
+        MvcResult started = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Test
+    void streamsFilteredRowsAsNdjsonAndCsv() throws Exception {
+        Long busId = busService.addBus(new BusAddRequestDTO(
+                "Export \"Night\" Liner", "Ooty, Nilgiris - Mysore", "01-09-2030", "22:00", "05:00", 10, 10, 150.5)).getId();
+        seatService.initializeSeatsForBus(busId, 10, 0, 0);
+        Booking early = book(busId, "R01", LocalDateTime.of(2019, 3, 1, 9, 30));
+        Booking cancelled = book(busId, "R02", LocalDateTime.of(2019, 3, 2, 10, 0));
+        Booking late = book(busId, "R03", LocalDateTime.of(2019, 3, 2, 23, 59));
+        book(busId, "R04", LocalDateTime.of(2019, 3, 3, 0, 0));
+        bookingService.cancelBooking(cancelled.getId());
+
+        String ndjson = export("from", "01-03-2019", "to", "2019-03-02");
+        List<JsonNode> rows = ndjson.lines().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).toList();
+        assertEquals(List.of(early.getId(), cancelled.getId(), late.getId()),
+                rows.stream().map(row -> row.get("id").asLong()).toList());
+        JsonNode first = rows.get(0);
+        assertEquals(busId.longValue(), first.get("busId").asLong());
+        assertEquals("Export \"Night\" Liner", first.get("busName").asText());
+        assertEquals("2019-03-01T09:30", first.get("bookingDate").asText());
+        assertEquals(0, new BigDecimal("150.50").compareTo(first.get("amount").decimalValue()));
+        assertEquals("CONFIRMED", first.get("status").asText());
+
+        String csv = export("format", "csv", "from", "2019-03-01", "to", "2019-03-02", "status", "cancelled");
+        assertEquals(List.of(
+                "id,userId,busId,busName,route,seatNumber,bookingDate,amount,status",
+                cancelled.getId() + ",9001," + busId + ",\"Export \"\"Night\"\" Liner\",\"Ooty, Nilgiris - Mysore\",R02,2019-03-02T10:00,150.50,CANCELLED"),
+                csv.lines().toList());
+    }
+
+    @Test
+    void rejectsUnknownFormatsAndDates() throws Exception {
+        mockMvc.perform(get("/booking/export").param("format", "xml")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/booking/export").param("from", "yesterday")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/booking/export").param("format", "csv").param("to", "01-01-2000"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"bookings.csv\""));
+    }
+}
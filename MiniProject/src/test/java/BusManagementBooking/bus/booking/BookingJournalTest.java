@@ -0,0 +1,158 @@
+package BusManagementBooking.bus.booking;
+
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusService;
+import BusManagementBooking.bus.seats.Seat;
+import BusManagementBooking.bus.seats.SeatRepository;
+import BusManagementBooking.bus.seats.SeatService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingJournalTest {
+
+    private static Path dir;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) throws IOException {
+        dir = Files.createTempDirectory("booking-journal");
+        registry.add("bus.journal.enabled", () -> "true");
+        registry.add("bus.journal.dir", dir::toString);
+    }
+
+    @Autowired
+    private BookingJournal bookingJournal;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    private Bus createBus(String name) {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                name, "Chennai - Vellore", "25-03-2024", "06:00", "09:00", 10, 10, 200.0));
+        seatService.initializeSeatsForBus(bus.getId(), 10, 0, 0);
+        // Load the bus into the inventory so snapshots cover it
+        seatService.getSeatsByBusId(bus.getId());
+        return bus;
+    }
+
+    private Booking book(Long busId, long userId, String seatNumber) {
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(userId);
+        dto.setBusId(busId);
+        dto.setSeatNumber(seatNumber);
+        return bookingService.addBooking(dto);
+    }
+
+    @Test
+    void replayOfSnapshotAndSegmentsMatchesSeatRows() throws Exception {
+        Bus busA = createBus("Journal A");
+        Bus busB = createBus("Journal B");
+
+        Booking first = book(busA.getId(), 1L, "R01");
+        book(busA.getId(), 2L, "R02");
+        bookingJournal.snapshot();
+
+        // Changes after the snapshot are only in the segments
+        bookingService.cancelBooking(first.getId());
+        Booking moving = book(busA.getId(), 3L, "R03");
+        Long targetSeat = seatRepository.findByBusIdAndSeatNumber(busB.getId(), "R05").orElseThrow().getId();
+        bookingService.transferSeat(moving.getId(), busB.getId(), targetSeat);
+
+        Map<Long, Map<String, Seat>> replayed = bookingJournal.replay();
+
+        for (Bus bus : new Bus[] {busA, busB}) {
+            Map<String, Seat> seats = replayed.get(bus.getId());
+            assertNotNull(seats, "bus " + bus.getId() + " should be in the journal");
+            for (Seat row : seatRepository.findByBusId(bus.getId())) {
+                assertEquals(row.getStatus(), seats.get(row.getSeatNumber()).getStatus(),
+                        "seat " + row.getSeatNumber() + " of bus " + bus.getId());
+                assertEquals(row.getId(), seats.get(row.getSeatNumber()).getId());
+            }
+        }
+    }
+
+    private void assertReplayMatchesSeatRows(Map<Long, Map<String, Seat>> replayed, Bus... buses) {
+        for (Bus bus : buses) {
+            Map<String, Seat> seats = replayed.get(bus.getId());
+            assertNotNull(seats, "bus " + bus.getId() + " should be in the journal");
+            for (Seat row : seatRepository.findByBusId(bus.getId())) {
+                assertEquals(row.getStatus(), seats.get(row.getSeatNumber()).getStatus(),
+                        "seat " + row.getSeatNumber() + " of bus " + bus.getId());
+            }
+        }
+    }
+
+    private Long seatId(Bus bus, String seatNumber) {
+        return seatRepository.findByBusIdAndSeatNumber(bus.getId(), seatNumber).orElseThrow().getId();
+    }
+
+    @Test
+    void adminStatusChangesAreReplayedAndCheckedPerSeat() throws Exception {
+        Bus bus = createBus("Journal D");
+        book(bus.getId(), 5L, "R02");
+        bookingJournal.snapshot();
+
+        // Same counts as before, different seats
+        seatService.updateSeatStatus(seatId(bus, "R01"), "BOOKED");
+        seatService.updateSeatStatus(seatId(bus, "R02"), "AVAILABLE");
+
+        Map<Long, Map<String, Seat>> replayed = bookingJournal.replay();
+        assertReplayMatchesSeatRows(replayed, bus);
+        assertTrue(bookingJournal.verified(replayed).contains(bus.getId()));
+
+        // A replay that only agrees on the counts is not trusted
+        Map<String, Seat> seats = replayed.get(bus.getId());
+        seats.get("R01").setStatus(Seat.SeatStatus.AVAILABLE);
+        seats.get("R02").setStatus(Seat.SeatStatus.BOOKED);
+        assertFalse(bookingJournal.verified(replayed).contains(bus.getId()));
+    }
+
+    @Test
+    void segmentsCoveredByASnapshotAreArchived() throws Exception {
+        Bus bus = createBus("Journal E");
+        book(bus.getId(), 6L, "R06");
+        bookingJournal.snapshot();
+
+        try (Stream<Path> archived = Files.list(dir.resolve("archive"))) {
+            assertTrue(archived.anyMatch(file -> file.getFileName().toString().startsWith("segment-")));
+        }
+        try (Stream<Path> kept = Files.list(dir)) {
+            assertEquals(1, kept.filter(file -> file.getFileName().toString().startsWith("snapshot-")).count());
+        }
+    }
+
+    @Test
+    void reinitializedBusIsDroppedFromReplay() throws Exception {
+        Bus bus = createBus("Journal C");
+        book(bus.getId(), 4L, "R04");
+        bookingJournal.snapshot();
+
+        seatService.initializeSeatsForBus(bus.getId(), 10, 0, 0);
+
+        assertFalse(bookingJournal.replay().containsKey(bus.getId()));
+    }
+}
@@ -0,0 +1,83 @@
+package BusManagementBooking.bus.booking;
+
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusService;
+import BusManagementBooking.bus.seats.SeatService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class BookingViewQueryTest {
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long bus(String name) {
+        Long busId = busService.addBus(new BusAddRequestDTO(
+                name, "Nagercoil - Tirunelveli", "05-08-2030", "06:30", "08:00", 10, 10, 120.0)).getId();
+        seatService.initializeSeatsForBus(busId, 10, 0, 0);
+        return busId;
+    }
+
+    private void book(long userId, Long busId, String seatNumber) {
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(userId);
+        dto.setBusId(busId);
+        dto.setSeatNumber(seatNumber);
+        bookingService.addBooking(dto);
+    }
+
+    private <T> long statements(Supplier<List<T>> read) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        read.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void listingsTakeOneStatementWhateverTheirSize() {
+        long userId = 8101;
+        Long first = bus("View One");
+        book(userId, first, "R01");
+
+        assertEquals(1, statements(() -> bookingService.getBookingsByUserId(userId)));
+        assertEquals(1, statements(() -> bookingService.getBookingPage(null, null, null, null, null, null, null, null).getItems()));
+
+        Long second = bus("View Two");
+        Long third = bus("View Three");
+        for (int seat = 2; seat <= 6; seat++) {
+            book(userId, seat % 2 == 0 ? second : third, "R0" + seat);
+        }
+
+        assertEquals(1, statements(() -> bookingService.getBookingsByUserId(userId)));
+        assertEquals(1, statements(() -> bookingService.getBookingPage(null, null, null, null, null, null, null, null).getItems()));
+
+        List<BookingViewDTO> views = bookingService.getBookingsByUserId(userId);
+        assertEquals(6, views.size());
+        BookingViewDTO view = views.get(1);
+        assertEquals(second, view.getBusId());
+        assertEquals("View Two", view.getBusName());
+        assertEquals("Nagercoil - Tirunelveli", view.getRoute());
+        assertEquals("06:30", view.getDepartureTime());
+        assertEquals("R02", view.getSeatNumber());
+        assertEquals("CONFIRMED", view.getStatus());
+    }
+}
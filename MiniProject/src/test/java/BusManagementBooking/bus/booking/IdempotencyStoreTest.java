@@ -0,0 +1,152 @@
+package BusManagementBooking.bus.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IdempotencyStoreTest {
+
+    @Test
+    void retryReturnsOriginalResponseWithoutRunningAgain() {
+        IdempotencyStore store = new IdempotencyStore(100, 60);
+        AtomicInteger runs = new AtomicInteger();
+
+        ResponseEntity<?> first = store.execute("k1", "POST /booking", "a", () -> ResponseEntity.ok("booking " + runs.incrementAndGet()));
+        ResponseEntity<?> retry = store.execute("k1", "POST /booking", "a", () -> ResponseEntity.ok("booking " + runs.incrementAndGet()));
+
+        assertEquals(1, runs.get());
+        assertEquals("booking 1", retry.getBody());
+        assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void concurrentRetriesWaitForTheFirstRequest() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(100, 60);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<ResponseEntity<?>>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return store.execute("k2", "POST /booking/transfer", "t", () -> {
+                    runs.incrementAndGet();
+                    sleep(50);
+                    return ResponseEntity.ok("transferred");
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<ResponseEntity<?>> future : futures) {
+            assertEquals("transferred", future.get(10, TimeUnit.SECONDS).getBody());
+        }
+        pool.shutdown();
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void serverErrorsAreNotCachedButClientErrorsAre() {
+        IdempotencyStore store = new IdempotencyStore(100, 60);
+        AtomicInteger runs = new AtomicInteger();
+
+        store.execute("k3", "POST /booking", "a", () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("boom");
+        });
+        store.execute("k3", "POST /booking", "a", () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.badRequest().body("Seat R01 is already booked");
+        });
+        ResponseEntity<?> replayed = store.execute("k3", "POST /booking", "a", () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.ok("booked");
+        });
+
+        assertEquals(2, runs.get());
+        assertEquals(HttpStatus.BAD_REQUEST, replayed.getStatusCode());
+    }
+
+    @Test
+    void keyReusedForDifferentPayloadIsRejected() {
+        IdempotencyStore store = new IdempotencyStore(100, 60);
+        store.execute("k4", "POST /booking", "seat R01", () -> ResponseEntity.ok("booked"));
+
+        ResponseEntity<?> reused = store.execute("k4", "POST /booking", "seat R02", () -> ResponseEntity.ok("booked"));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, reused.getStatusCode());
+    }
+
+    @Test
+    void storeStaysBoundedAndExpiresEntries() {
+        IdempotencyStore bounded = new IdempotencyStore(10, 60);
+        for (int i = 0; i < 100; i++) {
+            bounded.execute("key-" + i, "POST /booking", "a", () -> ResponseEntity.ok("ok"));
+        }
+        assertEquals(10, bounded.size());
+
+        IdempotencyStore expiring = new IdempotencyStore(10, 0);
+        AtomicInteger runs = new AtomicInteger();
+        expiring.execute("k5", "POST /booking", "a", () -> ResponseEntity.ok(runs.incrementAndGet()));
+        expiring.execute("k5", "POST /booking", "a", () -> ResponseEntity.ok(runs.incrementAndGet()));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void runningRequestsAreNeverEvictedAndRetriesStopWaiting() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(1, 60, 0);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<ResponseEntity<?>> first = pool.submit(() -> store.execute("slow", "POST /booking", "a", () -> {
+            runs.incrementAndGet();
+            running.countDown();
+            await(release);
+            return ResponseEntity.ok("booked");
+        }));
+        running.await(10, TimeUnit.SECONDS);
+
+        // Far over the limit while the first request is still running
+        for (int i = 0; i < 20; i++) {
+            store.execute("other-" + i, "POST /booking", "a", () -> ResponseEntity.ok("ok"));
+        }
+        ResponseEntity<?> retry = store.execute("slow", "POST /booking", "a", () -> ResponseEntity.ok("booked " + runs.incrementAndGet()));
+        assertEquals(HttpStatus.CONFLICT, retry.getStatusCode());
+        assertEquals(1, runs.get());
+
+        release.countDown();
+        assertEquals("booked", first.get(10, TimeUnit.SECONDS).getBody());
+        pool.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
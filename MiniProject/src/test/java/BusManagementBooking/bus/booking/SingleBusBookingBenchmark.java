@@ -0,0 +1,105 @@
+package BusManagementBooking.bus.booking;
+
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusRepository;
+import BusManagementBooking.bus.buses.BusService;
+import BusManagementBooking.bus.seats.SeatService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Booking throughput on a single bus at increasing concurrency, i.e. how much the
+ * flash-sale case is still serialized on shared rows. Not part of the normal build:
+ * run with {@code mvn test -Dtest=SingleBusBookingBenchmark -Dbus.benchmark=true}.
+ *
+ * On the in-memory H2 test database throughput stays flat as threads are added, so
+ * this run does not show the striped seat counter scaling. The counter is aimed at
+ * InnoDB row locks on {@code buses}; to measure that, point the run at MySQL with
+ * {@code -Dspring.datasource.url=... -Dspring.datasource.username=... -Dspring.datasource.password=...}.
+ * No InnoDB numbers have been recorded yet.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bus.benchmark", matches = "true")
+class SingleBusBookingBenchmark {
+
+    private static final int SEATS = 1000;
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32};
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Test
+    void bookingThroughputOnOneBus() throws Exception {
+        // Warm up JIT, pools and caches on a bus of its own
+        run(4, 3);
+
+        System.out.printf("%-8s %12s%n", "threads", "bookings/s");
+        for (int threads : THREADS) {
+            double best = 0;
+            for (int round = 0; round < 3; round++) {
+                best = Math.max(best, run(threads, 1));
+            }
+            System.out.printf("%-8d %12.0f%n", threads, best);
+        }
+    }
+
+    /** Books every seat of fresh buses with {@code threads} threads; returns bookings per second. */
+    private double run(int threads, int buses) throws Exception {
+        long elapsed = 0;
+        for (int b = 0; b < buses; b++) {
+            Bus bus = busService.addBus(new BusAddRequestDTO(
+                    "Flash Sale Express", "Chennai - Bangalore", "29-03-2024", "23:00", "05:00", SEATS, SEATS, 999.0));
+            seatService.initializeSeatsForBus(bus.getId(), SEATS, 0, 0);
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger next = new AtomicInteger(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int seat = next.getAndIncrement(); seat <= SEATS; seat = next.getAndIncrement()) {
+                        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+                        dto.setUserId((long) seat);
+                        dto.setBusId(bus.getId());
+                        dto.setSeatNumber(String.format("R%02d", seat));
+                        bookingService.addBooking(dto);
+                    }
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            elapsed += System.nanoTime() - started;
+            pool.shutdown();
+
+            assertEquals(0, busRepository.findSummaryById(bus.getId()).orElseThrow().getAvailableSeats());
+        }
+        return buses * SEATS / (elapsed / 1e9);
+    }
+}
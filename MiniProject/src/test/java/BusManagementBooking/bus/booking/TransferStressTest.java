@@ -0,0 +1,143 @@
+package BusManagementBooking.bus.booking;
+
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusRepository;
+import BusManagementBooking.bus.buses.BusService;
+import BusManagementBooking.bus.seats.Seat;
+import BusManagementBooking.bus.seats.SeatRepository;
+import BusManagementBooking.bus.seats.SeatService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransferStressTest {
+
+    private static final int SEATS_PER_BUS = 24;
+    private static final int PASSENGERS_PER_BUS = 8;
+    private static final int TRANSFERS_PER_PASSENGER = 150;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    private Bus createBus(String name) {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                name, "Chennai - Salem", "25-03-2024", "07:00", "12:00", SEATS_PER_BUS, SEATS_PER_BUS, 380.0));
+        seatService.initializeSeatsForBus(bus.getId(), SEATS_PER_BUS, 0, 0);
+        return bus;
+    }
+
+    @Test
+    void concurrentCrossTransfersKeepCountersConsistent() throws Exception {
+        Bus busA = createBus("Stress A");
+        Bus busB = createBus("Stress B");
+        List<Long> seatIdsA = seatRepository.findByBusId(busA.getId()).stream().map(Seat::getId).toList();
+        List<Long> seatIdsB = seatRepository.findByBusId(busB.getId()).stream().map(Seat::getId).toList();
+
+        // Half the passengers start on each bus, so transfers run in both directions at once
+        int passengers = 2 * PASSENGERS_PER_BUS;
+        long firstUserId = 9_000_000L + busA.getId() * 100;
+        for (int i = 0; i < passengers; i++) {
+            Long busId = i % 2 == 0 ? busA.getId() : busB.getId();
+            BookingAddRequestDTO dto = new BookingAddRequestDTO();
+            dto.setUserId(firstUserId + i);
+            dto.setBusId(busId);
+            dto.setSeatNumber(String.format("R%02d", i / 2 + 1));
+            bookingService.addBooking(dto);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(passengers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger moved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < passengers; i++) {
+            long userId = firstUserId + i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int n = 0; n < TRANSFERS_PER_PASSENGER; n++) {
+                    Booking current = currentBooking(userId);
+                    boolean onA = current.getBusId().equals(busA.getId());
+                    Long targetBus = onA ? busB.getId() : busA.getId();
+                    List<Long> targetSeats = onA ? seatIdsB : seatIdsA;
+                    Long seatId = targetSeats.get(ThreadLocalRandom.current().nextInt(targetSeats.size()));
+                    try {
+                        bookingService.transferSeat(current.getId(), targetBus, seatId);
+                        moved.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        // Target seat already taken by another passenger
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(passengers * TRANSFERS_PER_PASSENGER, moved.get() + rejected.get());
+        assertTrue(moved.get() > 0);
+        assertConsistent(busA.getId());
+        assertConsistent(busB.getId());
+        assertEquals(passengers, bookingRepository.findAll().stream()
+                .filter(booking -> booking.getUserId() >= firstUserId && booking.getUserId() < firstUserId + passengers)
+                .filter(booking -> "CONFIRMED".equals(booking.getStatus()))
+                .count());
+    }
+
+    private Booking currentBooking(long userId) {
+        List<Booking> confirmed = bookingRepository.findByUserId(userId).stream()
+                .filter(booking -> "CONFIRMED".equals(booking.getStatus()))
+                .toList();
+        assertEquals(1, confirmed.size(), "passenger " + userId + " should hold exactly one seat");
+        return confirmed.get(0);
+    }
+
+    private void assertConsistent(Long busId) {
+        List<Seat> seats = seatRepository.findByBusId(busId);
+        long available = seats.stream().filter(seat -> seat.getStatus() == Seat.SeatStatus.AVAILABLE).count();
+        long booked = seats.stream().filter(seat -> seat.getStatus() == Seat.SeatStatus.BOOKED).count();
+        long confirmed = bookingRepository.findAll().stream()
+                .filter(booking -> busId.equals(booking.getBusId()))
+                .filter(booking -> "CONFIRMED".equals(booking.getStatus()))
+                .count();
+
+        assertEquals(available, busRepository.findSummaryById(busId).orElseThrow().getAvailableSeats().longValue());
+        assertEquals(confirmed, booked);
+        assertEquals(SEATS_PER_BUS, available + booked);
+    }
+}
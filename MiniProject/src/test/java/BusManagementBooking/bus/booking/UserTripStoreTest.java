@@ -0,0 +1,94 @@
+package BusManagementBooking.bus.booking;
+
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusService;
+import BusManagementBooking.bus.seats.SeatDTO;
+import BusManagementBooking.bus.seats.SeatService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class UserTripStoreTest {
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long bus(String name, String date, String departureTime) {
+        Long busId = busService.addBus(new BusAddRequestDTO(
+                name, "Salem - Erode", date, departureTime, "23:00", 10, 10, 95.0)).getId();
+        seatService.initializeSeatsForBus(busId, 10, 0, 0);
+        return busId;
+    }
+
+    private Booking book(long userId, Long busId, String seatNumber) {
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(userId);
+        dto.setBusId(busId);
+        dto.setSeatNumber(seatNumber);
+        return bookingService.addBooking(dto);
+    }
+
+    private List<Long> tripBookingIds(long userId) {
+        return bookingService.getUpcomingTrips(userId, null).stream().map(UserTrip::getBookingId).toList();
+    }
+
+    @Test
+    void tripsFollowBookingsAndAreReadInOneStatement() throws Exception {
+        long userId = 8401;
+        Long later = bus("Trips Later", "20-03-2031", "09:00");
+        Long sooner = bus("Trips Sooner", "18-03-2031", "21:15");
+        Long past = bus("Trips Past", "18-03-2020", "09:00");
+
+        Booking first = book(userId, later, "R01");
+        Booking second = book(userId, sooner, "R02");
+        Booking third = book(userId, later, "R03");
+        book(userId, past, "R01");
+        book(8402, later, "R04");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<UserTrip> trips = bookingService.getUpcomingTrips(userId, "confirmed");
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(second.getId(), first.getId(), third.getId()), trips.stream().map(UserTrip::getBookingId).toList());
+        UserTrip trip = trips.get(0);
+        assertEquals("Trips Sooner", trip.getBusName());
+        assertEquals("Salem - Erode", trip.getRoute());
+        assertEquals("21:15", trip.getDepartureTime());
+        assertEquals("R02", trip.getSeatNumber());
+        assertEquals("CONFIRMED", trip.getStatus());
+
+        bookingService.cancelBooking(third.getId());
+        assertEquals(List.of(second.getId(), first.getId()), tripBookingIds(userId));
+
+        SeatDTO target = seatService.getSeatsByBusId(sooner).stream()
+                .filter(seat -> "R07".equals(seat.getSeatNumber()))
+                .findFirst().orElseThrow();
+        bookingService.transferSeat(first.getId(), sooner, target.getId());
+        List<UserTrip> moved = bookingService.getUpcomingTrips(userId, null);
+        assertEquals(2, moved.size());
+        assertEquals(sooner, moved.get(1).getBusId());
+        assertEquals("R07", moved.get(1).getSeatNumber());
+
+        busService.updateBus(sooner, new BusAddRequestDTO(
+                "Trips Renamed", "Salem - Erode", "18-03-2031", "21:15", "23:00", 8, 10, 95.0));
+        bookingService.getUpcomingTrips(userId, null)
+                .forEach(updated -> assertEquals("Trips Renamed", updated.getBusName()));
+    }
+}
@@ -0,0 +1,111 @@
+package BusManagementBooking.bus.buses;
+
+import BusManagementBooking.bus.booking.Booking;
+import BusManagementBooking.bus.booking.BookingAddRequestDTO;
+import BusManagementBooking.bus.booking.BookingService;
+import BusManagementBooking.bus.seats.SeatService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class AvailableSeatCounterTest {
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AvailableSeatCounter availableSeatCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Booking book(Long busId, String seatNumber) {
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(1L);
+        dto.setBusId(busId);
+        dto.setSeatNumber(seatNumber);
+        return bookingService.addBooking(dto);
+    }
+
+    private int storedColumn(Long busId) {
+        return jdbcTemplate.queryForObject("SELECT available_seats FROM buses WHERE id = ?", Integer.class, busId);
+    }
+
+    private int slotRows(Long busId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bus_seat_counter_slots WHERE bus_id = ?", Integer.class, busId);
+    }
+
+    @Test
+    void bookingsGoToSlotsAndCompactionFoldsThemIn() {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                "Striped Express", "Chennai - Vellore", "28-03-2024", "06:00", "09:00", 30, 30, 250.0));
+        Long busId = bus.getId();
+        seatService.initializeSeatsForBus(busId, 30, 0, 0);
+
+        Booking cancelled = book(busId, "R01");
+        for (int seat = 2; seat <= 12; seat++) {
+            book(busId, String.format("R%02d", seat));
+        }
+        bookingService.cancelBooking(cancelled.getId());
+
+        // The bus row is untouched; summaries add the slots on read
+        assertEquals(30, storedColumn(busId));
+        assertEquals(19, busRepository.findSummaryById(busId).orElseThrow().getAvailableSeats());
+
+        availableSeatCounter.compact();
+        assertEquals(19, storedColumn(busId));
+        assertEquals(0, slotRows(busId));
+        assertEquals(19, busRepository.findSummaryById(busId).orElseThrow().getAvailableSeats());
+
+        book(busId, "R20");
+        assertEquals(18, busRepository.findSummaryById(busId).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void settingAvailableSeatsAccountsForPendingSlots() {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                "Override Express", "Chennai - Pondicherry", "28-03-2024", "07:00", "10:00", 10, 10, 200.0));
+        Long busId = bus.getId();
+        seatService.initializeSeatsForBus(busId, 10, 0, 0);
+        book(busId, "R01");
+        book(busId, "R02");
+
+        availableSeatCounter.set(busId, 5);
+        assertEquals(0, slotRows(busId));
+
+        assertEquals(5, busRepository.findSummaryById(busId).orElseThrow().getAvailableSeats());
+        availableSeatCounter.compact();
+        assertEquals(5, storedColumn(busId));
+    }
+
+    @Test
+    void updatingABusSetsAvailableSeatsAgainstCurrentSlots() {
+        // Only a bus without seats takes its availability from an update
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                "Edited Express", "Chennai - Trichy", "28-03-2024", "08:00", "13:00", 10, 10, 300.0));
+        Long busId = bus.getId();
+        availableSeatCounter.add(busId, -1, 0);
+
+        Bus updated = busService.updateBus(busId, new BusAddRequestDTO(
+                "Edited Express", "Chennai - Trichy", "28-03-2024", "08:00", "13:00", 7, 10, 300.0));
+        assertEquals(7, updated.getAvailableSeats());
+        assertEquals(7, storedColumn(busId));
+        assertEquals(0, slotRows(busId));
+
+        availableSeatCounter.add(busId, -1, 0);
+        assertEquals(6, busRepository.findSummaryById(busId).orElseThrow().getAvailableSeats());
+    }
+}
@@ -0,0 +1,106 @@
+package BusManagementBooking.bus.buses;
+
+import BusManagementBooking.bus.booking.BookingAddRequestDTO;
+import BusManagementBooking.bus.booking.BookingService;
+import BusManagementBooking.bus.seats.SeatService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class BusCacheTest {
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BusCache busCache;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    private void book(Long busId, String seatNumber) {
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(1L);
+        dto.setBusId(busId);
+        dto.setSeatNumber(seatNumber);
+        bookingService.addBooking(dto);
+    }
+
+    private long stat(String name) {
+        return ((Number) busCache.stats().get(name)).longValue();
+    }
+
+    @Test
+    void seatChangesMoveTheCachedCountWithoutReloading() {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                "Cached Express", "Madurai - Theni", "02-07-2030", "07:00", "09:00", 10, 10, 180.0));
+        Long busId = bus.getId();
+        seatService.initializeSeatsForBus(busId, 10, 0, 0);
+
+        assertEquals(10, busCache.get(busId).orElseThrow().getAvailableSeats());
+        long misses = stat("misses");
+
+        book(busId, "R01");
+        book(busId, "R02");
+        // Taken seat: the transaction rolls back and the cached count stays put
+        assertThrows(IllegalArgumentException.class, () -> book(busId, "R02"));
+
+        Bus cached = busCache.get(busId).orElseThrow();
+        assertEquals(8, cached.getAvailableSeats());
+        assertEquals(0, new BigDecimal("180.00").compareTo(cached.getPrice()));
+        assertEquals(misses, stat("misses"));
+        assertEquals(8, busService.getBusSummary(busId, false).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void updateAndDeleteInvalidate() {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                "Renamed Later", "Salem - Erode", "03-07-2030", "08:00", "10:00", 10, 10, 90.0));
+        Long busId = bus.getId();
+        busCache.get(busId);
+
+        busService.updateBus(busId, new BusAddRequestDTO(
+                "Renamed Now", "Salem - Erode", "03-07-2030", "08:00", "10:00", 10, 10, 95.0));
+        assertEquals("Renamed Now", busCache.get(busId).orElseThrow().getName());
+
+        busService.deleteBus(busId);
+        assertFalse(busCache.exists(busId));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOverTheLimit() {
+        BusCache small = new BusCache(2, 300);
+        ReflectionTestUtils.setField(small, "busRepository", busRepository);
+        Long[] ids = new Long[3];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = busService.addBus(new BusAddRequestDTO(
+                    "Small Cache " + i, "Trichy - Karur", "04-07-2030", "09:00", "11:00", 10, 10, 70.0)).getId();
+        }
+
+        small.get(ids[0]);
+        small.get(ids[1]);
+        small.get(ids[0]);
+        small.get(ids[2]);
+
+        assertEquals(2, small.size());
+        assertEquals(1L, ((Number) small.stats().get("evictions")).longValue());
+        small.get(ids[0]);
+        assertEquals(2L, ((Number) small.stats().get("hits")).longValue());
+        small.get(ids[1]);
+        assertEquals(4L, ((Number) small.stats().get("misses")).longValue());
+    }
+}
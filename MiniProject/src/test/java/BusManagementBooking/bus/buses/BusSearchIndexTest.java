@@ -0,0 +1,65 @@
+package BusManagementBooking.bus.buses;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BusSearchIndexTest {
+
+    private BusSearchIndex index;
+
+    private static Bus bus(long id, String name, String route) {
+        Bus bus = new Bus(name, route, "25-03-2024", "08:00", "14:00", 40, 40, BigDecimal.TEN);
+        bus.setId(id);
+        return bus;
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new BusSearchIndex();
+        index.put(bus(1, "Chennai Express", "Chennai - Bangalore"));
+        index.put(bus(2, "Night Rider", "Madurai - Chennai"));
+        index.put(bus(3, "Coastal Express", "Chennai - Pondicherry"));
+        index.put(bus(4, "Hill Queen", "Coimbatore - Ooty"));
+    }
+
+    @Test
+    void matchesSubstringsOfNameAndRouteIgnoringCase() {
+        assertEquals(List.of(1L, 3L), index.search("EXPRESS", null));
+        assertEquals(List.of(1L, 2L, 3L), index.search(null, "chennai"));
+        assertEquals(List.of(3L), index.search("express", "pondi"));
+        assertEquals(List.of(2L), index.search("ght ri", null));
+        assertEquals(List.of(), index.search("express", "ooty"));
+        assertEquals(List.of(), index.search("zzz", null));
+    }
+
+    @Test
+    void confirmsCandidatesAgainstTheText() {
+        // Every trigram of "nai - che" appears in bus 1, but not as one substring
+        index.put(bus(5, "Shuttle", "nai - xx che"));
+        assertEquals(List.of(), index.search(null, "nai - che"));
+        assertEquals(List.of(1L, 2L, 3L, 5L), index.search(null, "nai"));
+    }
+
+    @Test
+    void shortTermsAreCheckedWithoutTrigrams() {
+        assertEquals(List.of(1L, 2L), index.search("i", "ai"));
+        assertEquals(List.of(4L), index.search(null, "oo"));
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        index.put(bus(4, "Hill Express", "Coimbatore - Ooty"));
+        assertEquals(List.of(1L, 3L, 4L), index.search("express", null));
+        assertEquals(List.of(), index.search("queen", null));
+
+        index.remove(1L);
+        assertEquals(List.of(3L, 4L), index.search("express", null));
+        assertEquals(3, index.size());
+        assertEquals(List.of(2L, 3L, 4L), index.search("", null));
+    }
+}
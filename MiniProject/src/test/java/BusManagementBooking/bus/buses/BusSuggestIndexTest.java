@@ -0,0 +1,83 @@
+package BusManagementBooking.bus.buses;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BusSuggestIndexTest {
+
+    private static final DateTimeFormatter DAY_FIRST = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private BusSuggestIndex index;
+
+    private static Bus bus(long id, String name, String route, LocalDate date, String time) {
+        Bus bus = new Bus(name, route, date.format(DAY_FIRST), time, "23:00", 40, 40, BigDecimal.TEN);
+        bus.setId(id);
+        bus.refreshTripColumns();
+        return bus;
+    }
+
+    private static List<String> texts(List<BusSuggestionDTO> suggestions) {
+        return suggestions.stream().map(BusSuggestionDTO::toString).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        LocalDate soon = LocalDate.now().plusDays(3);
+        LocalDate past = LocalDate.now().minusDays(3);
+        index = new BusSuggestIndex();
+        index.put(bus(1, "Chennai Express", "Chennai - Bangalore", soon, "08:00"));
+        index.put(bus(2, "Night Rider", "Chennai - Madurai", soon, "21:00"));
+        index.put(bus(3, "Morning Star", "Chennai - Madurai", soon.plusDays(1), "06:00"));
+        index.put(bus(4, "Chengalpattu Local", "Chengalpattu - Tambaram", past, "07:00"));
+    }
+
+    @Test
+    void ranksByUpcomingDeparturesThenSoonest() {
+        assertEquals(List.of("STOP:Chennai", "ROUTE:Chennai - Madurai", "ROUTE:Chennai - Bangalore",
+                        "BUS:Chennai Express", "STOP:Chengalpattu", "ROUTE:Chengalpattu - Tambaram",
+                        "BUS:Chengalpattu Local"),
+                texts(index.suggest("  CHE", 10)));
+        BusSuggestionDTO chennai = index.suggest("chennai", 1).get(0);
+        assertEquals(3, chennai.getUpcomingDepartures());
+        assertEquals(LocalDate.now().plusDays(3).atTime(8, 0), chennai.getNextDeparture());
+        assertEquals(List.of("STOP:Madurai"), texts(index.suggest("mad", 10)));
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        index.put(bus(2, "Night Rider", "Chennai - Trichy", LocalDate.now().plusDays(5), "21:00"));
+        assertEquals(List.of("STOP:Madurai"), texts(index.suggest("mad", 10)));
+        assertEquals(1, index.suggest("mad", 10).get(0).getUpcomingDepartures());
+        assertEquals(List.of("STOP:Trichy"), texts(index.suggest("tri", 10)));
+
+        index.remove(3L);
+        assertEquals(List.of(), index.suggest("madurai", 10));
+        assertEquals(List.of(), index.suggest("morning", 10));
+        assertEquals(List.of(), index.suggest(" ", 10));
+    }
+
+    @Test
+    void keepsOnlyTheBestRankedWithinTheLimit() {
+        LocalDate soon = LocalDate.now().plusDays(3);
+        for (long id = 10; id < 14; id++) {
+            index.put(bus(id, "Salem Shuttle " + id, "Salem - Erode", soon, "1" + (id - 10) + ":00"));
+        }
+        index.put(bus(20, "Salem Late", "Salem - Namakkal", soon.plusDays(2), "09:00"));
+
+        assertEquals(List.of("STOP:Salem", "ROUTE:Salem - Erode"), texts(index.suggest("sal", 2)));
+        assertEquals(5, index.suggest("salem", 1).get(0).getUpcomingDepartures());
+
+        index.remove(10L);
+        index.put(bus(11, "Salem Shuttle 11", "Salem - Erode", LocalDate.now().minusDays(1), "11:00"));
+        BusSuggestionDTO route = index.suggest("salem - e", 1).get(0);
+        assertEquals(2, route.getUpcomingDepartures());
+        assertEquals(soon.atTime(12, 0), route.getNextDeparture());
+    }
+}
@@ -0,0 +1,100 @@
+package BusManagementBooking.bus.buses;
+
+import BusManagementBooking.bus.booking.BookingAddRequestDTO;
+import BusManagementBooking.bus.booking.BookingService;
+import BusManagementBooking.bus.seats.SeatService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BusSummaryQueryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long bus(String name) {
+        Long busId = busService.addBus(new BusAddRequestDTO(
+                name, "Madurai - Trichy", "12-09-2030", "07:00", "09:30", 10, 10, 180.0)).getId();
+        seatService.initializeSeatsForBus(busId, 10, 0, 0);
+        return busId;
+    }
+
+    private JsonNode getJson(String path) throws Exception {
+        String body = mockMvc.perform(get(path)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    @Test
+    void summariesTakeOneStatementAndCarryNoCollections() throws Exception {
+        Long busId = bus("Summary One");
+        bus("Summary Two");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        JsonNode one = getJson("/bus/" + busId);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("Summary One", one.get("name").asText());
+        assertEquals(10, one.get("availableSeats").asInt());
+        assertFalse(one.has("seats"));
+        assertFalse(one.has("bookings"));
+
+        statistics.clear();
+        JsonNode all = getJson("/bus");
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(all.size() >= 2);
+        all.forEach(bus -> assertFalse(bus.has("seats")));
+
+        statistics.clear();
+        JsonNode page = getJson("/bus?limit=1");
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, page.get("items").size());
+    }
+
+    @Test
+    void seatsAreOnlyExpandedOnRequest() throws Exception {
+        Long busId = bus("Summary Seats");
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(8301L);
+        dto.setBusId(busId);
+        dto.setSeatNumber("R01");
+        bookingService.addBooking(dto);
+
+        JsonNode bus = getJson("/bus/" + busId + "?include=seats");
+        assertEquals(9, bus.get("availableSeats").asInt());
+        assertEquals(10, bus.get("seats").size());
+
+        JsonNode page = getJson("/bus?limit=50&include=seats");
+        page.get("items").forEach(item -> assertTrue(item.has("seats")));
+    }
+}
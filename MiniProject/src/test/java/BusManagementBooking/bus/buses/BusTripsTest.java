@@ -0,0 +1,95 @@
+package BusManagementBooking.bus.buses;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BusTripsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private BusServiceImpl busServiceImpl;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Bus add(String name, String route, String date, String departure) {
+        return busService.addBus(new BusAddRequestDTO(name, route, date, departure, "23:59", 40, 40, 500.0));
+    }
+
+    @Test
+    void tripsAreFoundByStopsAndDateInDepartureOrder() throws Exception {
+        add("Trips Late", "Tirunelveli - Nagercoil", "10-04-2030", "21:30");
+        add("Trips Early", "tirunelveli  -  NAGERCOIL", "2030-04-10", "6:15");
+        add("Trips Noon", "Tirunelveli to Nagercoil", "10-04-2030", "12:00 PM");
+        add("Trips Reverse", "Nagercoil - Tirunelveli", "10-04-2030", "09:00");
+        add("Trips Next Day", "Tirunelveli - Nagercoil", "11-04-2030", "05:00");
+
+        mockMvc.perform(get("/bus/trips").param("from", "Tirunelveli").param("to", "nagercoil").param("date", "10-04-2030"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Trips Early", "Trips Noon", "Trips Late")))
+                .andExpect(jsonPath("$[0].origin").value("tirunelveli"))
+                .andExpect(jsonPath("$[0].travelDate").value("2030-04-10"));
+
+        mockMvc.perform(get("/bus/trips").param("from", "tirunelveli").param("to", "nagercoil"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[3].name").value("Trips Next Day"));
+
+        mockMvc.perform(get("/bus/trips").param("from", "Tirunelveli").param("to", "Nagercoil").param("date", "someday"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updatesAndOlderRowsKeepTheTripColumnsCurrent() {
+        Bus bus = add("Trips Moved", "Salem - Erode", "01-05-2030", "07:00");
+        busService.updateBus(bus.getId(), new BusAddRequestDTO(
+                "Trips Moved", "Salem - Karur", "02-05-2030", "08:45", "11:00", 40, 40, 500.0));
+        assertEquals(List.of(bus.getId()), ids(busService.findTrips("salem", "karur", "02-05-2030")));
+        assertEquals(List.of(), ids(busService.findTrips("salem", "erode", "01-05-2030")));
+
+        // A row written before the columns existed is picked up at startup
+        jdbcTemplate.update("UPDATE buses SET origin_key = NULL, destination_key = NULL, travel_date = NULL WHERE id = ?", bus.getId());
+        busServiceImpl.backfillTripColumns();
+        Bus reloaded = busRepository.findById(bus.getId()).orElseThrow();
+        assertEquals(LocalDate.of(2030, 5, 2), reloaded.getTravelDate());
+        assertEquals(LocalTime.of(8, 45), reloaded.getDepartureClock());
+        assertEquals(List.of(bus.getId()), ids(busService.findTrips("Salem", "Karur", "2030-05-02")));
+    }
+
+    private static List<Long> ids(List<BusSummaryDTO> buses) {
+        return buses.stream().map(BusSummaryDTO::getId).toList();
+    }
+
+    @Test
+    void hyphenatedStopNamesStayWholeWhenTheRouteUsesASpacedSeparator() {
+        assertEquals(List.of("Navi Mumbai", "Sawantwadi-Road"), List.of(TripKeys.stops("Navi Mumbai - Sawantwadi-Road")));
+        assertEquals(List.of("Chennai", "Bangalore"), List.of(TripKeys.stops("Chennai-Bangalore")));
+        assertEquals(List.of("Udhagamandalam-Ooty", "Coimbatore", "Madurai"),
+                TripKeys.allStops("Udhagamandalam-Ooty to Coimbatore → Madurai"));
+    }
+}
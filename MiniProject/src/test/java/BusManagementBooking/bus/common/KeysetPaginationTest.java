@@ -0,0 +1,142 @@
+package BusManagementBooking.bus.common;
+
+import BusManagementBooking.bus.booking.Booking;
+import BusManagementBooking.bus.booking.BookingAddRequestDTO;
+import BusManagementBooking.bus.booking.BookingService;
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusService;
+import BusManagementBooking.bus.seats.SeatService;
+import BusManagementBooking.bus.user.UserAddRequestDTO;
+import BusManagementBooking.bus.user.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class KeysetPaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Booking book(Long userId, Long busId, String seatNumber) {
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(userId);
+        dto.setBusId(busId);
+        dto.setSeatNumber(seatNumber);
+        return bookingService.addBooking(dto);
+    }
+
+    @Test
+    void bookingPagesFollowTheCursorNewestFirst() throws Exception {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                "Paging Express", "Chennai - Hosur", "12-06-2030", "10:00", "14:00", 10, 10, 300.0));
+        seatService.initializeSeatsForBus(bus.getId(), 10, 0, 0);
+        long userId = 7001;
+        List<Long> ids = new ArrayList<>();
+        for (int seat = 1; seat <= 5; seat++) {
+            ids.add(book(userId, bus.getId(), "R0" + seat).getId());
+        }
+        bookingService.cancelBooking(ids.get(1));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/booking").param("userId", Long.toString(userId)).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(ids.get(4).intValue(), ids.get(3).intValue())))
+                .andExpect(jsonPath("$.nextCursor").value(ids.get(3)))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.items[0].busName").value("Paging Express"))
+                .andExpect(jsonPath("$.items[0].route").value("Chennai - Hosur"));
+        // The page and its buses come from one statement
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/booking").param("userId", Long.toString(userId)).param("limit", "2")
+                        .param("cursor", Long.toString(ids.get(3))))
+                .andExpect(jsonPath("$.items[*].id", contains(ids.get(2).intValue(), ids.get(1).intValue())));
+        mockMvc.perform(get("/booking").param("userId", Long.toString(userId)).param("limit", "2")
+                        .param("cursor", Long.toString(ids.get(1))))
+                .andExpect(jsonPath("$.items[*].id", contains(ids.get(0).intValue())))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        mockMvc.perform(get("/booking").param("userId", Long.toString(userId)).param("status", "cancelled"))
+                .andExpect(jsonPath("$.items[*].id", contains(ids.get(1).intValue())));
+    }
+
+    @Test
+    void bookingPagesFilterOnTheBookedTrip() throws Exception {
+        Bus earlyDay = busService.addBus(new BusAddRequestDTO(
+                "Trip Filter A", "Trichy - Thanjavur", "15-06-2030", "07:00", "09:00", 10, 10, 150.0));
+        Bus laterDay = busService.addBus(new BusAddRequestDTO(
+                "Trip Filter B", "Trichy - Thanjavur", "16-06-2030", "07:00", "09:00", 10, 10, 150.0));
+        seatService.initializeSeatsForBus(earlyDay.getId(), 10, 0, 0);
+        seatService.initializeSeatsForBus(laterDay.getId(), 10, 0, 0);
+        Long first = book(7101L, earlyDay.getId(), "R01").getId();
+        Long second = book(7102L, laterDay.getId(), "R01").getId();
+
+        mockMvc.perform(get("/booking").param("from", "trichy").param("to", "Thanjavur"))
+                .andExpect(jsonPath("$.items[*].id", contains(second.intValue(), first.intValue())));
+        mockMvc.perform(get("/booking").param("from", "trichy").param("date", "2030-06-15"))
+                .andExpect(jsonPath("$.items[*].id", contains(first.intValue())));
+        mockMvc.perform(get("/booking").param("date", "mid-June"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void busAndUserPagesFilterOnTheServer() throws Exception {
+        List<Long> buses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            buses.add(busService.addBus(new BusAddRequestDTO(
+                    "Paged Bus " + i, "Karur - Dindigul", "13-06-2030", "0" + i + ":00", "09:00", 10, 10, 200.0)).getId());
+        }
+        busService.addBus(new BusAddRequestDTO(
+                "Other Day", "Karur - Dindigul", "14-06-2030", "05:00", "09:00", 10, 10, 200.0));
+
+        mockMvc.perform(get("/bus").param("date", "13-06-2030").param("limit", "2"))
+                .andExpect(jsonPath("$.items[*].id", contains(buses.get(0).intValue(), buses.get(1).intValue())))
+                .andExpect(jsonPath("$.nextCursor").value(buses.get(1)));
+        mockMvc.perform(get("/bus").param("from", "karur").param("to", "dindigul").param("date", "2030-06-13")
+                        .param("cursor", Long.toString(buses.get(1))))
+                .andExpect(jsonPath("$.items[*].id", contains(buses.get(2).intValue())));
+        mockMvc.perform(get("/bus").param("date", "June"))
+                .andExpect(status().isBadRequest());
+
+        userService.addUser(new UserAddRequestDTO("Page One", "page.one@example.com", 30, "F", "AUDITOR", "secret", false));
+        userService.addUser(new UserAddRequestDTO("Page Two", "page.two@example.com", 31, "M", "AUDITOR", "secret", false));
+        mockMvc.perform(get("/users").param("role", "AUDITOR").param("limit", "1"))
+                .andExpect(jsonPath("$.items[*].email", contains("page.one@example.com")))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+}
@@ -0,0 +1,147 @@
+package BusManagementBooking.bus.config;
+
+import BusManagementBooking.bus.booking.BookingAddRequestDTO;
+import BusManagementBooking.bus.booking.BookingService;
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusRepository;
+import BusManagementBooking.bus.buses.BusService;
+import BusManagementBooking.bus.seats.Seat;
+import BusManagementBooking.bus.seats.SeatRepository;
+import BusManagementBooking.bus.seats.SeatService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+class SeatReconcilerTest {
+
+    @Autowired
+    private SeatReconciler seatReconciler;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @SpyBean
+    private SeatInitializationConfig seatInitializationConfig;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Bus addBus(int totalSeats) {
+        return busService.addBus(new BusAddRequestDTO(
+                "Reconcile Express", "Chennai - Tirupati", "25-03-2024", "10:00", "14:00", totalSeats, totalSeats, 350.0));
+    }
+
+    private void book(Long busId, String seatNumber) {
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(1L);
+        dto.setBusId(busId);
+        dto.setSeatNumber(seatNumber);
+        bookingService.addBooking(dto);
+    }
+
+    @Test
+    void onlyBusesWithMissingOrMismatchedSeatsAreInitialized() throws Exception {
+        Bus consistent = addBus(10);
+        seatService.initializeSeatsForBus(consistent.getId(), 10, 0, 0);
+        book(consistent.getId(), "R02");
+
+        Bus withoutSeats = addBus(20);
+
+        Bus mismatched = addBus(10);
+        seatService.initializeSeatsForBus(mismatched.getId(), 10, 0, 0);
+        mismatched.setTotalSeats(12);
+        busRepository.save(mismatched);
+
+        // Re-initializing this one would delete its booking
+        Bus mismatchedWithBookings = addBus(10);
+        seatService.initializeSeatsForBus(mismatchedWithBookings.getId(), 10, 0, 0);
+        book(mismatchedWithBookings.getId(), "R01");
+        mismatchedWithBookings.setTotalSeats(12);
+        busRepository.save(mismatchedWithBookings);
+
+        seatReconciler.reconcile().get(30, TimeUnit.SECONDS);
+
+        assertEquals(Seat.SeatStatus.BOOKED,
+                seatRepository.findByBusIdAndSeatNumber(consistent.getId(), "R02").orElseThrow().getStatus());
+        assertEquals(20, seatRepository.findByBusId(withoutSeats.getId()).size());
+        assertEquals(12, seatRepository.findByBusId(mismatched.getId()).size());
+        assertEquals(10, seatRepository.findByBusId(mismatchedWithBookings.getId()).size());
+        assertEquals(Seat.SeatStatus.BOOKED,
+                seatRepository.findByBusIdAndSeatNumber(mismatchedWithBookings.getId(), "R01").orElseThrow().getStatus());
+        assertTrue(seatReconciler.isReady());
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState());
+    }
+
+    @Test
+    void trafficIsRefusedWhileARunIsInProgress() throws Exception {
+        List<ReadinessState> seenDuringRun = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            seenDuringRun.add(applicationAvailability.getReadinessState());
+            return invocation.callRealMethod();
+        }).when(seatInitializationConfig).initializeSeatsIfNeeded(any());
+        addBus(8);
+
+        seatReconciler.reconcile().get(30, TimeUnit.SECONDS);
+
+        assertFalse(seenDuringRun.isEmpty());
+        seenDuringRun.forEach(state -> assertEquals(ReadinessState.REFUSING_TRAFFIC, state));
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState());
+    }
+
+    @Test
+    void readinessReportedElsewhereDuringARunIsSetBack() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            running.countDown();
+            proceed.await(30, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(seatInitializationConfig).initializeSeatsIfNeeded(any());
+        addBus(6);
+
+        CompletableFuture<Void> run = seatReconciler.reconcile();
+        assertTrue(running.await(30, TimeUnit.SECONDS));
+
+        // What Spring Boot publishes once startup completes, which no longer waits for the run
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, applicationAvailability.getReadinessState());
+
+        proceed.countDown();
+        run.get(30, TimeUnit.SECONDS);
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState());
+    }
+}
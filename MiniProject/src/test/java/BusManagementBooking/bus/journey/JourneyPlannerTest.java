@@ -0,0 +1,92 @@
+package BusManagementBooking.bus.journey;
+
+import BusManagementBooking.bus.booking.BookingAddRequestDTO;
+import BusManagementBooking.bus.booking.BookingService;
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusService;
+import BusManagementBooking.bus.seats.SeatService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class JourneyPlannerTest {
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JourneyService journeyService;
+
+    private Long bus(String route, String departure, String arrival, int seats) {
+        Long busId = busService.addBus(new BusAddRequestDTO(
+                route, route, "10-01-2031", departure, arrival, seats, seats, 100.0)).getId();
+        seatService.initializeSeatsForBus(busId, seats, 0, 0);
+        return busId;
+    }
+
+    private static List<List<Long>> buses(List<JourneyDTO> journeys) {
+        return journeys.stream()
+                .map(journey -> journey.getLegs().stream().map(JourneyLegDTO::getBusId).toList())
+                .toList();
+    }
+
+    @Test
+    void offersConnectionsAndSlowerDirectBuses() {
+        Long direct = bus("Alpha - Gamma", "07:00", "14:00", 5);
+        Long first = bus("Alpha - Beta", "08:00", "10:00", 5);
+        Long tight = bus("Beta - Gamma", "10:10", "12:00", 5);
+        Long later = bus("Beta - Gamma", "10:30", "12:30", 1);
+
+        List<JourneyDTO> journeys = journeyService.planJourneys("alpha", "GAMMA", "10-01-2031", "06:00", 1, 5, null);
+        assertEquals(List.of(List.of(first, later), List.of(direct)), buses(journeys));
+        JourneyDTO connection = journeys.get(0);
+        assertEquals(1, connection.getTransfers());
+        assertEquals(LocalDateTime.of(2031, 1, 10, 8, 0), connection.getDeparture());
+        assertEquals(LocalDateTime.of(2031, 1, 10, 12, 30), connection.getArrival());
+        assertEquals(270, connection.getDurationMinutes());
+        assertEquals("Beta", connection.getLegs().get(1).getFrom());
+        assertEquals(1, connection.getLegs().get(1).getAvailableSeats());
+
+        // A shorter transfer makes the 10:10 bus reachable
+        assertEquals(List.of(List.of(first, tight), List.of(direct)),
+                buses(journeyService.planJourneys("Alpha", "Gamma", "2031-01-10", "06:00", 1, 5, 5)));
+        // Leaving after the direct bus
+        assertEquals(List.of(List.of(first, later)),
+                buses(journeyService.planJourneys("Alpha", "Gamma", "10-01-2031", "07:30", 1, 5, null)));
+
+        // Sold out buses are skipped, and updates move buses in the timetable
+        BookingAddRequestDTO booking = new BookingAddRequestDTO();
+        booking.setUserId(1L);
+        booking.setBusId(later);
+        booking.setSeatNumber("R01");
+        bookingService.addBooking(booking);
+        busService.updateBus(tight, new BusAddRequestDTO(
+                "Beta - Gamma", "Beta - Gamma", "10-01-2031", "10:20", "11:50", 5, 5, 100.0));
+        assertEquals(List.of(List.of(first, tight), List.of(direct)),
+                buses(journeyService.planJourneys("Alpha", "Gamma", "10-01-2031", "06:00", 1, 5, null)));
+
+        busService.deleteBus(direct);
+        assertEquals(List.of(List.of(first, tight)),
+                buses(journeyService.planJourneys("Alpha", "Gamma", "10-01-2031", "06:00", 1, 5, null)));
+    }
+
+    @Test
+    void rejectsMissingStopsAndBadDates() {
+        assertThrows(IllegalArgumentException.class, () -> journeyService.planJourneys(" ", "Gamma", null, null, null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> journeyService.planJourneys("Alpha", "Gamma", "someday", null, null, null, null));
+        assertEquals(List.of(), journeyService.planJourneys("Nowhere", "Gamma", "10-01-2031", null, null, null, null));
+    }
+}
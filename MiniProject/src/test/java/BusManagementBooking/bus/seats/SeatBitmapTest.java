@@ -0,0 +1,118 @@
+package BusManagementBooking.bus.seats;
+
+import BusManagementBooking.bus.booking.BookingAddRequestDTO;
+import BusManagementBooking.bus.booking.BookingService;
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SeatBitmapTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private void book(Long busId, String seatNumber) {
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(1L);
+        dto.setBusId(busId);
+        dto.setSeatNumber(seatNumber);
+        bookingService.addBooking(dto);
+    }
+
+    @Test
+    void bitmapMatchesSeatListAndRevalidatesWithEtag() throws Exception {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                "Bitmap Express", "Chennai - Bangalore", "25-03-2024", "22:00", "04:00", 45, 45, 900.0));
+        seatService.initializeSeatsForBus(bus.getId(), 37, 5, 3);
+        book(bus.getId(), "R02");
+        book(bus.getId(), "R37");
+        book(bus.getId(), "P03");
+        seatHoldService.holdSeats(bus.getId(), 2L, List.of("E01"));
+
+        MvcResult first = mockMvc.perform(get("/seat/bus/{busId}/bitmap", bus.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        byte[] bitmap = first.getResponse().getContentAsByteArray();
+        List<SeatDTO> seats = seatService.getSeatsByBusId(bus.getId());
+        assertEquals(BusSeatMap.BITMAP_FORMAT, bitmap[0]);
+        assertEquals(3, bitmap[1]);
+        assertEquals(seats.stream().map(SeatDTO::getStatus).toList(), decode(bitmap));
+        assertEquals(2 + 3 * 3 + 10 + 2 + 1, bitmap.length);
+
+        mockMvc.perform(get("/seat/bus/{busId}/bitmap", bus.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        book(bus.getId(), "R10");
+        MvcResult changed = mockMvc.perform(get("/seat/bus/{busId}/bitmap", bus.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNotEquals(etag, changed.getResponse().getHeader("ETag"));
+        assertEquals(seatService.getSeatsByBusId(bus.getId()).stream().map(SeatDTO::getStatus).toList(),
+                decode(changed.getResponse().getContentAsByteArray()));
+    }
+
+    @Test
+    void bitmapIsOnlyTakenFromCommittedState() {
+        BusSeatMap seats = BusSeatMap.of(1L, List.of(
+                new SeatRow(1L, "R01", Seat.SeatType.REGULAR, Seat.SeatStatus.AVAILABLE),
+                new SeatRow(2L, "R02", Seat.SeatType.REGULAR, Seat.SeatStatus.BOOKED)));
+
+        SeatBitmap committed = seats.toCommittedBitmap();
+        assertEquals(List.of("AVAILABLE", "BOOKED"), decode(committed.bytes()));
+        assertEquals(seats.getVersion(), committed.version());
+
+        seats.begin();
+        assertNull(seats.toCommittedBitmap());
+        seats.end();
+        assertNotNull(seats.toCommittedBitmap());
+    }
+
+    /** Reference decoder for the format documented on BusSeatMap#toBitmap. */
+    private static List<String> decode(byte[] bitmap) {
+        Seat.SeatStatus[] statuses = Seat.SeatStatus.values();
+        int runs = bitmap[1];
+        int body = 2 + 3 * runs;
+        List<String> result = new ArrayList<>();
+        for (int run = 0; run < runs; run++) {
+            int count = ((bitmap[2 + 3 * run + 1] & 0xFF) << 8) | (bitmap[2 + 3 * run + 2] & 0xFF);
+            for (int i = 0; i < count; i++) {
+                int ordinal = (bitmap[body + i / 4] >>> ((i % 4) * 2)) & 0b11;
+                result.add(statuses[ordinal].toString());
+            }
+            body += (count + 3) / 4;
+        }
+        return result;
+    }
+}
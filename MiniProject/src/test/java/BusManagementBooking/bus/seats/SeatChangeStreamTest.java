@@ -0,0 +1,128 @@
+package BusManagementBooking.bus.seats;
+
+import BusManagementBooking.bus.booking.BookingAddRequestDTO;
+import BusManagementBooking.bus.booking.BookingService;
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = "bus.seats.stream.send-timeout-seconds=1")
+@AutoConfigureMockMvc
+class SeatChangeStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatChangeStream seatChangeStream;
+
+    private Long newBus(String name) {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                name, "Chennai - Madurai", "26-03-2024", "21:00", "05:00", 20, 20, 700.0));
+        seatService.initializeSeatsForBus(bus.getId(), 20, 0, 0);
+        return bus.getId();
+    }
+
+    private void book(Long busId, String seatNumber) {
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(1L);
+        dto.setBusId(busId);
+        dto.setSeatNumber(seatNumber);
+        bookingService.addBooking(dto);
+    }
+
+    private static void await(Supplier<Boolean> condition) throws InterruptedException {
+        for (int i = 0; i < 200 && !condition.get(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.get());
+    }
+
+    private static String body(MvcResult result) {
+        try {
+            return result.getResponse().getContentAsString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void pushesCommittedSeatChanges() throws Exception {
+        Long busId = newBus("Stream Express");
+        MvcResult result = mockMvc.perform(get("/seat/bus/{busId}/stream", busId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        await(() -> body(result).contains("event:version"));
+
+        book(busId, "R05");
+        await(() -> body(result).contains("event:seats"));
+        String content = body(result);
+        assertTrue(content.contains("\"seatNumber\":\"R05\""));
+        assertTrue(content.contains("\"status\":\"BOOKED\""));
+
+        // A failed booking changes nothing and must not be announced
+        int events = content.split("event:seats").length;
+        assertThrows(RuntimeException.class, () -> book(busId, "R05"));
+        Thread.sleep(50);
+        assertEquals(events, body(result).split("event:seats").length);
+    }
+
+    @Test
+    void aWatcherStuckInASendIsDroppedWithoutHoldingUpOthers() throws Exception {
+        Long busId = newBus("Stream Stalled");
+        CountDownLatch release = new CountDownLatch(1);
+        SseEmitter stuck = new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("client went away");
+            }
+        };
+        int before = seatChangeStream.watcherCount();
+        seatChangeStream.subscribe(busId, stuck);
+        MvcResult result = mockMvc.perform(get("/seat/bus/{busId}/stream", busId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        await(() -> body(result).contains("event:version"));
+
+        book(busId, "R07");
+        await(() -> body(result).contains("\"seatNumber\":\"R07\""));
+        // Dropped once its send has run past the one second timeout
+        for (int i = 0; i < 300 && seatChangeStream.watcherCount() > before + 1; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(before + 1, seatChangeStream.watcherCount());
+        release.countDown();
+    }
+}
@@ -0,0 +1,132 @@
+package BusManagementBooking.bus.seats;
+
+import BusManagementBooking.bus.booking.Booking;
+import BusManagementBooking.bus.booking.BookingAddRequestDTO;
+import BusManagementBooking.bus.booking.BookingService;
+import BusManagementBooking.bus.buses.AvailableSeatCounter;
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusRepository;
+import BusManagementBooking.bus.buses.BusService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class SeatCountsTest {
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AvailableSeatCounter availableSeatCounter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Booking book(Long busId, String seatNumber) {
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(1L);
+        dto.setBusId(busId);
+        dto.setSeatNumber(seatNumber);
+        return bookingService.addBooking(dto);
+    }
+
+    private void assertCounts(Long busId, int regularAvailable, int elderAvailable, int available) {
+        Map<String, Integer> counts = seatService.getSeatCountByBusId(busId);
+        assertEquals(16, counts.get("REGULAR"));
+        assertEquals(2, counts.get("ELDER"));
+        assertEquals(2, counts.get("PREGNANT"));
+        assertEquals(regularAvailable, counts.get("REGULAR_AVAILABLE"));
+        assertEquals(elderAvailable, counts.get("ELDER_AVAILABLE"));
+        assertEquals(available, counts.get("AVAILABLE"));
+        assertEquals(20, counts.get("TOTAL"));
+        assertEquals(available, busRepository.findSummaryById(busId).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void countsFollowBookingsHoldsAndCancellations() {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                "Counter Express", "Chennai - Trichy", "27-03-2024", "20:00", "01:00", 20, 20, 450.0));
+        Long busId = bus.getId();
+        seatService.initializeSeatsForBus(busId, 16, 2, 2);
+        assertCounts(busId, 16, 2, 20);
+
+        Booking booking = book(busId, "R03");
+        book(busId, "E01");
+        assertCounts(busId, 15, 1, 18);
+
+        SeatHoldDTO hold = seatHoldService.holdSeats(busId, 1L, List.of("R04", "R05"));
+        assertCounts(busId, 13, 1, 16);
+        seatHoldService.releaseHold(hold.getHoldToken());
+        assertCounts(busId, 15, 1, 18);
+
+        bookingService.cancelBooking(booking.getId());
+        assertCounts(busId, 16, 1, 19);
+    }
+
+    @Test
+    void loadedBusIsCountedWithoutQueriesAndColdBusWithOne() {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                "Cold Counter Express", "Chennai - Salem", "27-03-2024", "22:00", "03:00", 20, 20, 500.0));
+        Long busId = bus.getId();
+        seatService.initializeSeatsForBus(busId, 16, 2, 2);
+        book(busId, "P02");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SeatCounts hot = seatInventory.counts(busId);
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        seatInventory.evict(busId);
+        statistics.clear();
+        SeatCounts cold = seatInventory.counts(busId);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(hot.toMap(), cold.toMap());
+        assertEquals(1, cold.getAvailable(Seat.SeatType.PREGNANT));
+    }
+
+    @Test
+    void summariesOfLoadedBusesCountTheSeats() {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                "Drift Express", "Chennai - Madurai", "27-03-2024", "21:00", "05:00", 20, 20, 550.0));
+        Long busId = bus.getId();
+        seatService.initializeSeatsForBus(busId, 16, 2, 2);
+        book(busId, "R01");
+
+        // A stored counter that has drifted from the seats is not what a loaded bus reports
+        availableSeatCounter.set(busId, 3);
+        assertEquals(19, busService.getBusSummary(busId, false).orElseThrow().getAvailableSeats());
+
+        // Nor can an update override the count of a bus that has seats
+        busService.updateBus(busId, new BusAddRequestDTO(
+                "Drift Express", "Chennai - Madurai", "27-03-2024", "21:00", "05:00", 5, 20, 550.0));
+        assertEquals(19, busService.getBusSummary(busId, false).orElseThrow().getAvailableSeats());
+
+        seatInventory.evict(busId);
+        assertEquals(3, busService.getBusSummary(busId, false).orElseThrow().getAvailableSeats());
+    }
+}
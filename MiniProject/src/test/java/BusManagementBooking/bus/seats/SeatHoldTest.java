@@ -0,0 +1,117 @@
+package BusManagementBooking.bus.seats;
+
+import BusManagementBooking.bus.booking.BookingAddRequestDTO;
+import BusManagementBooking.bus.booking.BookingService;
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusRepository;
+import BusManagementBooking.bus.buses.BusService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "bus.seats.hold.ttl-seconds=2")
+class SeatHoldTest {
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    private Bus createBus() {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                "Hold Express", "Chennai - Trichy", "25-03-2024", "09:00", "13:00", 10, 10, 300.0));
+        seatService.initializeSeatsForBus(bus.getId(), 10, 0, 0);
+        return bus;
+    }
+
+    private String status(Long busId, String seatNumber) {
+        return seatService.getSeatsByBusId(busId).stream()
+                .filter(seat -> seat.getSeatNumber().equals(seatNumber))
+                .findFirst()
+                .orElseThrow()
+                .getStatus();
+    }
+
+    @Test
+    void heldSeatCannotBeHeldOrBookedByOthersAndConfirmsIntoBooking() {
+        Bus bus = createBus();
+        SeatHoldDTO hold = seatHoldService.holdSeats(bus.getId(), 1L, List.of("R01", "R02"));
+
+        assertEquals("HELD", status(bus.getId(), "R01"));
+        assertThrows(IllegalArgumentException.class,
+                () -> seatHoldService.holdSeats(bus.getId(), 2L, List.of("R02")));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.addBooking(request(2L, bus.getId(), "R01", null)));
+
+        // The token alone is not enough; the hold belongs to the user it was made for
+        assertEquals(1L, seatRepository.findByBusIdAndSeatNumber(bus.getId(), "R02").orElseThrow().getHoldUserId());
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.addBooking(request(2L, bus.getId(), "R02", hold.getHoldToken())));
+        assertEquals("HELD", status(bus.getId(), "R02"));
+
+        bookingService.addBooking(request(1L, bus.getId(), "R01", hold.getHoldToken()));
+
+        assertEquals("BOOKED", status(bus.getId(), "R01"));
+        assertEquals(8, busRepository.findSummaryById(bus.getId()).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void expiredHoldReturnsSeatToAvailable() throws InterruptedException {
+        Bus bus = createBus();
+        seatHoldService.holdSeats(bus.getId(), 1L, List.of("R05"));
+        assertEquals(9, busRepository.findSummaryById(bus.getId()).orElseThrow().getAvailableSeats());
+
+        // Wait for the expiry transaction to commit, not just for the in-memory flip
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (busRepository.findSummaryById(bus.getId()).orElseThrow().getAvailableSeats() != 10
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertEquals("AVAILABLE", status(bus.getId(), "R05"));
+        assertEquals(Seat.SeatStatus.AVAILABLE,
+                seatRepository.findByBusIdAndSeatNumber(bus.getId(), "R05").orElseThrow().getStatus());
+        assertEquals(10, busRepository.findSummaryById(bus.getId()).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void releasedHoldCanNoLongerBeConfirmed() {
+        Bus bus = createBus();
+        SeatHoldDTO hold = seatHoldService.holdSeats(bus.getId(), 1L, List.of("R07"));
+
+        assertTrue(seatHoldService.releaseHold(hold.getHoldToken()));
+
+        assertEquals("AVAILABLE", status(bus.getId(), "R07"));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.addBooking(request(1L, bus.getId(), "R07", hold.getHoldToken())));
+    }
+
+    private BookingAddRequestDTO request(Long userId, Long busId, String seatNumber, String holdToken) {
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(userId);
+        dto.setBusId(busId);
+        dto.setSeatNumber(seatNumber);
+        dto.setHoldToken(holdToken);
+        return dto;
+    }
+}
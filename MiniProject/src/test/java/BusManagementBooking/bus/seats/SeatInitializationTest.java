@@ -0,0 +1,56 @@
+package BusManagementBooking.bus.seats;
+
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SeatInitializationTest {
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void seatLayoutIsWrittenInConstantStatements() {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                "Layout Express", "Chennai - Coimbatore", "25-03-2024", "21:00", "05:00", 120, 120, 700.0));
+        seatService.initializeSeatsForBus(bus.getId(), 90, 15, 15);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        // Re-initialize with a different split: bulk delete + one batch insert
+        seatService.initializeSeatsForBus(bus.getId(), 100, 10, 10);
+
+        // bus lookup and bulk delete; the inserts are a single JDBC batch outside Hibernate
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "expected at most 2 statements but was " + statistics.getPrepareStatementCount());
+
+        List<Seat> seats = seatRepository.findByBusId(bus.getId());
+        assertEquals(120, seats.size());
+        assertEquals(100, seatRepository.countByBusIdAndSeatType(bus.getId(), Seat.SeatType.REGULAR));
+        assertTrue(seats.stream().anyMatch(seat -> seat.getSeatNumber().equals("R01")));
+        assertTrue(seats.stream().anyMatch(seat -> seat.getSeatNumber().equals("R100")));
+        assertTrue(seats.stream().anyMatch(seat -> seat.getSeatNumber().equals("P10")));
+        assertEquals(120, seatService.getSeatsByBusId(bus.getId()).size());
+    }
+}
@@ -0,0 +1,87 @@
+package BusManagementBooking.bus.seats;
+
+import BusManagementBooking.bus.BusApplication;
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading one bus's seats the way the seat inventory used to (entities with their
+ * bus, then one {@link SeatDTO} each) against the {@link SeatRow} projection it
+ * uses now, on the test H2 database.
+ *
+ * Not a unit test; run {@link #main} from the IDE, or after {@code mvn test-compile}
+ * with {@code target/test-classes}, {@code target/classes} and the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeatLoadBenchmark {
+
+    @Param({"40", "400"})
+    private int seats;
+
+    private ConfigurableApplicationContext context;
+    private SeatRepository seatRepository;
+    private Long busId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BusApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--logging.level.root=WARN");
+        seatRepository = context.getBean(SeatRepository.class);
+        busId = context.getBean(BusService.class).addBus(new BusAddRequestDTO(
+                "Benchmark", "Chennai - Madurai", "01-01-2031", "21:00", "05:30", seats, seats, 900.0)).getId();
+        context.getBean(SeatService.class).initializeSeatsForBus(busId, seats, 0, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SeatDTO> entities() {
+        return seatRepository.findByBusId(busId).stream()
+                .sorted(Comparator.comparing(Seat::getId))
+                .map(seat -> new SeatDTO(seat.getId(), seat.getSeatNumber(), seat.getSeatType().toString(),
+                        seat.getStatus().toString(), seat.getBus() != null ? seat.getBus().getId() : null))
+                .toList();
+    }
+
+    @Benchmark
+    public List<SeatRow> projection() {
+        return seatRepository.findRowsByBusId(busId);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SeatLoadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,178 @@
+package BusManagementBooking.bus.seats;
+
+import BusManagementBooking.bus.booking.Booking;
+import BusManagementBooking.bus.booking.BookingAddRequestDTO;
+import BusManagementBooking.bus.booking.BookingService;
+import BusManagementBooking.bus.buses.Bus;
+import BusManagementBooking.bus.buses.BusAddRequestDTO;
+import BusManagementBooking.bus.buses.BusRepository;
+import BusManagementBooking.bus.buses.BusService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "bus.seats.storage=virtual")
+class VirtualSeatStorageTest {
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatBatchWriter seatBatchWriter;
+
+    private Bus createBus() {
+        Bus bus = busService.addBus(new BusAddRequestDTO(
+                "Virtual Express", "Chennai - Pondicherry", "25-03-2024", "07:30", "10:30", 20, 20, 250.0));
+        // 15% elder and 15% pregnant seats, as configured for the tests
+        seatService.initializeSeatsForBus(bus.getId(), 14, 3, 3);
+        return bus;
+    }
+
+    private BookingAddRequestDTO request(Long userId, Long busId, String seatNumber) {
+        BookingAddRequestDTO dto = new BookingAddRequestDTO();
+        dto.setUserId(userId);
+        dto.setBusId(busId);
+        dto.setSeatNumber(seatNumber);
+        return dto;
+    }
+
+    private String status(Long busId, String seatNumber) {
+        return seatService.getSeatsByBusId(busId).stream()
+                .filter(seat -> seat.getSeatNumber().equals(seatNumber))
+                .findFirst()
+                .orElseThrow()
+                .getStatus();
+    }
+
+    @Test
+    void seatsAreDerivedFromTheLayoutAndOnlyTakenSeatsHaveRows() {
+        Bus bus = createBus();
+
+        List<SeatDTO> seats = seatService.getSeatsByBusId(bus.getId());
+        assertEquals(20, seats.size());
+        assertTrue(seats.stream().allMatch(seat -> seat.getId() < 0 && "AVAILABLE".equals(seat.getStatus())));
+        assertEquals(14, seatService.getSeatCountByBusId(bus.getId()).get("REGULAR"));
+        assertEquals(3, seatService.getSeatCountByBusId(bus.getId()).get("PREGNANT"));
+        assertEquals(0, seatRepository.findByBusId(bus.getId()).size());
+
+        Booking booking = bookingService.addBooking(request(1L, bus.getId(), "R01"));
+        SeatHoldDTO hold = seatHoldService.holdSeats(bus.getId(), 2L, List.of("E02"));
+        assertEquals(2, seatRepository.findByBusId(bus.getId()).size());
+
+        bookingService.cancelBooking(booking.getId());
+        seatHoldService.releaseHold(hold.getHoldToken());
+        assertEquals(0, seatRepository.findByBusId(bus.getId()).size());
+        assertEquals(20, busRepository.findSummaryById(bus.getId()).orElseThrow().getAvailableSeats());
+
+        // Ids stay the same whatever the seats' state
+        assertEquals(seats.stream().map(SeatDTO::getId).toList(),
+                seatService.getSeatsByBusId(bus.getId()).stream().map(SeatDTO::getId).toList());
+    }
+
+    @Test
+    void stateSurvivesReloadFromTheDatabase() {
+        Bus bus = createBus();
+        bookingService.addBooking(request(1L, bus.getId(), "R05"));
+        seatHoldService.holdSeats(bus.getId(), 2L, List.of("P01"));
+
+        seatInventory.evict(bus.getId());
+
+        assertEquals("BOOKED", status(bus.getId(), "R05"));
+        assertEquals("HELD", status(bus.getId(), "P01"));
+        assertThrows(IllegalArgumentException.class, () -> bookingService.addBooking(request(3L, bus.getId(), "R05")));
+    }
+
+    @Test
+    void uniqueKeyAllowsOnlyOneClaimPerSeat() throws Exception {
+        Bus bus = createBus();
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            long userId = i + 1;
+            futures.add(pool.submit(() -> {
+                start.await();
+                // Evicting makes some claimers miss the in-memory CAS and race on the insert
+                seatInventory.evict(bus.getId());
+                try {
+                    bookingService.addBooking(request(userId, bus.getId(), "R07"));
+                    winners.incrementAndGet();
+                } catch (RuntimeException e) {
+                    // lost the race
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(1, winners.get());
+        assertEquals(1, seatRepository.findByBusId(bus.getId()).size());
+        assertEquals(19, busRepository.findSummaryById(bus.getId()).orElseThrow().getAvailableSeats());
+    }
+
+    @Test
+    void transferUsesVirtualSeatIds() throws Exception {
+        Bus from = createBus();
+        Bus to = createBus();
+        Booking booking = bookingService.addBooking(request(1L, from.getId(), "R03"));
+        SeatDTO target = seatService.getSeatsByBusId(to.getId()).stream()
+                .filter(seat -> seat.getSeatNumber().equals("E01"))
+                .findFirst()
+                .orElseThrow();
+
+        bookingService.transferSeat(booking.getId(), to.getId(), target.getId());
+
+        assertEquals("AVAILABLE", status(from.getId(), "R03"));
+        assertEquals("BOOKED", status(to.getId(), "E01"));
+        assertEquals(0, seatRepository.findByBusId(from.getId()).size());
+        assertEquals(1, seatRepository.findByBusId(to.getId()).size());
+    }
+
+    @Test
+    void takenSeatsAreSkippedAndCountedByTheInsert() {
+        Bus bus = createBus();
+        Seat taken = new Seat("R03", Seat.SeatType.REGULAR, Seat.SeatStatus.BOOKED, null);
+        assertEquals(1, seatBatchWriter.insertAbsent(bus.getId(), List.of(taken)));
+
+        Seat free = new Seat("R04", Seat.SeatType.REGULAR, Seat.SeatStatus.BOOKED, null);
+        assertEquals(1, seatBatchWriter.insertAbsent(bus.getId(), List.of(taken, free)));
+        assertEquals(2, seatRepository.findByBusId(bus.getId()).size());
+    }
+}